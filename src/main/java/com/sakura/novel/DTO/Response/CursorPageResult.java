@@ -0,0 +1,36 @@
+package com.sakura.novel.DTO.Response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标（keyset）分页结果封装类
+ * 不返回总数与页码，客户端使用 nextCursor 继续获取下一页
+ */
+@Data
+@Schema(description = "游标分页结果")
+public class CursorPageResult<T> {
+
+    @Schema(description = "每页数量", example = "20")
+    private Integer pageSize;
+
+    @Schema(description = "数据列表")
+    private List<T> list;
+
+    @Schema(description = "下一页游标，没有更多数据时为空", example = "MjAyNC0wNi0wMVQxMjozNDo1NnwxMDE")
+    private String nextCursor;
+
+    @Schema(description = "是否还有更多数据", example = "true")
+    private Boolean hasMore;
+
+    public CursorPageResult() {}
+
+    public CursorPageResult(Integer pageSize, List<T> list, String nextCursor) {
+        this.pageSize = pageSize;
+        this.list = list;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+}
@@ -2,9 +2,10 @@ package com.sakura.novel;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-
+@EnableScheduling
 public class ServerApplication {
 
 	public static void main(String[] args) {
@@ -4,6 +4,7 @@ import com.sakura.novel.core.common.vo.ResultVO;
 import com.sakura.novel.entity.Author;
 import com.sakura.novel.DTO.Response.PageResult;
 import com.sakura.novel.service.AuthorService;
+import com.sakura.novel.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +13,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,6 +26,10 @@ import java.util.List;
 public class AuthorController {
 
     private final AuthorService authorService;
+    /**
+     * 书籍服务依赖作者服务，作者修改后由这里失效书籍详情缓存
+     */
+    private final BookService bookService;
 
     // ===== 基础 CRUD 操作 =====
 
@@ -59,6 +65,7 @@ public class AuthorController {
             @Parameter(description = "作者ID", required = true) @PathVariable Integer id) {
         try {
             boolean deleted = authorService.deleteById(id);
+            bookService.invalidateBookDetailsByAuthor(id);
             if (deleted) {
                 return ResultVO.success("删除作者成功", null);
             } else {
@@ -85,6 +92,7 @@ public class AuthorController {
         try {
             author.setId(id);
             Author updatedAuthor = authorService.updateAuthor(author);
+            bookService.invalidateBookDetailsByAuthor(id);
             return ResultVO.success("更新作者成功", updatedAuthor);
         } catch (RuntimeException e) {
             return ResultVO.error(400, "请求参数错误");
@@ -106,6 +114,18 @@ public class AuthorController {
         return author != null ? ResultVO.success("查询作者成功", author) : ResultVO.error(404, "作者不存在");
     }
 
+    /**
+     * 根据ID列表批量查询作者
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "批量查询作者", description = "根据ID列表批量查询作者信息，按入参顺序返回存在的作者")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<List<Author>> getAuthorsByIds(
+            @Parameter(description = "作者ID列表，逗号分隔", required = true) @RequestParam List<Integer> ids) {
+        List<Author> authors = new ArrayList<>(authorService.getByIds(ids).values());
+        return ResultVO.success("查询作者成功", authors);
+    }
+
     // ===== 核心查询接口 =====
 
     /**
@@ -4,9 +4,12 @@ import com.sakura.novel.DTO.Request.BookSearchReqDto;
 import com.sakura.novel.DTO.Response.BookInfoRespDto;
 import com.sakura.novel.core.common.vo.ResultVO;
 import com.sakura.novel.entity.Book;
+import com.sakura.novel.entity.BookDeletionJob;
 import com.sakura.novel.DTO.Response.PageResult;
 import com.sakura.novel.DTO.Response.BookBasicDTO;
 import com.sakura.novel.DTO.Response.BookDetailResponse;
+import com.sakura.novel.DTO.Response.CursorPageResult;
+import com.sakura.novel.service.BookDeletionService;
 import com.sakura.novel.service.BookService;
 import com.sakura.novel.service.BookStatsRedisService;
 import com.sakura.novel.service.impl.EsSearchServiceImpl;
@@ -17,6 +20,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -32,6 +36,7 @@ public class BookController {
     private final BookService bookService;
     private final BookStatsRedisService bookStatsRedisService;
     private final EsSearchServiceImpl esSearchService;
+    private final BookDeletionService bookDeletionService;
     // ===== 基础 CRUD 操作 =====
 
     /**
@@ -56,7 +61,7 @@ public class BookController {
      * 根据ID删除书籍
      */
     @DeleteMapping("/{id}")
-    @Operation(summary = "删除书籍", description = "根据ID删除指定书籍")
+    @Operation(summary = "删除书籍", description = "根据ID删除指定书籍；书籍立即不可见，章节、书架、统计与榜单数据由后台任务分批删除，进度见 /api/books/{id}/deletion")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "删除成功"),
             @ApiResponse(responseCode = "404", description = "书籍不存在"),
@@ -67,7 +72,7 @@ public class BookController {
         try {
             boolean deleted = bookService.deleteById(id);
             if (deleted) {
-                return ResultVO.success("删除书籍成功", null);
+                return ResultVO.success("删除书籍成功，关联数据将在后台分批删除", null);
             } else {
                 return ResultVO.error(404, "书籍不存在");
             }
@@ -76,6 +81,24 @@ public class BookController {
         }
     }
 
+    /**
+     * 查询书籍删除进度
+     */
+    @GetMapping("/{id}/deletion")
+    @Operation(summary = "查询书籍删除进度", description = "返回书籍最近一次删除任务（删除书籍或整本章节）的状态、当前阶段与已删除的章节数、依赖数据行数")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "404", description = "没有删除任务")
+    })
+    public ResultVO<BookDeletionJob> getDeletionProgress(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer id) {
+        BookDeletionJob job = bookDeletionService.getLatestJob(id);
+        if (job == null) {
+            return ResultVO.error(404, "没有删除任务");
+        }
+        return ResultVO.success("查询删除进度成功", job);
+    }
+
     /**
      * 更新书籍
      */
@@ -108,17 +131,28 @@ public class BookController {
                description = "一次性获取构建书籍详情页所需的所有核心信息。后端在服务层聚合了书籍、作者、分类和最新章节等多个数据源。")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "成功获取书籍的聚合详情"),
+            @ApiResponse(responseCode = "304", description = "书籍详情未修改"),
             @ApiResponse(responseCode = "404", description = "书籍未找到")
     })
     public ResultVO<BookDetailResponse> getBookDetailById(
             @Parameter(description = "要获取的书籍的唯一ID", required = true, example = "101")
-            @PathVariable Integer bookId) {
+            @PathVariable Integer bookId,
+            WebRequest webRequest) {
 
+        // 客户端缓存仍然有效时直接返回304，但依然计入一次阅读
+        String etag = bookService.getBookDetailETag(bookId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            bookStatsRedisService.incrementReadCount(Long.valueOf(bookId), 1);
+            return null;
+        }
         BookDetailResponse bookDetail = bookService.getBookDetailById(bookId);
         if (bookDetail == null) {
             return ResultVO.error(404, "书籍未找到");
         }
         bookStatsRedisService.incrementReadCount(Long.valueOf(bookId), 1);
+        if (etag == null && webRequest.checkNotModified(bookService.getBookDetailETag(bookId))) {
+            return null;
+        }
         return ResultVO.success("获取书籍详情成功", bookDetail);
     }
 
@@ -147,11 +181,32 @@ public class BookController {
     @ApiResponse(responseCode = "200", description = "查询成功")
     public ResultVO<PageResult<BookBasicDTO>> getBookList(
             @Parameter(description = "页码，从1开始") @RequestParam(defaultValue = "1") Integer pageNum,
-            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") Integer pageSize) {
-        PageResult<BookBasicDTO> pageResult = bookService.getBookBasicsByPageHelper(pageNum, pageSize);
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") Integer pageSize,
+            @Parameter(description = "是否返回总数，无限滚动场景可传 false 以跳过 COUNT 查询") @RequestParam(defaultValue = "true") Boolean count) {
+        PageResult<BookBasicDTO> pageResult = bookService.getBookBasicsByPageHelper(pageNum, pageSize, count);
         return ResultVO.success("查询书籍列表成功", pageResult);
     }
 
+    /**
+     * 游标分页查询书籍基本信息列表
+     */
+    @GetMapping("/list/cursor")
+    @Operation(summary = "游标分页查询书籍列表", description = "按更新时间降序返回书籍基本信息，使用上一页返回的 nextCursor 获取下一页，深分页与首页开销一致")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "游标无效")
+    })
+    public ResultVO<CursorPageResult<BookBasicDTO>> getBookListByCursor(
+            @Parameter(description = "上一页返回的游标，首次请求不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") Integer pageSize) {
+        try {
+            CursorPageResult<BookBasicDTO> result = bookService.getBookBasicsByCursor(cursor, pageSize);
+            return ResultVO.success("查询书籍列表成功", result);
+        } catch (RuntimeException e) {
+            return ResultVO.error(400, e.getMessage());
+        }
+    }
+
     /**
      * 综合搜索书籍
      */
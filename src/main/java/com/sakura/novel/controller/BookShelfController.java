@@ -3,6 +3,7 @@ package com.sakura.novel.controller;
 import com.sakura.novel.DTO.Request.AddBookshelfRequest;
 import com.sakura.novel.core.common.vo.ResultVO;
 import com.sakura.novel.DTO.Response.BookshelfItemResponse;
+import com.sakura.novel.DTO.Response.CursorPageResult;
 import com.sakura.novel.DTO.Response.PageResult;
 import com.sakura.novel.service.BookShelfService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,16 +36,44 @@ public class BookShelfController {
             @RequestParam(value = "pageNum", defaultValue = "1") Integer pageNum,
 
             @Parameter(description = "每页数量", example = "10")
-            @RequestParam(value = "pageSize", defaultValue = "10") Integer pageSize
+            @RequestParam(value = "pageSize", defaultValue = "10") Integer pageSize,
+
+            @Parameter(description = "是否返回总数，无限滚动场景可传 false 以跳过计数", example = "true")
+            @RequestParam(value = "count", defaultValue = "true") Boolean count
     ) {
 
         // 调用 Service 层获取分页数据
         PageResult<BookshelfItemResponse> bookshelfPage =
-                userBookshelfService.getUserBookshelf(UserId, pageNum, pageSize);
+                userBookshelfService.getUserBookshelf(UserId, pageNum, pageSize, count);
 
         // 使用统一响应类包装并返回
         return ResultVO.success("获取用户书架列表成功", bookshelfPage);
     }
+    /**
+     * 游标分页获取用户的书架列表
+     *
+     * @param cursor   上一页返回的游标，首次请求不传
+     * @param pageSize 每页数量，默认为10
+     * @return 包含下一页游标的书架列表
+     */
+    @Operation(summary = "获取用户书架列表（游标分页）", description = "按最后阅读时间降序返回书架列表，使用上一页返回的 nextCursor 获取下一页，适用于无限滚动")
+    @GetMapping("/list/{userId}/cursor")
+    public ResultVO<CursorPageResult<BookshelfItemResponse>> getUserBookshelfByCursor(
+            @Parameter(description = "用户ID", example = "1", required = true)
+            @PathVariable(value = "userId") Integer userId,
+            @Parameter(description = "上一页返回的游标，首次请求不传")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页数量", example = "10")
+            @RequestParam(value = "pageSize", defaultValue = "10") Integer pageSize
+    ) {
+        try {
+            CursorPageResult<BookshelfItemResponse> result =
+                    userBookshelfService.getUserBookshelfByCursor(userId, cursor, pageSize);
+            return ResultVO.success("获取用户书架列表成功", result);
+        } catch (RuntimeException e) {
+            return ResultVO.error(400, e.getMessage());
+        }
+    }
     /**
      * 将书籍添加到书架
      *
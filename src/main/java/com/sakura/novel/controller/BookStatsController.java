@@ -2,12 +2,14 @@ package com.sakura.novel.controller;
 
 import com.sakura.novel.core.common.vo.ResultVO;
 import com.sakura.novel.service.BookStatsRedisService;
+import com.sakura.novel.service.ChapterReadStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -26,6 +28,7 @@ import java.util.Map;
 public class BookStatsController {
 
     private final BookStatsRedisService bookStatsRedisService;
+    private final ChapterReadStatsService chapterReadStatsService;
 //    private final BookStatsPersistenceService bookStatsPersistenceService;
 
     /**
@@ -142,6 +145,33 @@ public class BookStatsController {
         }
     }
 
+    /**
+     * 获取书籍章节阅读漏斗
+     */
+    @Operation(
+        summary = "获取章节阅读漏斗",
+        description = "按章节号返回日期区间内每章的阅读次数、相对第一章的留存比例与相对上一章的流失比例，默认最近30天；当日计数最多滞后一个刷新间隔"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功"),
+        @ApiResponse(responseCode = "400", description = "日期区间无效")
+    })
+    @GetMapping("/{bookId}/chapter-funnel")
+    public ResultVO<ChapterReadStatsService.ReadFunnel> getChapterFunnel(
+        @Parameter(description = "书籍ID", required = true, example = "1")
+        @PathVariable Integer bookId,
+        @Parameter(description = "开始日期（含）")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "结束日期（含）")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        try {
+            return ResultVO.success("获取章节阅读漏斗成功", chapterReadStatsService.getFunnel(bookId, from, to));
+        } catch (RuntimeException e) {
+            return ResultVO.error(400, e.getMessage());
+        }
+    }
+
     /**
      * 获取今日所有书籍统计数据
      */
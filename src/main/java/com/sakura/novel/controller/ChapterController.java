@@ -1,19 +1,48 @@
 package com.sakura.novel.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sakura.novel.DTO.Response.ChapterSummary;
+import com.sakura.novel.DTO.Response.CursorPageResult;
+import com.sakura.novel.core.codec.EncodedContentStream;
 import com.sakura.novel.core.common.vo.ResultVO;
 import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterRevision;
+import com.sakura.novel.entity.ChapterSchedule;
 import com.sakura.novel.DTO.Response.PageResult;
+import com.sakura.novel.service.BookExportService;
+import com.sakura.novel.service.ChapterRevisionService;
+import com.sakura.novel.service.ChapterScheduleService;
 import com.sakura.novel.service.ChapterService;
+import com.sakura.novel.service.ChapterTocService;
+import com.sakura.novel.service.TxtImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 章节控制器
@@ -24,7 +53,18 @@ import java.util.List;
 @Tag(name = "章节管理", description = "章节信息管理相关API")
 public class ChapterController {
 
+    /**
+     * 区间获取的响应字节数上限（未压缩）
+     */
+    private static final long RANGE_MAX_BYTES = 16L << 20;
+
     private final ChapterService chapterService;
+    private final ObjectMapper objectMapper;
+    private final BookExportService bookExportService;
+    private final TxtImportService txtImportService;
+    private final ChapterTocService chapterTocService;
+    private final ChapterScheduleService chapterScheduleService;
+    private final ChapterRevisionService chapterRevisionService;
 
     // ===== 基础 CRUD 操作 =====
 
@@ -38,6 +78,9 @@ public class ChapterController {
             @ApiResponse(responseCode = "400", description = "请求参数错误或章节号已存在")
     })
     public ResultVO<Chapter> createChapter(@RequestBody Chapter chapter) {
+        if (chapter.getPublishedTime() != null && chapter.getPublishedTime().isAfter(LocalDateTime.now())) {
+            return ResultVO.error(400, "发布时间晚于当前时间，请使用定时发布接口 /api/chapters/scheduled");
+        }
         try {
             Chapter createdChapter = chapterService.createChapter(chapter);
             return ResultVO.success("创建章节成功", createdChapter);
@@ -46,6 +89,75 @@ public class ChapterController {
         }
     }
 
+    /**
+     * 提交定时发布章节
+     */
+    @PostMapping("/scheduled")
+    @Operation(summary = "定时发布章节", description = "章节在 publishedTime 到达前保存在待发布表中、读者不可见，到期后自动写入章节表并更新目录、缓存与搜索文档")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "提交成功"),
+            @ApiResponse(responseCode = "400", description = "发布时间不在未来、书籍不存在或章节号已存在")
+    })
+    public ResultVO<ChapterSchedule> scheduleChapter(@RequestBody Chapter chapter) {
+        try {
+            return ResultVO.success("已加入定时发布", chapterScheduleService.schedule(chapter));
+        } catch (RuntimeException e) {
+            return ResultVO.error(400, e.getMessage());
+        }
+    }
+
+    /**
+     * 查询书籍的待发布章节
+     */
+    @GetMapping("/book/{bookId}/scheduled")
+    @Operation(summary = "查询待发布章节", description = "按发布时间升序返回书籍的定时章节（不含正文）")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<List<ChapterSchedule>> getScheduledChapters(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId) {
+        return ResultVO.success("查询待发布章节成功", chapterScheduleService.getPending(bookId));
+    }
+
+    /**
+     * 修改定时章节的发布时间
+     */
+    @PutMapping("/scheduled/{id}")
+    @Operation(summary = "修改发布时间", description = "修改待发布章节的发布时间，releaseTime 为 ISO 格式本地时间，必须晚于当前时间")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "修改成功"),
+            @ApiResponse(responseCode = "400", description = "发布时间不在未来"),
+            @ApiResponse(responseCode = "404", description = "定时章节不存在或已发布/取消")
+    })
+    public ResultVO<ChapterSchedule> rescheduleChapter(
+            @Parameter(description = "定时章节ID", required = true) @PathVariable Long id,
+            @Parameter(description = "新的发布时间", required = true) @RequestParam LocalDateTime releaseTime) {
+        try {
+            ChapterSchedule schedule = chapterScheduleService.reschedule(id, releaseTime);
+            if (schedule == null) {
+                return ResultVO.error(404, "定时章节不存在或已发布/取消");
+            }
+            return ResultVO.success("修改发布时间成功", schedule);
+        } catch (RuntimeException e) {
+            return ResultVO.error(400, e.getMessage());
+        }
+    }
+
+    /**
+     * 取消定时发布
+     */
+    @DeleteMapping("/scheduled/{id}")
+    @Operation(summary = "取消定时发布", description = "取消尚未发布的定时章节")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "取消成功"),
+            @ApiResponse(responseCode = "404", description = "定时章节不存在或已发布/取消")
+    })
+    public ResultVO<Void> cancelScheduledChapter(
+            @Parameter(description = "定时章节ID", required = true) @PathVariable Long id) {
+        if (!chapterScheduleService.cancel(id)) {
+            return ResultVO.error(404, "定时章节不存在或已发布/取消");
+        }
+        return ResultVO.success("取消定时发布成功", null);
+    }
+
     /**
      * 根据ID删除章节
      */
@@ -74,9 +186,10 @@ public class ChapterController {
      * 根据书籍ID删除所有章节
      */
     @DeleteMapping("/book/{bookId}")
-    @Operation(summary = "删除书籍所有章节", description = "根据书籍ID删除该书籍的所有章节")
+    @Operation(summary = "删除书籍所有章节", description = "提交后台删除任务，按章节ID分批删除提交时已存在的章节，进度见 /api/books/{bookId}/deletion")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "删除成功"),
+            @ApiResponse(responseCode = "200", description = "已提交删除任务"),
+            @ApiResponse(responseCode = "404", description = "书籍没有章节"),
             @ApiResponse(responseCode = "400", description = "删除失败")
     })
     public ResultVO<Void> deleteChaptersByBookId(
@@ -84,9 +197,9 @@ public class ChapterController {
         try {
             boolean deleted = chapterService.deleteByBookId(bookId);
             if (deleted) {
-                return ResultVO.success("删除书籍所有章节成功", null);
+                return ResultVO.success("已提交删除任务，章节将在后台分批删除", null);
             } else {
-                return ResultVO.error(400, "删除失败");
+                return ResultVO.error(404, "书籍没有章节");
             }
         } catch (RuntimeException e) {
             return ResultVO.error(400, "删除失败");
@@ -119,40 +232,348 @@ public class ChapterController {
      * 根据ID查询章节详情
      */
     @GetMapping("/{id}")
-    @Operation(summary = "查询章节详情", description = "根据ID查询章节详细信息，包含正文内容")
+    @Operation(summary = "查询章节详情", description = "根据ID查询章节详细信息，包含正文内容；支持 If-None-Match 条件请求")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "304", description = "章节未修改"),
             @ApiResponse(responseCode = "404", description = "章节不存在")
     })
     public ResultVO<Chapter> getChapterById(
-            @Parameter(description = "章节ID", required = true) @PathVariable Integer id) {
+            @Parameter(description = "章节ID", required = true) @PathVariable Integer id,
+            WebRequest webRequest) {
+        // 校验值已缓存时直接比对，命中则返回304，不读取章节正文
+        String etag = chapterService.getChapterETag(id);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            chapterService.recordRead(id);
+            return null;
+        }
         Chapter chapter = chapterService.getById(id);
-        return chapter != null ? ResultVO.success("查询章节成功", chapter) : ResultVO.error(404, "章节不存在");
+        if (chapter == null) {
+            return ResultVO.error(404, "章节不存在");
+        }
+        chapterService.recordRead(id);
+        if (etag == null && webRequest.checkNotModified(chapterService.getChapterETag(id))) {
+            return null;
+        }
+        return ResultVO.success("查询章节成功", chapter);
+    }
+
+    /**
+     * 流式输出章节正文
+     * 直接将存储中的字节写入响应流，不构造 Chapter 对象与 JSON 包装；
+     * 客户端接受 gzip 且正文为未使用字典的 Deflate 数据时，原样输出压缩数据并补上 gzip 头尾
+     */
+    @GetMapping("/{id}/content")
+    @Operation(summary = "流式获取章节正文", description = "以 text/plain 输出章节正文 UTF-8 字节，支持 If-None-Match、单段 Range 请求与 gzip 直出")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "206", description = "返回部分内容"),
+            @ApiResponse(responseCode = "304", description = "章节未修改"),
+            @ApiResponse(responseCode = "404", description = "章节不存在"),
+            @ApiResponse(responseCode = "416", description = "请求范围无效")
+    })
+    public void streamChapterContent(
+            @Parameter(description = "章节ID", required = true) @PathVariable Integer id,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        String etag = chapterService.getChapterETag(id);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            chapterService.recordRead(id);
+            return;
+        }
+        try (EncodedContentStream content = chapterService.openContentStream(id)) {
+            if (content == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, "章节不存在");
+                return;
+            }
+            chapterService.recordRead(id);
+            etag = chapterService.getChapterETag(id);
+            if (webRequest.checkNotModified(etag)) {
+                return;
+            }
+
+            response.setContentType("text/plain;charset=UTF-8");
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            long length = content.getRawLength();
+
+            // If-Range 与当前版本不一致时忽略 Range，返回完整内容
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (range != null && length >= 0 && (ifRange == null || ifRange.equals(etag))) {
+                long[] bounds = parseRange(range, length);
+                if (bounds != null && bounds.length == 0) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (bounds != null) {
+                    long count = bounds[1] - bounds[0] + 1;
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + bounds[0] + "-" + bounds[1] + "/" + length);
+                    response.setContentLengthLong(count);
+                    try (InputStream in = content.decoded()) {
+                        in.skipNBytes(bounds[0]);
+                        copy(in, response.getOutputStream(), count);
+                    }
+                    return;
+                }
+            }
+
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptEncoding != null && acceptEncoding.contains("gzip") && content.isGzipCompatible()) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.setContentLengthLong(content.getGzipLength());
+                content.writeGzip(response.getOutputStream());
+                return;
+            }
+
+            if (length >= 0) {
+                response.setContentLengthLong(length);
+            }
+            try (InputStream in = content.decoded()) {
+                in.transferTo(response.getOutputStream());
+            }
+        }
+    }
+
+    private static OutputStream openOutput(HttpServletResponse response, boolean gzip) throws IOException {
+        if (!gzip) {
+            return response.getOutputStream();
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return new GZIPOutputStream(response.getOutputStream(), 8192);
+    }
+
+    /**
+     * 解析单段 Range 请求头
+     *
+     * @return [起始, 结束]（含），不支持的格式或多段请求返回 null，范围无法满足时返回空数组
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // bytes=-N：最后 N 个字节
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+            return start > end || start >= length ? new long[0] : new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (count > 0) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, count));
+            if (n < 0) {
+                break;
+            }
+            out.write(buffer, 0, n);
+            count -= n;
+        }
     }
 
     // ===== 核心查询接口 =====
 
+    /**
+     * 查询章节历史版本列表
+     */
+    @GetMapping("/{id}/revisions")
+    @Operation(summary = "查询章节历史版本", description = "按版本号倒序返回章节被修改前的各版本（不含正文），storedLength 为该版本实际占用的字节数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<List<ChapterRevision>> getChapterRevisions(
+            @Parameter(description = "章节ID", required = true) @PathVariable Integer id) {
+        return ResultVO.success("查询历史版本成功", chapterRevisionService.getRevisions(id));
+    }
+
+    /**
+     * 获取章节历史版本正文
+     */
+    @GetMapping("/{id}/revisions/{revision}")
+    @Operation(summary = "获取历史版本正文", description = "从最近的较新快照或当前正文依次应用反向差异，重建指定版本的正文")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "404", description = "版本不存在")
+    })
+    public ResultVO<ChapterRevisionService.RevisionContent> getChapterRevision(
+            @Parameter(description = "章节ID", required = true) @PathVariable Integer id,
+            @Parameter(description = "版本号", required = true) @PathVariable int revision) {
+        ChapterRevisionService.RevisionContent content = chapterRevisionService.getRevision(id, revision);
+        if (content == null) {
+            return ResultVO.error(404, "版本不存在");
+        }
+        return ResultVO.success("查询历史版本成功", content);
+    }
+
     /**
      * 根据书籍ID和章节号查询章节
      */
     @GetMapping("/book/{bookId}/chapter/{chapterNumber}")
-    @Operation(summary = "根据书籍ID和章节号查询章节", description = "根据书籍ID和章节号查询章节详细信息")
+    @Operation(summary = "根据书籍ID和章节号查询章节", description = "根据书籍ID和章节号查询章节详细信息；支持 If-None-Match 条件请求")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "304", description = "章节未修改"),
             @ApiResponse(responseCode = "404", description = "章节不存在")
     })
     public ResultVO<Chapter> getChapterByBookIdAndNumber(
             @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
-            @Parameter(description = "章节号", required = true) @PathVariable Integer chapterNumber) {
+            @Parameter(description = "章节号", required = true) @PathVariable Integer chapterNumber,
+            WebRequest webRequest) {
+        // 304 同样计为一次阅读，只在章节确认存在后记录
+        String etag = chapterService.getChapterETag(bookId, chapterNumber);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            chapterService.recordRead(bookId, chapterNumber);
+            return null;
+        }
         Chapter chapter = chapterService.getByBookIdAndChapterNumber(bookId, chapterNumber);
-        return chapter != null ? ResultVO.success("查询章节成功", chapter) : ResultVO.error(404, "章节不存在");
+        if (chapter == null) {
+            return ResultVO.error(404, "章节不存在");
+        }
+        chapterService.recordRead(bookId, chapterNumber);
+        if (etag == null && webRequest.checkNotModified(chapterService.getChapterETag(bookId, chapterNumber))) {
+            return null;
+        }
+        return ResultVO.success("查询章节成功", chapter);
+    }
+
+    /**
+     * 按章节号区间获取多个章节（含正文）
+     */
+    @GetMapping("/book/{bookId}/range")
+    @Operation(summary = "按章节号区间获取章节", description = "以 NDJSON 流式返回 [from, to] 区间内的章节（含正文），每行一个章节；"
+            + "客户端支持 gzip 时整体压缩输出。累计字节数超过 maxBytes 时停止，最后一行返回 {\"truncated\":true,\"nextChapterNumber\":N}，"
+            + "客户端从该章节继续获取")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "获取成功"),
+            @ApiResponse(responseCode = "400", description = "章节范围无效或超过单次上限")
+    })
+    public void streamChapterRange(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
+            @Parameter(description = "起始章节号（含）", required = true) @RequestParam int from,
+            @Parameter(description = "结束章节号（含）", required = true) @RequestParam int to,
+            @Parameter(description = "响应字节数上限（未压缩），至少返回一个章节") @RequestParam(defaultValue = "4194304") long maxBytes,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long limit = Math.min(Math.max(maxBytes, 1), RANGE_MAX_BYTES);
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        OutputStream[] out = new OutputStream[1];
+        long[] written = new long[1];
+        Integer[] nextChapterNumber = new Integer[1];
+        try {
+            chapterService.streamChapterRange(bookId, from, to, chapter -> {
+                try {
+                    byte[] line = objectMapper.writeValueAsBytes(chapter);
+                    if (written[0] > 0 && written[0] + line.length + 1 > limit) {
+                        nextChapterNumber[0] = chapter.getChapterNumber();
+                        return false;
+                    }
+                    if (out[0] == null) {
+                        // 首个章节就绪后才提交响应头，参数错误仍可返回 400
+                        out[0] = openOutput(response, gzip);
+                    }
+                    out[0].write(line);
+                    out[0].write('\n');
+                    written[0] += line.length + 1;
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            if (out[0] != null) {
+                throw e;
+            }
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        if (out[0] == null) {
+            out[0] = openOutput(response, gzip);
+        }
+        if (nextChapterNumber[0] != null) {
+            out[0].write(objectMapper.writeValueAsBytes(Map.of("truncated", true, "nextChapterNumber", nextChapterNumber[0])));
+            out[0].write('\n');
+        }
+        if (out[0] instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        out[0].flush();
+    }
+
+    /**
+     * 导出整本书
+     */
+    @GetMapping("/book/{bookId}/export")
+    @Operation(summary = "导出整本书", description = "导出书籍全部章节（含正文）：txt 为单个 gzip 压缩的 TXT，zip 为每章一个 TXT 的压缩包；"
+            + "导出文件按章节版本缓存在磁盘上，章节未变更时直接返回，支持 If-None-Match 条件请求")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "导出成功"),
+            @ApiResponse(responseCode = "304", description = "导出内容未变化"),
+            @ApiResponse(responseCode = "400", description = "导出格式无效"),
+            @ApiResponse(responseCode = "404", description = "书籍没有章节")
+    })
+    public void exportBook(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
+            @Parameter(description = "导出格式：txt 或 zip") @RequestParam(defaultValue = "txt") String format,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BookExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = BookExportService.ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "导出格式无效");
+            return;
+        }
+        BookExportService.ExportFile file = bookExportService.export(bookId, exportFormat);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "书籍没有章节");
+            return;
+        }
+        try (file) {
+            if (new ServletWebRequest(request, response).checkNotModified(file.etag())) {
+                return;
+            }
+            response.setContentType(exportFormat.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(file.fileName(), StandardCharsets.UTF_8).build().toString());
+            response.setContentLengthLong(file.channel().size());
+            Channels.newInputStream(file.channel()).transferTo(response.getOutputStream());
+        }
     }
 
     /**
      * 查询书籍所有章节
+     *
+     * @deprecated 正文迁移到对象存储后不再随列表返回，整本正文使用 {@link #exportBook} 导出，目录使用分页列表或目录增量同步
      */
+    @Deprecated
     @GetMapping("/book/{bookId}/all")
-    @Operation(summary = "查询书籍所有章节", description = "查询指定书籍的所有章节，不分页")
+    @Operation(summary = "查询书籍所有章节（已弃用）", deprecated = true,
+            description = "查询指定书籍的所有章节元数据，不分页。正文已迁移到对象存储，本接口不再返回 content 字段；"
+                    + "需要整本正文请使用 GET /api/chapters/book/{bookId}/export")
     @ApiResponse(responseCode = "200", description = "查询成功")
     public ResultVO<List<Chapter>> getAllChaptersByBookId(
             @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId) {
@@ -188,14 +609,82 @@ public class ChapterController {
     public ResultVO<PageResult<ChapterSummary>> getChaptersByBookId(
             @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
             @Parameter(description = "页码", required = false) @RequestParam(defaultValue = "1") Integer pageNum,
-            @Parameter(description = "每页数量", required = false) @RequestParam(defaultValue = "200") Integer pageSize) {
+            @Parameter(description = "每页数量", required = false) @RequestParam(defaultValue = "200") Integer pageSize,
+            @Parameter(description = "是否返回总数，无限滚动场景可传 false 以跳过计数", required = false) @RequestParam(defaultValue = "true") Boolean count) {
         if (pageNum <= 0 || pageSize <= 0) {
             return ResultVO.error(400, "请求参数错误");
         }
-        PageResult<ChapterSummary> pageResult = chapterService.getChaptersList(bookId, pageNum, pageSize);
+        PageResult<ChapterSummary> pageResult = chapterService.getChaptersList(bookId, pageNum, pageSize, count);
         return ResultVO.success("查询章节列表成功", pageResult);
     }
 
+    @GetMapping("/book/{bookId}/list/cursor")
+    @Operation(summary = "游标分页查询书籍章节列表", description = "按章节号升序返回章节摘要，使用上一页返回的 nextCursor 获取下一页，深分页与首页开销一致")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "请求参数错误或游标无效")
+    })
+    public ResultVO<CursorPageResult<ChapterSummary>> getChaptersByCursor(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
+            @Parameter(description = "上一页返回的游标，首次请求不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量", required = false) @RequestParam(defaultValue = "200") Integer pageSize) {
+        if (pageSize <= 0) {
+            return ResultVO.error(400, "请求参数错误");
+        }
+        try {
+            return ResultVO.success("查询章节列表成功", chapterService.getChaptersByCursor(bookId, cursor, pageSize));
+        } catch (RuntimeException e) {
+            return ResultVO.error(400, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取章节目录，支持按目录版本增量同步
+     * 增量结果直接序列化输出；完整目录为按版本缓存的 gzip 数据，客户端接受 gzip 时原样输出
+     */
+    @GetMapping("/book/{bookId}/toc")
+    @Operation(summary = "获取章节目录", description = "返回章节ID、章节号、标题与 VIP 标记（不使用 ResultVO 包装）。携带 sinceVersion 时只返回该版本之后的变更（full=false，changes 中 op 为 upsert/delete）；"
+            + "未携带、日志已过期或变更过多时返回完整目录（full=true，chapters 为按 fields 顺序排列的数组），支持 If-None-Match 条件请求与 gzip。客户端保存返回的 version 供下次同步")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "304", description = "目录未变化"),
+            @ApiResponse(responseCode = "404", description = "书籍不存在")
+    })
+    public void getToc(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
+            @Parameter(description = "客户端本地的目录版本") @RequestParam(required = false) Long sinceVersion,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (sinceVersion != null) {
+            ChapterTocService.TocChanges changes = chapterTocService.getChanges(bookId, sinceVersion);
+            if (changes != null) {
+                response.setContentType("application/json;charset=UTF-8");
+                objectMapper.writeValue(response.getOutputStream(), changes);
+                return;
+            }
+        }
+        ChapterTocService.TocBlob toc = chapterTocService.getFullToc(bookId);
+        if (toc == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "书籍不存在");
+            return;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(toc.etag())) {
+            return;
+        }
+        response.setContentType("application/json;charset=UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(toc.gzipped().length);
+            response.getOutputStream().write(toc.gzipped());
+            return;
+        }
+        response.setContentLength(toc.length());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(toc.gzipped()))) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
     // ===== 统计和管理接口 =====
 
     /**
@@ -226,7 +715,7 @@ public class ChapterController {
      * 获取最新章节
      */
     @GetMapping("/book/{bookId}/latest")
-    @Operation(summary = "获取最新章节", description = "获取指定书籍的最新章节")
+    @Operation(summary = "获取最新章节", description = "获取指定书籍的最新章节元数据（不含正文）")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "查询成功"),
             @ApiResponse(responseCode = "404", description = "没有章节")
@@ -259,6 +748,59 @@ public class ChapterController {
         }
     }
 
+    /**
+     * 流式导入章节
+     */
+    @PostMapping(value = "/book/{bookId}/import", consumes = "application/x-ndjson")
+    @Operation(summary = "流式导入章节", description = "请求体为 NDJSON，每行一个章节（chapterNumber、title、content 等），边解析边按批写入；"
+            + "响应为 NDJSON，每提交一批输出一行进度，最后一行 done=true 为最终结果，失败时 error 为原因。"
+            + "章节号已存在或重复的章节会被跳过")
+    @ApiResponse(responseCode = "200", description = "导入完成或中途失败（见最后一行进度）")
+    public void importChapters(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        OutputStream out = response.getOutputStream();
+        try (MappingIterator<Chapter> chapters = objectMapper.readerFor(Chapter.class).readValues(request.getInputStream())) {
+            chapterService.importChapters(bookId, chapters, progress -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(progress));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 导入整本 TXT
+     */
+    @PostMapping(value = "/book/{bookId}/import/txt", consumes = {"text/plain", "application/octet-stream"})
+    @Operation(summary = "导入整本 TXT", description = "请求体为整本小说的 TXT 文件，按“第N章/回/节”标题切分章节并统计字数后分批写入；"
+            + "dryRun=true 时只返回切分预览。标题后没有正文的章节（如目录页）与第一章之前的内容不导入")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "导入完成"),
+            @ApiResponse(responseCode = "400", description = "编码不支持、文件过大或导入失败")
+    })
+    public ResultVO<TxtImportService.TxtImportResult> importTxt(
+            @Parameter(description = "书籍ID", required = true) @PathVariable Integer bookId,
+            @Parameter(description = "文件编码：UTF-8 或 GBK") @RequestParam(defaultValue = "UTF-8") String charset,
+            @Parameter(description = "第一个章节的章节号，默认接在最新章节之后") @RequestParam(required = false) Integer startNumber,
+            @Parameter(description = "只切分预览，不写入") @RequestParam(defaultValue = "false") boolean dryRun,
+            HttpServletRequest request) throws IOException {
+        try {
+            TxtImportService.TxtImportResult result = txtImportService.importTxt(
+                    bookId, request.getInputStream(), Charset.forName(charset), startNumber, dryRun);
+            return ResultVO.success(dryRun ? "切分预览成功" : "导入完成", result);
+        } catch (IllegalArgumentException e) {
+            return ResultVO.error(400, "不支持的编码: " + charset);
+        } catch (RuntimeException e) {
+            return ResultVO.error(400, e.getMessage());
+        }
+    }
+
     /**
      * 检查章节是否存在
      */
@@ -0,0 +1,115 @@
+package com.sakura.novel.controller;
+
+import com.sakura.novel.core.common.vo.ResultVO;
+import com.sakura.novel.entity.BookDeletionJob;
+import com.sakura.novel.service.BookDeletionService;
+import com.sakura.novel.service.ChapterContentService;
+import com.sakura.novel.service.ChapterScheduleService;
+import com.sakura.novel.service.ChapterService;
+import com.sakura.novel.service.ContentCompressionService;
+import com.sakura.novel.service.ExistenceFilterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 运行监控控制器
+ */
+@RestController
+@RequestMapping("/api/monitor")
+@RequiredArgsConstructor
+@Tag(name = "运行监控", description = "本地缓存、过滤器、正文压缩等运行指标查询")
+public class MonitorController {
+
+    private final ExistenceFilterService existenceFilterService;
+    private final ContentCompressionService contentCompressionService;
+    private final ChapterService chapterService;
+    private final BookDeletionService bookDeletionService;
+    private final ChapterScheduleService chapterScheduleService;
+    private final ChapterContentService chapterContentService;
+
+    /**
+     * 获取布隆过滤器运行指标
+     */
+    @GetMapping("/bloom-filters")
+    @Operation(summary = "获取布隆过滤器指标", description = "返回书籍、章节、章节号、用户各过滤器的容量、理论与实测误判率、拦截次数等")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<List<ExistenceFilterService.FilterStats>> getBloomFilterStats() {
+        return ResultVO.success("获取过滤器指标成功", existenceFilterService.getStats());
+    }
+
+    /**
+     * 立即重建布隆过滤器
+     */
+    @PostMapping("/bloom-filters/rebuild")
+    @Operation(summary = "重建布隆过滤器", description = "立即重新扫描数据表构建全部过滤器")
+    @ApiResponse(responseCode = "200", description = "重建成功")
+    public ResultVO<List<ExistenceFilterService.FilterStats>> rebuildBloomFilters() {
+        existenceFilterService.rebuildAll();
+        return ResultVO.success("重建过滤器成功", existenceFilterService.getStats());
+    }
+
+    /**
+     * 获取最近的书籍删除任务
+     */
+    @GetMapping("/book-deletions")
+    @Operation(summary = "获取书籍删除任务", description = "按提交时间倒序返回最近的书籍/整本章节删除任务及其进度")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<List<BookDeletionJob>> getBookDeletionJobs(@RequestParam(defaultValue = "20") int limit) {
+        return ResultVO.success("获取删除任务成功", bookDeletionService.getRecentJobs(limit));
+    }
+
+    /**
+     * 获取章节定时发布指标
+     */
+    @GetMapping("/chapter-release")
+    @Operation(summary = "获取章节定时发布指标", description = "返回时间轮中待发布章节数、时间轮层数与格宽、启动以来发布成功/失败数及最大发布延迟")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<ChapterScheduleService.ReleaseStats> getChapterReleaseStats() {
+        return ResultVO.success("获取定时发布指标成功", chapterScheduleService.getStats());
+    }
+
+    /**
+     * 获取章节正文压缩迁移进度
+     */
+    @GetMapping("/content-codec")
+    @Operation(summary = "获取正文压缩迁移进度", description = "返回迁移检查点、已重写章节数、压缩前后字节数、训练字典数等")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<ContentCompressionService.MigrationProgress> getContentCodecProgress() {
+        return ResultVO.success("获取压缩迁移进度成功", contentCompressionService.getMigrationProgress());
+    }
+
+    /**
+     * 获取章节正文去重指标
+     */
+    @GetMapping("/content-dedup")
+    @Operation(summary = "获取正文去重指标", description = "返回去重对象数、引用章节数、实际与不去重时的字节数，以及启动以来命中已有对象与上传新对象的次数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<ChapterContentService.DedupStats> getContentDedupStats() {
+        return ResultVO.success("获取正文去重指标成功", chapterContentService.getDedupStats());
+    }
+
+    /**
+     * 获取章节预读指标
+     */
+    @GetMapping("/chapter-prefetch")
+    @Operation(summary = "获取章节预读指标", description = "返回正文缓存命中率、预读任务数、预读加载与命中章节数、预读命中率等")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<ChapterService.PrefetchStats> getChapterPrefetchStats() {
+        return ResultVO.success("获取章节预读指标成功", chapterService.getPrefetchStats());
+    }
+
+    /**
+     * 获取堆外正文缓存指标
+     */
+    @GetMapping("/chapter-body-cache")
+    @Operation(summary = "获取堆外正文缓存指标", description = "返回缓存条目数、堆外内存占用、命中率、淘汰与拒绝次数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    public ResultVO<ChapterService.BodyCacheStats> getChapterBodyCacheStats() {
+        return ResultVO.success("获取堆外正文缓存指标成功", chapterService.getBodyCacheStats());
+    }
+}
@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 
@@ -28,12 +29,20 @@ public class RankController {
             @Parameter(description = "查询日期 (格式: yyyy-MM-dd), 默认为昨天")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @Parameter(description = "返回数量", example = "100")
-            @RequestParam(defaultValue = "100") Integer limit) {
+            @RequestParam(defaultValue = "100") Integer limit,
+            WebRequest webRequest) {
 
         if (date == null) {
             date = LocalDate.now().minusDays(1); // 如果不指定日期，默认查昨天
         }
+        String etag = rankService.getRankingETag("daily", statType, date, limit);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         RankingResponse response = rankService.getDailyRanking(statType, date, limit);
+        if (etag == null && webRequest.checkNotModified(rankService.getRankingETag("daily", statType, date, limit))) {
+            return null;
+        }
         return ResultVO.success(response);
     }
 
@@ -45,12 +54,20 @@ public class RankController {
             @Parameter(description = "查询周的结束日期 (格式: yyyy-MM-dd), 默认为昨天")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @Parameter(description = "返回数量", example = "100")
-            @RequestParam(defaultValue = "100") Integer limit) {
+            @RequestParam(defaultValue = "100") Integer limit,
+            WebRequest webRequest) {
 
 //        if (date == null) {
 //            date = LocalDate.now().minusDays(1);
 //        }
+        String etag = rankService.getRankingETag("weekly", statType, date, limit);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         RankingResponse response = rankService.getWeeklyRanking(statType, date, limit);
+        if (etag == null && webRequest.checkNotModified(rankService.getRankingETag("weekly", statType, date, limit))) {
+            return null;
+        }
         return ResultVO.success(response);
     }
 
@@ -62,12 +79,20 @@ public class RankController {
             @Parameter(description = "查询月的结束日期 (格式: yyyy-MM-dd), 默认为昨天")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
             @Parameter(description = "返回数量", example = "100")
-            @RequestParam(defaultValue = "100") Integer limit) {
+            @RequestParam(defaultValue = "100") Integer limit,
+            WebRequest webRequest) {
 
 //        if (date == null) {
 //            date = LocalDate.now().minusDays(1);
 //        }
+        String etag = rankService.getRankingETag("monthly", statType, date, limit);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         RankingResponse response = rankService.getMonthlyRanking(statType, date, limit);
+        if (etag == null && webRequest.checkNotModified(rankService.getRankingETag("monthly", statType, date, limit))) {
+            return null;
+        }
         return ResultVO.success(response);
     }
     @GetMapping("/peak")
@@ -76,10 +101,18 @@ public class RankController {
             @Parameter(description = "频道筛选 (1: 男频, 0: 女频)，不传则为全站榜")
             @RequestParam(required = false) Integer channel,
             @Parameter(description = "返回数量", example = "10")
-            @RequestParam(defaultValue = "10") Integer limit) {
+            @RequestParam(defaultValue = "10") Integer limit,
+            WebRequest webRequest) {
 
+        String etag = rankService.getPeakRankingETag(channel, limit);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         // 直接调用新的服务方法，不再处理日期
         RankingResponse response = rankService.getPeakRanking(channel, limit);
+        if (etag == null && webRequest.checkNotModified(rankService.getPeakRankingETag(channel, limit))) {
+            return null;
+        }
         return ResultVO.success(response);
     }
 }
@@ -0,0 +1,114 @@
+package com.sakura.novel.core.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于 long 键的布隆过滤器
+ * 位数组使用 AtomicLongArray，put 与 mightContain 可并发调用，无需加锁。
+ * 采用双重哈希（h1 + i * h2）派生 k 个位置；mightContain 返回 false 时键一定不存在，
+ * 返回 true 时键可能存在（存在误判）。不支持删除，删除后的键需通过重建清除。
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final double targetFpp;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * @param expectedInsertions 预计插入数量
+     * @param fpp                目标误判率（0~1）
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            expectedInsertions = 1;
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("误判率必须在0到1之间");
+        }
+        // m = -n * ln(p) / (ln2)^2，k = m / n * ln2
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, (m + 63) / 64 * 64);
+        this.bitSize = m;
+        this.hashCount = Math.max(1, (int) Math.round((double) m / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (m / 64));
+        this.expectedInsertions = expectedInsertions;
+        this.targetFpp = fpp;
+    }
+
+    public void put(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            setBit(Math.floorMod(hash1 + i * hash2, bitSize));
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            if (!getBit(Math.floorMod(hash1 + i * hash2, bitSize))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按当前插入数量估算的理论误判率：(1 - e^(-k*n/m))^k
+     */
+    public double expectedFpp() {
+        double n = insertions.sum();
+        return Math.pow(1 - Math.exp(-hashCount * n / bitSize), hashCount);
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public double getTargetFpp() {
+        return targetFpp;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    /**
+     * SplitMix64 终结函数，将相邻的整数ID打散到整个64位空间
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
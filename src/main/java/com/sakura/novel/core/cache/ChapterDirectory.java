@@ -0,0 +1,145 @@
+package com.sakura.novel.core.cache;
+
+import com.sakura.novel.entity.Chapter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 单本书的章节目录（不可变）
+ * 以章节号升序的并列基本类型数组保存章节元数据，VIP 标记压缩为位图，
+ * 导航、计数、存在性判断均为内存中的二分查找。章节增删改时整体失效重建，
+ * {@link #getVersion()} 记录构建时的目录版本，便于排查缓存是否为最新。
+ */
+public final class ChapterDirectory {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final int bookId;
+    private final long version;
+    private final int[] chapterNumbers;
+    private final int[] ids;
+    private final int[] wordCounts;
+    private final long[] publishedTimes;
+    private final String[] titles;
+    private final long[] vipBits;
+    private final int vipCount;
+    private final long totalWordCount;
+
+    private ChapterDirectory(int bookId, long version, int[] chapterNumbers, int[] ids, int[] wordCounts,
+                             long[] publishedTimes, String[] titles, long[] vipBits, int vipCount, long totalWordCount) {
+        this.bookId = bookId;
+        this.version = version;
+        this.chapterNumbers = chapterNumbers;
+        this.ids = ids;
+        this.wordCounts = wordCounts;
+        this.publishedTimes = publishedTimes;
+        this.titles = titles;
+        this.vipBits = vipBits;
+        this.vipCount = vipCount;
+        this.totalWordCount = totalWordCount;
+    }
+
+    /**
+     * 由按章节号升序排列的章节元数据构建目录
+     */
+    public static ChapterDirectory of(int bookId, long version, List<Chapter> chapters) {
+        int size = chapters.size();
+        int[] chapterNumbers = new int[size];
+        int[] ids = new int[size];
+        int[] wordCounts = new int[size];
+        long[] publishedTimes = new long[size];
+        String[] titles = new String[size];
+        long[] vipBits = new long[(size + 63) >>> 6];
+        int vipCount = 0;
+        long totalWordCount = 0;
+        for (int i = 0; i < size; i++) {
+            Chapter chapter = chapters.get(i);
+            chapterNumbers[i] = chapter.getChapterNumber();
+            ids[i] = chapter.getId();
+            wordCounts[i] = chapter.getWordCount() == null ? 0 : chapter.getWordCount();
+            publishedTimes[i] = chapter.getPublishedTime() == null ? NO_TIME
+                    : chapter.getPublishedTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            titles[i] = chapter.getTitle();
+            if (Boolean.TRUE.equals(chapter.getIsVip())) {
+                vipBits[i >>> 6] |= 1L << i;
+                vipCount++;
+            }
+            totalWordCount += wordCounts[i];
+        }
+        return new ChapterDirectory(bookId, version, chapterNumbers, ids, wordCounts,
+                publishedTimes, titles, vipBits, vipCount, totalWordCount);
+    }
+
+    public int getBookId() {
+        return bookId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return chapterNumbers.length;
+    }
+
+    public int getVipCount() {
+        return vipCount;
+    }
+
+    public long getTotalWordCount() {
+        return totalWordCount;
+    }
+
+    public boolean contains(int chapterNumber) {
+        return Arrays.binarySearch(chapterNumbers, chapterNumber) >= 0;
+    }
+
+    /**
+     * 章节号小于 chapterNumber 的最后一章，不存在时返回 null
+     */
+    public Chapter previous(int chapterNumber) {
+        int index = Arrays.binarySearch(chapterNumbers, chapterNumber);
+        int previous = index >= 0 ? index - 1 : -index - 2;
+        return chapterAt(previous);
+    }
+
+    /**
+     * 章节号大于 chapterNumber 的第一章，不存在时返回 null
+     */
+    public Chapter next(int chapterNumber) {
+        int index = Arrays.binarySearch(chapterNumbers, chapterNumber);
+        int next = index >= 0 ? index + 1 : -index - 1;
+        return chapterAt(next);
+    }
+
+    /**
+     * 章节号最大的一章，目录为空时返回 null
+     */
+    public Chapter latest() {
+        return chapterAt(chapterNumbers.length - 1);
+    }
+
+    /**
+     * 按下标还原章节元数据（不含正文）
+     */
+    public Chapter chapterAt(int index) {
+        if (index < 0 || index >= chapterNumbers.length) {
+            return null;
+        }
+        Chapter chapter = new Chapter();
+        chapter.setId(ids[index]);
+        chapter.setBookId(bookId);
+        chapter.setChapterNumber(chapterNumbers[index]);
+        chapter.setTitle(titles[index]);
+        chapter.setWordCount(wordCounts[index]);
+        chapter.setIsVip((vipBits[index >>> 6] & (1L << index)) != 0);
+        if (publishedTimes[index] != NO_TIME) {
+            chapter.setPublishedTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(publishedTimes[index]), ZoneId.systemDefault()));
+        }
+        return chapter;
+    }
+}
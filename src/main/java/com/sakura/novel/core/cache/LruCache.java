@@ -0,0 +1,160 @@
+package com.sakura.novel.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 有界 LRU 本地缓存
+ * 基于 accessOrder 的 LinkedHashMap 实现，超出容量时淘汰最久未访问的条目，
+ * 可选按写入时间过期（ttlMillis <= 0 表示永不过期）。
+ * null 值不会被缓存，加载函数在锁外执行，避免慢查询阻塞其他读请求。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maxSize) {
+        this(maxSize, 0);
+    }
+
+    public LruCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.map = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true);
+    }
+
+    /**
+     * 读取缓存，不存在或已过期时返回 null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(ttlMillis)) {
+            map.remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * 是否存在条目（不判断过期）；不计入命中统计，也不影响淘汰顺序
+     */
+    public synchronized boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * 写入缓存，超出容量时淘汰最久未访问的条目
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        map.put(key, new Entry<>(value));
+        while (map.size() > maxSize) {
+            Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * 读取缓存，未命中时调用 loader 加载并回填
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    public synchronized void invalidate(K key) {
+        map.remove(key);
+    }
+
+    /**
+     * 按条件批量失效
+     */
+    public synchronized void invalidateIf(Predicate<? super K> predicate) {
+        map.keySet().removeIf(predicate);
+    }
+
+    /**
+     * 按缓存值批量失效
+     */
+    public synchronized void invalidateValuesIf(Predicate<? super V> predicate) {
+        map.values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 命中率，尚无访问时返回 0
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0D : (double) h / total;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long writeTime;
+
+        private Entry(V value) {
+            this.value = value;
+            this.writeTime = System.currentTimeMillis();
+        }
+
+        private boolean isExpired(long ttlMillis) {
+            return ttlMillis > 0 && System.currentTimeMillis() - writeTime > ttlMillis;
+        }
+    }
+}
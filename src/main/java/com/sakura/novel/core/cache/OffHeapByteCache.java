@@ -0,0 +1,320 @@
+package com.sakura.novel.core.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 堆外 LRU 字节缓存
+ * 数据保存在 {@link ByteBuffer#allocateDirect} 分配的 slab 中，每个 slab 切分为固定大小的块，
+ * 一个条目占用若干（不要求连续的）块，堆内只保留键到块号的索引，缓存内容不进入老年代、不参与 GC 扫描。
+ * slab 按需分配，总量不超过容量；空闲块不足时按 LRU 顺序淘汰条目。
+ * 读取返回引用计数保护的输入流：条目在读取期间被淘汰或失效时，其块要等流关闭后才回收复用。
+ *
+ * @param <K> 键类型
+ */
+public class OffHeapByteCache<K> {
+
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int maxEntryBytes;
+    private final ByteBuffer[] slabs;
+    private final int totalBlocks;
+
+    /**
+     * 空闲块号栈
+     */
+    private int[] freeBlocks;
+    private int freeCount;
+    /**
+     * 尚未分配 slab 的第一个块号
+     */
+    private int nextUnallocated;
+
+    private final LinkedHashMap<K, Entry> index = new LinkedHashMap<>(1024, 0.75f, true);
+    private long storedBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param capacityBytes 缓存总容量（字节）
+     * @param slabBytes     单个 slab 大小（字节）
+     * @param blockSize     块大小（字节）
+     * @param maxEntryBytes 单个条目的最大字节数，超过时不缓存
+     */
+    public OffHeapByteCache(long capacityBytes, int slabBytes, int blockSize, int maxEntryBytes) {
+        if (blockSize <= 0 || slabBytes < blockSize || capacityBytes < slabBytes) {
+            throw new IllegalArgumentException("堆外缓存参数无效: capacity=" + capacityBytes
+                    + ", slab=" + slabBytes + ", block=" + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.blocksPerSlab = slabBytes / blockSize;
+        this.slabs = new ByteBuffer[(int) (capacityBytes / ((long) blocksPerSlab * blockSize))];
+        this.totalBlocks = slabs.length * blocksPerSlab;
+        this.maxEntryBytes = (int) Math.min(maxEntryBytes, (long) totalBlocks * blockSize);
+        this.freeBlocks = new int[Math.min(totalBlocks, 1024)];
+    }
+
+    /**
+     * 读取条目，不存在时返回 null；调用方必须关闭返回的流
+     */
+    public synchronized EntryStream get(K key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.refs++;
+        return new EntryStream(entry);
+    }
+
+    /**
+     * 是否存在条目；不计入命中统计，也不影响淘汰顺序
+     */
+    public synchronized boolean containsKey(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * 写入条目，必要时淘汰最久未访问的条目
+     *
+     * @return 是否写入成功；数据超过单条上限或无法腾出足够空间时返回 false
+     */
+    public synchronized boolean put(K key, byte[] data) {
+        if (data.length > maxEntryBytes) {
+            rejections.increment();
+            return false;
+        }
+        Entry previous = index.remove(key);
+        if (previous != null) {
+            release(previous);
+        }
+
+        int needed = Math.max(1, (data.length + blockSize - 1) / blockSize);
+        while (available() < needed && !index.isEmpty()) {
+            Iterator<Map.Entry<K, Entry>> it = index.entrySet().iterator();
+            Entry eldest = it.next().getValue();
+            it.remove();
+            release(eldest);
+            evictions.increment();
+        }
+        if (available() < needed) {
+            // 剩余空间被读取中的已淘汰条目占用
+            rejections.increment();
+            return false;
+        }
+
+        int[] blocks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            blocks[i] = allocateBlock();
+            int offset = i * blockSize;
+            int length = Math.min(blockSize, data.length - offset);
+            if (length > 0) {
+                slabs[blocks[i] / blocksPerSlab].put(slabOffset(blocks[i]), data, offset, length);
+            }
+        }
+        index.put(key, new Entry(blocks, data.length));
+        storedBytes += data.length;
+        return true;
+    }
+
+    public synchronized void invalidate(K key) {
+        Entry entry = index.remove(key);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    public synchronized void clear() {
+        index.values().forEach(this::release);
+        index.clear();
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * 已写入的数据字节数
+     */
+    public synchronized long storedBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * 已占用的块字节数（含块内未用满的部分及读取中的已淘汰条目）
+     */
+    public synchronized long usedBytes() {
+        return (long) (nextUnallocated - freeCount) * blockSize;
+    }
+
+    /**
+     * 已分配的堆外内存字节数
+     */
+    public synchronized long allocatedBytes() {
+        return (long) nextUnallocated * blockSize;
+    }
+
+    public long capacityBytes() {
+        return (long) totalBlocks * blockSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    /**
+     * 命中率，尚无访问时返回 0
+     */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0D : (double) h / total;
+    }
+
+    private int available() {
+        return freeCount + (totalBlocks - nextUnallocated);
+    }
+
+    private int allocateBlock() {
+        if (freeCount > 0) {
+            return freeBlocks[--freeCount];
+        }
+        int block = nextUnallocated++;
+        if (block % blocksPerSlab == 0) {
+            slabs[block / blocksPerSlab] = ByteBuffer.allocateDirect(blocksPerSlab * blockSize);
+        }
+        return block;
+    }
+
+    /**
+     * 释放一次引用，引用归零时回收条目占用的块
+     */
+    private void release(Entry entry) {
+        if (--entry.refs > 0) {
+            return;
+        }
+        storedBytes -= entry.length;
+        if (freeCount + entry.blocks.length > freeBlocks.length) {
+            freeBlocks = Arrays.copyOf(freeBlocks, Math.min(totalBlocks,
+                    Math.max(freeBlocks.length * 2, freeCount + entry.blocks.length)));
+        }
+        for (int block : entry.blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private synchronized void close(Entry entry) {
+        release(entry);
+    }
+
+    private int slabOffset(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    private static final class Entry {
+        private final int[] blocks;
+        private final int length;
+        /**
+         * 引用计数：缓存索引本身持有一个引用，每个未关闭的读取流各持有一个
+         */
+        private int refs = 1;
+
+        private Entry(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+    }
+
+    /**
+     * 条目的只读输入流，直接从堆外块中复制到调用方缓冲区
+     */
+    public final class EntryStream extends InputStream {
+
+        private final Entry entry;
+        private int position;
+        private boolean closed;
+
+        private EntryStream(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * 条目字节数
+         */
+        public int getLength() {
+            return entry.length;
+        }
+
+        @Override
+        public int read() {
+            if (closed || position >= entry.length) {
+                return -1;
+            }
+            int block = entry.blocks[position / blockSize];
+            int value = slabs[block / blocksPerSlab].get(slabOffset(block) + position % blockSize) & 0xff;
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (closed || position >= entry.length) {
+                return -1;
+            }
+            int total = Math.min(len, entry.length - position);
+            int copied = 0;
+            while (copied < total) {
+                int block = entry.blocks[position / blockSize];
+                int inBlock = position % blockSize;
+                int length = Math.min(total - copied, blockSize - inBlock);
+                // 绝对位置的批量读取不修改 ByteBuffer 的 position，可并发读取同一 slab
+                slabs[block / blocksPerSlab].get(slabOffset(block) + inBlock, b, off + copied, length);
+                copied += length;
+                position += length;
+            }
+            return total;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, entry.length - position));
+            position += (int) skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return closed ? 0 : entry.length - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                OffHeapByteCache.this.close(entry);
+            }
+        }
+    }
+}
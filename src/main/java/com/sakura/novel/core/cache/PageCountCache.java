@@ -0,0 +1,115 @@
+package com.sakura.novel.core.cache;
+
+import com.github.pagehelper.Page;
+import com.github.pagehelper.PageHelper;
+import com.github.pagehelper.PageInfo;
+import com.sakura.novel.DTO.Response.PageResult;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 分页总数缓存
+ * PageHelper 默认每次分页都会额外执行一次 COUNT(*)，对高频列表接口代价翻倍。
+ * 这里按规范化的查询键缓存总数（带过期时间，写操作按键或前缀失效），
+ * 命中缓存时以 count=false 方式分页并回填总数；
+ * 调用方也可以提供维护好的计数（如每本书的章节数）代替 COUNT 查询，
+ * 或者对无限滚动的客户端完全跳过总数，仅多取一条判断是否有下一页。
+ */
+@Component
+public class PageCountCache {
+
+    @Value("${novel.page.count-cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${novel.page.count-ttl-ms:60000}")
+    private long ttlMillis;
+
+    /**
+     * 查询键 -> 总记录数
+     */
+    private LruCache<String, Long> totals;
+
+    @PostConstruct
+    public void init() {
+        this.totals = new LruCache<>(cacheSize, ttlMillis);
+    }
+
+    /**
+     * 执行分页查询
+     *
+     * @param countKey    规范化的查询键，相同条件的查询必须得到相同的键
+     * @param pageNum     页码（从1开始）
+     * @param pageSize    每页数量
+     * @param withCount   是否需要总数；为 false 时不计算总数，total 为 null
+     * @param countLoader 维护好的计数来源，为 null 时由 PageHelper 执行 COUNT 查询
+     * @param query       实际的列表查询，须在其中调用且只调用一次 Mapper 查询
+     */
+    public <T> PageResult<T> paginate(String countKey, int pageNum, int pageSize, boolean withCount,
+                                      Supplier<Long> countLoader, Supplier<List<T>> query) {
+        pageNum = Math.max(pageNum, 1);
+        pageSize = Math.max(pageSize, 1);
+        if (!withCount) {
+            return paginateWithoutCount(pageNum, pageSize, query);
+        }
+
+        Long total = totals.get(countKey);
+        if (total == null && countLoader != null) {
+            total = countLoader.get();
+            totals.put(countKey, total);
+        }
+
+        PageInfo<T> pageInfo;
+        if (total != null) {
+            // 总数已知，只查询当前页
+            Page<T> page = PageHelper.startPage(pageNum, pageSize, false);
+            query.get();
+            page.setTotal(total);
+            pageInfo = new PageInfo<>(page);
+        } else {
+            PageHelper.startPage(pageNum, pageSize);
+            pageInfo = new PageInfo<>(query.get());
+            totals.put(countKey, pageInfo.getTotal());
+        }
+
+        PageResult<T> result = new PageResult<>(pageInfo);
+        result.setNavigatepageNums(pageInfo.getNavigatepageNums());
+        return result;
+    }
+
+    /**
+     * 不计算总数的分页：多取一条记录判断是否还有下一页
+     */
+    private <T> PageResult<T> paginateWithoutCount(int pageNum, int pageSize, Supplier<List<T>> query) {
+        PageHelper.offsetPage((pageNum - 1) * pageSize, pageSize + 1, false);
+        List<T> list = query.get();
+        boolean hasNext = list.size() > pageSize;
+
+        PageResult<T> result = new PageResult<>(hasNext ? new ArrayList<>(list.subList(0, pageSize)) : new ArrayList<>(list));
+        result.setPageNum(pageNum);
+        result.setPageSize(pageSize);
+        result.setIsFirstPage(pageNum == 1);
+        result.setHasPreviousPage(pageNum > 1);
+        result.setHasNextPage(hasNext);
+        result.setIsLastPage(!hasNext);
+        return result;
+    }
+
+    /**
+     * 失效指定查询键的总数
+     */
+    public void invalidate(String countKey) {
+        totals.invalidate(countKey);
+    }
+
+    /**
+     * 失效以指定前缀开头的所有查询键（如某类列表的全部搜索条件）
+     */
+    public void invalidatePrefix(String prefix) {
+        totals.invalidateIf(key -> key.startsWith(prefix));
+    }
+}
@@ -0,0 +1,187 @@
+package com.sakura.novel.core.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 章节正文编解码器
+ * 存储格式（大端序）：
+ * <pre>
+ * magic(2) 'N''C' | version(1) | codec(1) | dictId(4) | 原文字节数(4) | 原文CRC32(4) | payload
+ * </pre>
+ * codec 为 {@link #CODEC_RAW} 时 payload 为 UTF-8 原文，为 {@link #CODEC_DEFLATE} 时为无 zlib 头的
+ * raw deflate 数据；dictId 非 0 表示压缩时使用了对应的预置字典。
+ * 不以 magic 开头的数据视为迁移前的纯文本，按 UTF-8 直接解码。
+ */
+public final class ChapterContentCodec {
+
+    public static final byte CODEC_RAW = 0;
+    public static final byte CODEC_DEFLATE = 1;
+
+    private static final byte MAGIC_0 = 'N';
+    private static final byte MAGIC_1 = 'C';
+    private static final byte VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    private ChapterContentCodec() {
+    }
+
+    /**
+     * 编码正文
+     *
+     * @param text       原文
+     * @param level      Deflate 压缩级别（1~9），小于等于 0 时不压缩
+     * @param dictId     字典ID，未使用字典时为 0
+     * @param dictionary 预置字典，可为 null
+     */
+    public static byte[] encode(String text, int level, int dictId, byte[] dictionary) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+
+        byte codec = CODEC_RAW;
+        byte[] payload = raw;
+        if (level > 0) {
+            byte[] compressed = deflate(raw, level, dictionary);
+            // 压缩无收益时（如极短章节）保留原文
+            if (compressed.length < raw.length) {
+                codec = CODEC_DEFLATE;
+                payload = compressed;
+            }
+        }
+        if (codec == CODEC_RAW) {
+            dictId = 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.put(MAGIC_0).put(MAGIC_1).put(VERSION).put(codec)
+                .putInt(dictId).putInt(raw.length).putInt((int) crc.getValue())
+                .put(payload);
+        return buffer.array();
+    }
+
+    /**
+     * 解码正文
+     *
+     * @param data         存储的字节
+     * @param dictResolver 按字典ID查找字典，找不到时返回 null
+     */
+    public static String decode(byte[] data, IntFunction<byte[]> dictResolver) {
+        if (!isEncoded(data)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(3);
+        byte codec = buffer.get();
+        int dictId = buffer.getInt();
+        int rawLength = buffer.getInt();
+        int expectedCrc = buffer.getInt();
+
+        byte[] raw;
+        if (codec == CODEC_RAW) {
+            raw = new byte[rawLength];
+            buffer.get(raw);
+        } else if (codec == CODEC_DEFLATE) {
+            byte[] dictionary = null;
+            if (dictId != 0) {
+                dictionary = dictResolver.apply(dictId);
+                if (dictionary == null) {
+                    throw new IllegalStateException("章节正文解压失败：缺少字典 " + dictId);
+                }
+            }
+            raw = inflate(data, HEADER_SIZE, rawLength, dictionary);
+        } else {
+            throw new IllegalStateException("未知的章节正文编码: " + codec);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IllegalStateException("章节正文校验失败");
+        }
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 是否为带头部的编码数据（否则为迁移前的纯文本）
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE
+                && data[0] == MAGIC_0 && data[1] == MAGIC_1 && data[2] == VERSION;
+    }
+
+    /**
+     * 读取编码方式，纯文本返回 -1
+     */
+    public static int codecOf(byte[] data) {
+        return isEncoded(data) ? data[3] : -1;
+    }
+
+    /**
+     * 读取字典ID，纯文本或未使用字典时返回 0
+     */
+    public static int dictIdOf(byte[] data) {
+        return isEncoded(data) ? ByteBuffer.wrap(data, 4, 4).getInt() : 0;
+    }
+
+    /**
+     * 读取原文字节数
+     */
+    public static int rawLengthOf(byte[] data) {
+        return isEncoded(data) ? ByteBuffer.wrap(data, 8, 4).getInt() : data.length;
+    }
+
+    private static byte[] deflate(byte[] raw, int level, byte[] dictionary) {
+        Deflater deflater = new Deflater(Math.min(level, Deflater.BEST_COMPRESSION), true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int rawLength, byte[] dictionary) {
+        Inflater inflater = new Inflater(true);
+        try {
+            // raw deflate 模式下预置字典需在解压前设置
+            if (dictionary != null) {
+                inflater.setDictionary(dictionary);
+            }
+            inflater.setInput(data, offset, data.length - offset);
+            byte[] raw = new byte[rawLength];
+            int filled = 0;
+            while (filled < rawLength) {
+                int n = inflater.inflate(raw, filled, rawLength - filled);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled != rawLength) {
+                throw new IllegalStateException("章节正文解压长度不符");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("章节正文解压失败", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
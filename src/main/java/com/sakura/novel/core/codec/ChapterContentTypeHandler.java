@@ -0,0 +1,49 @@
+package com.sakura.novel.core.codec;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 章节正文 TypeHandler
+ * 写入时将正文编码为压缩字节，读取时解码；兼容迁移前以纯文本存储的数据
+ */
+public class ChapterContentTypeHandler extends BaseTypeHandler<String> {
+
+    private static volatile ContentCodecSupport codec = ContentCodecSupport.DEFAULT;
+
+    /**
+     * 注册编解码实现
+     */
+    public static void register(ContentCodecSupport support) {
+        codec = support;
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType) throws SQLException {
+        ps.setBytes(i, codec.encode(parameter));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return decode(rs.getBytes(columnName));
+    }
+
+    @Override
+    public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return decode(rs.getBytes(columnIndex));
+    }
+
+    @Override
+    public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return decode(cs.getBytes(columnIndex));
+    }
+
+    private String decode(byte[] data) {
+        return data == null ? null : codec.decode(data);
+    }
+}
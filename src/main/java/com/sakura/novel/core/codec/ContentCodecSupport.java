@@ -0,0 +1,27 @@
+package com.sakura.novel.core.codec;
+
+/**
+ * 章节正文编解码入口，供 {@link ChapterContentTypeHandler} 调用
+ * TypeHandler 由 MyBatis 实例化，无法直接注入 Spring Bean，因此由实现方在启动时注册
+ */
+public interface ContentCodecSupport {
+
+    byte[] encode(String text);
+
+    String decode(byte[] data);
+
+    /**
+     * 未注册 Spring 实现前使用的默认编解码：Deflate 6 级、不使用字典
+     */
+    ContentCodecSupport DEFAULT = new ContentCodecSupport() {
+        @Override
+        public byte[] encode(String text) {
+            return ChapterContentCodec.encode(text, 6, 0, null);
+        }
+
+        @Override
+        public String decode(byte[] data) {
+            return ChapterContentCodec.decode(data, dictId -> null);
+        }
+    };
+}
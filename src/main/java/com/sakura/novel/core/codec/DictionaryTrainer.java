@@ -0,0 +1,107 @@
+package com.sakura.novel.core.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deflate 预置字典训练器
+ * 统计样本章节中固定长度片段的“文档频率”（出现在多少个章节中），
+ * 保留跨章节重复出现的片段（人名、地名、功法名、惯用句式等）拼接为字典。
+ * Deflate 对距离越近的匹配编码越短，因此频率越高的片段放在字典越靠后的位置。
+ */
+public final class DictionaryTrainer {
+
+    /**
+     * 片段长度（字符）；CJK 文本中 6 个字符约 18 字节，足以覆盖多数专有名词和短句
+     */
+    private static final int GRAM_LENGTH = 6;
+
+    /**
+     * 单个样本最多统计的字符数，避免超长章节主导统计结果
+     */
+    private static final int MAX_CHARS_PER_SAMPLE = 20000;
+
+    private DictionaryTrainer() {
+    }
+
+    /**
+     * 训练字典
+     *
+     * @param samples 样本章节正文（建议 10 篇以上）
+     * @param maxSize 字典最大字节数（Deflate 窗口为 32KB）
+     * @return 字典字节，样本不足或无重复片段时返回空数组
+     */
+    public static byte[] train(List<String> samples, int maxSize) {
+        if (samples == null || samples.size() < 2) {
+            return new byte[0];
+        }
+
+        // 1. 统计片段的文档频率
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (String sample : samples) {
+            if (sample == null) {
+                continue;
+            }
+            int limit = Math.min(sample.length(), MAX_CHARS_PER_SAMPLE) - GRAM_LENGTH;
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i <= limit; i++) {
+                String gram = sample.substring(i, i + GRAM_LENGTH);
+                if (isUseful(gram) && seen.add(gram)) {
+                    documentFrequency.merge(gram, 1, Integer::sum);
+                }
+            }
+        }
+
+        // 2. 只保留至少出现在两个章节中的片段，按频率降序
+        List<Map.Entry<String, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : documentFrequency.entrySet()) {
+            if (entry.getValue() >= 2) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+
+        // 3. 按频率从高到低选取片段直至填满字典，跳过已被已选片段包含的内容
+        List<byte[]> selected = new ArrayList<>();
+        StringBuilder selectedText = new StringBuilder();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : candidates) {
+            String gram = entry.getKey();
+            if (selectedText.indexOf(gram) >= 0) {
+                continue;
+            }
+            byte[] bytes = gram.getBytes(StandardCharsets.UTF_8);
+            if (total + bytes.length > maxSize) {
+                break;
+            }
+            selected.add(bytes);
+            selectedText.append(gram);
+            total += bytes.length;
+        }
+
+        // 4. 低频片段在前、高频片段在后
+        ByteArrayOutputStream out = new ByteArrayOutputStream(total);
+        for (int i = selected.size() - 1; i >= 0; i--) {
+            out.writeBytes(selected.get(i));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 过滤纯空白片段
+     */
+    private static boolean isUseful(String gram) {
+        for (int i = 0; i < gram.length(); i++) {
+            if (!Character.isWhitespace(gram.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
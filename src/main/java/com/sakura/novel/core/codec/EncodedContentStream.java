@@ -0,0 +1,141 @@
+package com.sakura.novel.core.codec;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.IntFunction;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 以流方式读取的章节正文
+ * 打开时只解析 {@link ChapterContentCodec} 的 16 字节头部，正文负载保持为流，
+ * 可按 UTF-8 原文流式解压输出，也可在未使用字典的 Deflate 数据外直接套上 gzip 头尾输出，无需重新压缩。
+ */
+public final class EncodedContentStream implements Closeable {
+
+    /** 迁移前以纯文本存储的数据 */
+    public static final int CODEC_PLAIN = -1;
+
+    private static final int GZIP_HEADER_SIZE = 10;
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private final InputStream payload;
+    private final int codec;
+    private final int dictId;
+    private final int rawLength;
+    private final int crc32;
+    private final long payloadLength;
+    private final IntFunction<byte[]> dictResolver;
+
+    private EncodedContentStream(InputStream payload, int codec, int dictId, int rawLength, int crc32,
+                                 long payloadLength, IntFunction<byte[]> dictResolver) {
+        this.payload = payload;
+        this.codec = codec;
+        this.dictId = dictId;
+        this.rawLength = rawLength;
+        this.crc32 = crc32;
+        this.payloadLength = payloadLength;
+        this.dictResolver = dictResolver;
+    }
+
+    /**
+     * 打开存储字节流并解析头部
+     *
+     * @param in           存储的字节流（带头部的编码数据或纯文本）
+     * @param length       存储字节总数，未知时为 -1（此时纯文本数据无法确定长度）
+     * @param dictResolver 按字典ID查找字典
+     */
+    public static EncodedContentStream open(InputStream in, long length, IntFunction<byte[]> dictResolver) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 8192);
+        buffered.mark(ChapterContentCodec.HEADER_SIZE);
+        byte[] head = buffered.readNBytes(ChapterContentCodec.HEADER_SIZE);
+        if (!ChapterContentCodec.isEncoded(head)) {
+            buffered.reset();
+            return new EncodedContentStream(buffered, CODEC_PLAIN, 0, (int) length, 0, length, dictResolver);
+        }
+        ByteBuffer header = ByteBuffer.wrap(head, 3, ChapterContentCodec.HEADER_SIZE - 3);
+        int codec = header.get();
+        int dictId = header.getInt();
+        int rawLength = header.getInt();
+        int crc32 = header.getInt();
+        long payloadLength = length < 0 ? -1 : length - ChapterContentCodec.HEADER_SIZE;
+        return new EncodedContentStream(buffered, codec, dictId, rawLength, crc32, payloadLength, dictResolver);
+    }
+
+    /**
+     * UTF-8 原文字节数，未知时为 -1
+     */
+    public int getRawLength() {
+        return rawLength;
+    }
+
+    /**
+     * 是否可以直接作为 gzip 输出（未使用字典的 Deflate 数据且长度已知）
+     */
+    public boolean isGzipCompatible() {
+        return codec == ChapterContentCodec.CODEC_DEFLATE && dictId == 0 && payloadLength >= 0;
+    }
+
+    /**
+     * gzip 输出的总字节数
+     */
+    public long getGzipLength() {
+        return GZIP_HEADER_SIZE + payloadLength + GZIP_TRAILER_SIZE;
+    }
+
+    /**
+     * 返回 UTF-8 原文流；Deflate 数据边读边解压，不在内存中展开全文
+     */
+    public InputStream decoded() {
+        if (codec == CODEC_PLAIN || codec == ChapterContentCodec.CODEC_RAW) {
+            return payload;
+        }
+        if (codec != ChapterContentCodec.CODEC_DEFLATE) {
+            throw new IllegalStateException("未知的章节正文编码: " + codec);
+        }
+        Inflater inflater = new Inflater(true);
+        if (dictId != 0) {
+            byte[] dictionary = dictResolver.apply(dictId);
+            if (dictionary == null) {
+                inflater.end();
+                throw new IllegalStateException("章节正文解压失败：缺少字典 " + dictId);
+            }
+            inflater.setDictionary(dictionary);
+        }
+        return new InflaterInputStream(payload, inflater, 8192) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * 以 gzip 格式输出：gzip 头 + 原样复制的 Deflate 数据 + CRC32 与原文长度
+     */
+    public void writeGzip(OutputStream out) throws IOException {
+        if (!isGzipCompatible()) {
+            throw new IllegalStateException("正文编码不支持直接输出 gzip");
+        }
+        // ID1 ID2 CM=8(deflate) FLG=0 MTIME=0 XFL=0 OS=255(unknown)
+        out.write(new byte[]{0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff});
+        payload.transferTo(out);
+        ByteBuffer trailer = ByteBuffer.allocate(GZIP_TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        trailer.putInt(crc32).putInt(rawLength);
+        out.write(trailer.array());
+    }
+
+    @Override
+    public void close() throws IOException {
+        payload.close();
+    }
+}
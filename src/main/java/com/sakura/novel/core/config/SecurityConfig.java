@@ -3,6 +3,7 @@ package com.sakura.novel.core.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -28,6 +29,7 @@ public class SecurityConfig {
                 // 配置请求授权规则
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/bookshelf/**").authenticated() // 需要登录才能访问的接口
+                        .requestMatchers(HttpMethod.POST, "/api/monitor/**").authenticated() // 监控中的运维操作（如重建布隆过滤器）需要登录
                         .anyRequest().permitAll() // 其他所有请求都允许
                 )
                 // 禁用 CSRF
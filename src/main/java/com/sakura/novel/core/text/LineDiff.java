@@ -0,0 +1,235 @@
+package com.sakura.novel.core.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按行（小说正文即段落）计算文本差异
+ * 使用 Myers O(ND) 算法求最短编辑脚本：先去掉相同的首尾行，行内容映射为整数后比较，
+ * 编辑数超过上限时放弃（调用方改存全文）。补丁为纯文本，由若干指令行组成：
+ * <pre>
+ * =n        保留基准文本接下来的 n 行
+ * -n        跳过基准文本接下来的 n 行
+ * +n        插入其后的 n 行
+ * </pre>
+ * 文本按 '\n' 切分且保留末尾空行，应用补丁后与目标文本逐字符一致。
+ */
+public final class LineDiff {
+
+    private LineDiff() {
+    }
+
+    /**
+     * 计算把 base 变为 target 的补丁
+     *
+     * @param maxEdits 编辑（插入或删除的行）数上限
+     * @return 补丁，两者相同时为空字符串；编辑数超过上限时返回 null
+     */
+    public static String diff(String base, String target, int maxEdits) {
+        String[] a = base.split("\n", -1);
+        String[] b = target.split("\n", -1);
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+        if (prefix == a.length && prefix == b.length) {
+            return "";
+        }
+
+        // 中间部分的行映射为整数，比较时不再逐字符对比
+        Map<String, Integer> ids = new HashMap<>();
+        int[] x = toIds(a, prefix, a.length - suffix, ids);
+        int[] y = toIds(b, prefix, b.length - suffix, ids);
+        byte[] script = editScript(x, y, maxEdits);
+        if (script == null) {
+            return null;
+        }
+
+        Patch patch = new Patch();
+        patch.run('=', prefix);
+        int j = prefix;
+        for (byte op : script) {
+            if (op == '+') {
+                patch.insert(b[j++]);
+            } else {
+                if (op == '=') {
+                    j++;
+                }
+                patch.run((char) op, 1);
+            }
+        }
+        patch.run('=', suffix);
+        return patch.toString();
+    }
+
+    /**
+     * 把补丁应用到基准文本
+     *
+     * @throws IllegalArgumentException 补丁与基准文本不匹配
+     */
+    public static String apply(String base, String patch) {
+        if (patch.isEmpty()) {
+            return base;
+        }
+        String[] lines = base.split("\n", -1);
+        String[] commands = patch.split("\n", -1);
+        List<String> result = new ArrayList<>(lines.length);
+        int position = 0;
+        int i = 0;
+        while (i < commands.length) {
+            String command = commands[i++];
+            int count = Integer.parseInt(command, 1, command.length(), 10);
+            switch (command.charAt(0)) {
+                case '=' -> {
+                    if (position + count > lines.length) {
+                        throw new IllegalArgumentException("补丁与基准文本不匹配");
+                    }
+                    result.addAll(Arrays.asList(lines).subList(position, position + count));
+                    position += count;
+                }
+                case '-' -> position += count;
+                case '+' -> {
+                    if (i + count > commands.length) {
+                        throw new IllegalArgumentException("补丁格式错误");
+                    }
+                    result.addAll(Arrays.asList(commands).subList(i, i + count));
+                    i += count;
+                }
+                default -> throw new IllegalArgumentException("补丁格式错误");
+            }
+        }
+        if (position != lines.length) {
+            throw new IllegalArgumentException("补丁与基准文本不匹配");
+        }
+        return String.join("\n", result);
+    }
+
+    private static int[] toIds(String[] lines, int from, int to, Map<String, Integer> ids) {
+        int[] result = new int[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = ids.computeIfAbsent(lines[i], line -> ids.size());
+        }
+        return result;
+    }
+
+    /**
+     * Myers 最短编辑脚本
+     *
+     * @return 按顺序排列的操作（'=' 保留、'-' 删除 a 的一行、'+' 插入 b 的一行），超过上限时返回 null
+     */
+    private static byte[] editScript(int[] a, int[] b, int maxEdits) {
+        int n = a.length;
+        int m = b.length;
+        int max = n + m;
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        // 每一步 d 结束后的 v[-d..d]，回溯时使用
+        List<int[]> trace = new ArrayList<>();
+        int edits = -1;
+        for (int d = 0; d <= Math.min(max, maxEdits) && edits < 0; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])
+                        ? v[offset + k + 1] : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a[x] == b[y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    edits = d;
+                    break;
+                }
+            }
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+        }
+        if (edits < 0) {
+            return null;
+        }
+
+        int length = 0;
+        int x = n;
+        int y = m;
+        byte[] reversed = new byte[n + m];
+        for (int d = edits; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            boolean down = k == -d || (k != d && previous[k - 1 + d - 1] < previous[k + 1 + d - 1]);
+            int previousK = down ? k + 1 : k - 1;
+            int previousX = previous[previousK + d - 1];
+            int startX = down ? previousX : previousX + 1;
+            while (x > startX) {
+                reversed[length++] = '=';
+                x--;
+                y--;
+            }
+            reversed[length++] = down ? (byte) '+' : (byte) '-';
+            x = previousX;
+            y = previousX - previousK;
+        }
+        while (x > 0) {
+            reversed[length++] = '=';
+            x--;
+        }
+        byte[] script = new byte[length];
+        for (int i = 0; i < length; i++) {
+            script[i] = reversed[length - 1 - i];
+        }
+        return script;
+    }
+
+    /**
+     * 补丁构建器：相邻的同类指令合并
+     */
+    private static final class Patch {
+        private final StringBuilder builder = new StringBuilder();
+        private final List<String> inserted = new ArrayList<>();
+        private char op;
+        private int count;
+
+        void run(char op, int count) {
+            if (count == 0) {
+                return;
+            }
+            if (this.op != op) {
+                flush();
+                this.op = op;
+            }
+            this.count += count;
+        }
+
+        void insert(String line) {
+            run('+', 1);
+            inserted.add(line);
+        }
+
+        private void flush() {
+            if (count == 0) {
+                return;
+            }
+            if (!builder.isEmpty()) {
+                builder.append('\n');
+            }
+            builder.append(op).append(count);
+            for (String line : inserted) {
+                builder.append('\n').append(line);
+            }
+            inserted.clear();
+            count = 0;
+        }
+
+        @Override
+        public String toString() {
+            flush();
+            return builder.toString();
+        }
+    }
+}
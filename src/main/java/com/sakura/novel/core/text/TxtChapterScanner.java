@@ -0,0 +1,144 @@
+package com.sakura.novel.core.text;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 整本 TXT 小说的章节切分扫描器
+ * 在（通常为内存映射的）字节缓冲区上逐行扫描，只有以“第”开头的短行才解码为字符串匹配章节标题，
+ * 正文保持为字节区间，章节结束时直接在字节上统计字数，整个文件不会被解码为一个字符串。
+ * 支持 UTF-8（可带 BOM）与 GBK 编码。
+ */
+public final class TxtChapterScanner {
+
+    /**
+     * 章节标题：第 + 阿拉伯或中文数字 + 章/回/节，后接可选的标题文字
+     */
+    private static final Pattern HEADING = Pattern.compile("^第\\s*[0-9０-９零〇一二两三四五六七八九十百千万]+\\s*[章回节](\\s.*|[^0-9].*)?$");
+
+    /**
+     * 超过该字节数的行不会是章节标题
+     */
+    private static final int MAX_HEADING_BYTES = 200;
+
+    private TxtChapterScanner() {
+    }
+
+    /**
+     * 切分出的章节
+     *
+     * @param title     标题行（去除首尾空白）
+     * @param bodyStart 正文起始字节位置（含）
+     * @param bodyEnd   正文结束字节位置（不含）
+     * @param wordCount 正文字数
+     */
+    public record Section(String title, int bodyStart, int bodyEnd, int wordCount) {
+    }
+
+    /**
+     * 扫描结果
+     *
+     * @param sections      按出现顺序排列的章节
+     * @param preambleBytes 第一个章节标题之前的字节数（书名、简介等）
+     */
+    public record ScanResult(List<Section> sections, int preambleBytes) {
+    }
+
+    public static boolean isSupported(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || "GBK".equals(charset.name());
+    }
+
+    /**
+     * 扫描缓冲区 [0, limit) 中的章节
+     */
+    public static ScanResult scan(ByteBuffer buffer, Charset charset) {
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("不支持的编码: " + charset);
+        }
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+        byte[] marker = "第".getBytes(charset);
+        byte[] fullWidthSpace = "　".getBytes(charset);
+        int limit = buffer.limit();
+        int pos = utf8 && limit >= 3 && (buffer.get(0) & 0xff) == 0xef
+                && (buffer.get(1) & 0xff) == 0xbb && (buffer.get(2) & 0xff) == 0xbf ? 3 : 0;
+
+        List<Section> sections = new ArrayList<>();
+        String title = null;
+        int bodyStart = 0;
+        int preambleBytes = 0;
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            String heading = lineEnd - pos <= MAX_HEADING_BYTES
+                    ? heading(buffer, pos, lineEnd, charset, marker, fullWidthSpace) : null;
+            if (heading != null) {
+                if (title != null) {
+                    sections.add(new Section(title, bodyStart, pos, countWords(buffer, bodyStart, pos, utf8)));
+                } else {
+                    preambleBytes = pos;
+                }
+                title = heading;
+                bodyStart = Math.min(lineEnd + 1, limit);
+            }
+            pos = lineEnd + 1;
+        }
+        if (title != null) {
+            sections.add(new Section(title, bodyStart, limit, countWords(buffer, bodyStart, limit, utf8)));
+        } else {
+            preambleBytes = limit;
+        }
+        return new ScanResult(sections, preambleBytes);
+    }
+
+    /**
+     * 解码章节正文
+     */
+    public static String body(ByteBuffer buffer, Section section, Charset charset) {
+        return charset.decode(buffer.slice(section.bodyStart(), section.bodyEnd() - section.bodyStart()))
+                .toString().strip();
+    }
+
+    private static int countWords(ByteBuffer buffer, int from, int to, boolean utf8) {
+        return utf8 ? WordCounter.countUtf8(buffer, from, to) : WordCounter.countGbk(buffer, from, to);
+    }
+
+    /**
+     * 行首（跳过空白后）为“第”时解码该行并匹配章节标题，不是标题时返回 null
+     */
+    private static String heading(ByteBuffer buffer, int from, int to, Charset charset, byte[] marker, byte[] fullWidthSpace) {
+        int start = from;
+        while (start < to) {
+            byte b = buffer.get(start);
+            if (b == ' ' || b == '\t' || b == '\r') {
+                start++;
+            } else if (startsWith(buffer, start, to, fullWidthSpace)) {
+                start += fullWidthSpace.length;
+            } else {
+                break;
+            }
+        }
+        if (!startsWith(buffer, start, to, marker)) {
+            return null;
+        }
+        String line = charset.decode(buffer.slice(start, to - start)).toString().strip();
+        return HEADING.matcher(line).matches() ? line : null;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(from + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sakura.novel.core.text;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 基于 JDK Vector API 的字数统计，计数规则与 {@link WordCounter} 的标量实现一致
+ * 每次装载一整个向量宽度的字符（或字节），用比较得到“非 ASCII 字符”与“ASCII 字母数字”两个掩码：
+ * 前者直接计数，后者转为位图后用 bits & ~(bits << 1 | 进位) 找出单词起点再计数，进位衔接相邻向量。
+ * 只有加载了 jdk.incubator.vector 模块时才会被 {@link WordCounter} 调用。
+ */
+final class VectorWordCounter {
+
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * 每次从字符串或缓冲区复制到数组的长度
+     */
+    private static final int CHUNK = 4096;
+
+    private VectorWordCounter() {
+    }
+
+    static int count(String text) {
+        int length = text.length();
+        char[] chunk = new char[Math.min(CHUNK, length)];
+        int lanes = SHORTS.length();
+        int count = 0;
+        boolean inWord = false;
+        for (int offset = 0; offset < length; offset += chunk.length) {
+            int size = Math.min(chunk.length, length - offset);
+            text.getChars(offset, offset + size, chunk, 0);
+            int upper = SHORTS.loopBound(size);
+            long carry = inWord ? 1 : 0;
+            int i = 0;
+            for (; i < upper; i += lanes) {
+                ShortVector v = ShortVector.fromCharArray(SHORTS, chunk, i);
+                VectorMask<Short> nonAscii = v.and((short) 0xff80).compare(VectorOperators.NE, 0);
+                VectorMask<Short> lowSurrogate = v.and((short) 0xfc00).compare(VectorOperators.EQ, (short) 0xdc00);
+                VectorMask<Short> fullWidthSpace = v.compare(VectorOperators.EQ, (short) 0x3000);
+                count += nonAscii.andNot(lowSurrogate).andNot(fullWidthSpace).trueCount();
+
+                ShortVector lower = v.or((short) 0x20);
+                VectorMask<Short> alnum = lower.compare(VectorOperators.GE, (short) 'a')
+                        .and(lower.compare(VectorOperators.LE, (short) 'z'))
+                        .or(v.compare(VectorOperators.GE, (short) '0').and(v.compare(VectorOperators.LE, (short) '9')));
+                long bits = alnum.toLong();
+                count += Long.bitCount(bits & ~((bits << 1) | carry));
+                carry = (bits >>> (lanes - 1)) & 1;
+            }
+            int tail = WordCounter.countScalar(text, offset + i, offset + size, carry != 0);
+            count += tail & Integer.MAX_VALUE;
+            inWord = tail < 0;
+        }
+        return count;
+    }
+
+    static int countUtf8(ByteBuffer buffer, int from, int to) {
+        byte[] chunk = new byte[Math.min(CHUNK, to - from)];
+        int lanes = BYTES.length();
+        int count = 0;
+        boolean inWord = false;
+        for (int offset = from; offset < to; offset += chunk.length) {
+            int size = Math.min(chunk.length, to - offset);
+            buffer.get(offset, chunk, 0, size);
+            int upper = BYTES.loopBound(size);
+            long carry = inWord ? 1 : 0;
+            int i = 0;
+            for (; i < upper; i += lanes) {
+                ByteVector v = ByteVector.fromArray(BYTES, chunk, i);
+                // 多字节字符只在首字节（11xxxxxx）计数
+                VectorMask<Byte> lead = v.and((byte) 0xc0).compare(VectorOperators.EQ, (byte) 0xc0);
+                count += lead.trueCount();
+                // E3 开头的字符（中文标点、假名等）中排除全角空格 E3 80 80
+                VectorMask<Byte> e3 = v.compare(VectorOperators.EQ, (byte) 0xe3);
+                if (e3.anyTrue()) {
+                    long lanesE3 = e3.toLong();
+                    while (lanesE3 != 0) {
+                        int lane = Long.numberOfTrailingZeros(lanesE3);
+                        lanesE3 &= lanesE3 - 1;
+                        if (WordCounter.isFullWidthSpace(buffer, offset + i + lane, to)) {
+                            count--;
+                        }
+                    }
+                }
+
+                ByteVector lower = v.or((byte) 0x20);
+                VectorMask<Byte> alnum = lower.compare(VectorOperators.GE, (byte) 'a')
+                        .and(lower.compare(VectorOperators.LE, (byte) 'z'))
+                        .or(v.compare(VectorOperators.GE, (byte) '0').and(v.compare(VectorOperators.LE, (byte) '9')));
+                long bits = alnum.toLong();
+                count += Long.bitCount(bits & ~((bits << 1) | carry));
+                carry = (bits >>> (lanes - 1)) & 1;
+            }
+            int tail = WordCounter.countUtf8Scalar(buffer, offset + i, offset + size, to, carry != 0);
+            count += tail & Integer.MAX_VALUE;
+            inWord = tail < 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,154 @@
+package com.sakura.novel.core.text;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 章节字数统计
+ * 计数规则：每个非 ASCII 字符（汉字、假名、中文标点、全角字符等）计 1，连续的 ASCII 字母数字计为 1 个单词，
+ * ASCII 标点与空白（含全角空格）不计。UTF-16 字符串与 UTF-8 字节均可直接统计，无需解码。
+ * 运行时加载了 jdk.incubator.vector 模块时，较长的输入使用 {@link VectorWordCounter} 按 SIMD 宽度批量分类，
+ * 否则使用标量实现，两者结果一致。
+ */
+public final class WordCounter {
+
+    /**
+     * 短于该长度的输入直接走标量实现，向量化的准备开销不划算
+     */
+    static final int VECTOR_THRESHOLD = 64;
+
+    private static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private WordCounter() {
+    }
+
+    /**
+     * 是否使用向量化实现（需以 --add-modules jdk.incubator.vector 启动）
+     */
+    public static boolean isVectorized() {
+        return VECTOR_AVAILABLE;
+    }
+
+    /**
+     * 统计字符串字数
+     */
+    public static int count(String text) {
+        if (text == null) {
+            return 0;
+        }
+        return VECTOR_AVAILABLE && text.length() >= VECTOR_THRESHOLD ? VectorWordCounter.count(text) : countScalar(text);
+    }
+
+    /**
+     * 统计 UTF-8 字节区间 [from, to) 的字数
+     */
+    public static int countUtf8(ByteBuffer buffer, int from, int to) {
+        return VECTOR_AVAILABLE && to - from >= VECTOR_THRESHOLD
+                ? VectorWordCounter.countUtf8(buffer, from, to) : countUtf8Scalar(buffer, from, to);
+    }
+
+    /**
+     * 统计 GBK 字节区间 [from, to) 的字数：ASCII 单字节，其余为双字节字符
+     */
+    public static int countGbk(ByteBuffer buffer, int from, int to) {
+        int count = 0;
+        boolean inWord = false;
+        int i = from;
+        while (i < to) {
+            int b = buffer.get(i) & 0xff;
+            if (b < 0x80) {
+                boolean alnum = isAsciiAlnum(b);
+                if (alnum && !inWord) {
+                    count++;
+                }
+                inWord = alnum;
+                i++;
+            } else {
+                inWord = false;
+                // 全角空格 = A1 A1
+                if (!(b == 0xa1 && i + 1 < to && (buffer.get(i + 1) & 0xff) == 0xa1)) {
+                    count++;
+                }
+                i += 2;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 标量实现：逐个 UTF-16 字符分类，代理对只在高位计数
+     */
+    public static int countScalar(CharSequence text) {
+        return countScalar(text, 0, text.length(), false) & Integer.MAX_VALUE;
+    }
+
+    /**
+     * 标量实现：逐字节分类，多字节字符只在首字节计数
+     */
+    public static int countUtf8Scalar(ByteBuffer buffer, int from, int to) {
+        return countUtf8Scalar(buffer, from, to, to, false) & Integer.MAX_VALUE;
+    }
+
+    /**
+     * 统计 [from, to) 的字数
+     *
+     * @param inWord 区间之前是否处于 ASCII 单词中
+     * @return 字数；区间结束时仍处于单词中时最高位为 1，供分段统计衔接
+     */
+    static int countScalar(CharSequence text, int from, int to, boolean inWord) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                boolean alnum = isAsciiAlnum(c);
+                if (alnum && !inWord) {
+                    count++;
+                }
+                inWord = alnum;
+            } else {
+                inWord = false;
+                if (!Character.isLowSurrogate(c) && c != '　') {
+                    count++;
+                }
+            }
+        }
+        return inWord ? count | Integer.MIN_VALUE : count;
+    }
+
+    /**
+     * 与 {@link #countScalar(CharSequence, int, int, boolean)} 相同，输入为 UTF-8 字节
+     *
+     * @param limit 缓冲区有效数据的结束位置，用于判断跨越区间末尾的全角空格
+     */
+    static int countUtf8Scalar(ByteBuffer buffer, int from, int to, int limit, boolean inWord) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int b = buffer.get(i) & 0xff;
+            if (b < 0x80) {
+                boolean alnum = isAsciiAlnum(b);
+                if (alnum && !inWord) {
+                    count++;
+                }
+                inWord = alnum;
+            } else {
+                inWord = false;
+                if ((b & 0xc0) == 0xc0 && !isFullWidthSpace(buffer, i, limit)) {
+                    count++;
+                }
+            }
+        }
+        return inWord ? count | Integer.MIN_VALUE : count;
+    }
+
+    /**
+     * position 处是否为 UTF-8 编码的全角空格 U+3000（E3 80 80）
+     */
+    static boolean isFullWidthSpace(ByteBuffer buffer, int position, int to) {
+        return position + 2 < to && (buffer.get(position) & 0xff) == 0xe3
+                && (buffer.get(position + 1) & 0xff) == 0x80 && (buffer.get(position + 2) & 0xff) == 0x80;
+    }
+
+    private static boolean isAsciiAlnum(int c) {
+        int lower = c | 0x20;
+        return (lower >= 'a' && lower <= 'z') || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,271 @@
+package com.sakura.novel.core.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分层时间轮
+ * 第一层每格 tickMs、共 wheelSize 格，上一层的格宽等于下一层一整圈的跨度，超出当前层范围的任务放入按需创建的上层，
+ * 添加与取消任务都是 O(1) 的链表操作。只有非空的格子进入 DelayQueue，等待线程直接睡到最近一个格子到期，
+ * 不会逐格空转；上层格子到期后，其中的任务按剩余时间降级到下层，最终在第一层到期。
+ * 任务按到期时间向上取整到 tickMs 的整数倍放入，因此不会早于到期时间被取出，最多晚一个 tickMs。
+ * 内部状态由一把锁保护，{@link #poll} 通常由单个工作线程调用。
+ */
+public final class TimingWheel<T> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final DelayQueue<Bucket<T>> queue = new DelayQueue<>();
+    private final Level root;
+    private volatile int size;
+
+    public TimingWheel(long tickMs, int wheelSize) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tickMs 必须为正数且 wheelSize 大于 1");
+        }
+        this.root = new Level(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param deadlineMs 到期时间（毫秒时间戳）
+     * @return 任务句柄，用于取消；到期时间不晚于时间轮当前时间时返回 null，由调用方立即处理
+     */
+    public Timeout<T> schedule(T item, long deadlineMs) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineMs, deadlineMs + root.tickMs - 1);
+        lock.lock();
+        try {
+            if (!root.add(timeout)) {
+                return null;
+            }
+            size++;
+            return timeout;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 取消任务
+     *
+     * @return 任务仍在时间轮中并被移除时返回 true
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            Bucket<T> bucket = timeout.bucket;
+            if (bucket == null) {
+                return false;
+            }
+            bucket.remove(timeout);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 最多等待 maxWaitMs，取出全部到期任务
+     *
+     * @return 到期任务，等待超时时为空列表
+     */
+    public List<T> poll(long maxWaitMs) throws InterruptedException {
+        Bucket<T> bucket = queue.poll(maxWaitMs, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (bucket != null) {
+                root.advanceClock(bucket.expiration);
+                // 上层格子中的任务降级到下层，已不足一格的任务到期
+                for (Timeout<T> timeout : bucket.flush()) {
+                    if (!root.add(timeout)) {
+                        size--;
+                        expired.add(timeout.item);
+                    }
+                }
+                bucket = queue.poll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    /**
+     * 时间轮中的任务数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 已创建的层数
+     */
+    public int levels() {
+        lock.lock();
+        try {
+            int levels = 0;
+            for (Level level = root; level != null; level = level.overflow) {
+                levels++;
+            }
+            return levels;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 任务句柄
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadline;
+        /**
+         * 放入时间轮使用的时间：到期时间加上 tickMs - 1，格子按起点到期时恰好不早于到期时间
+         */
+        private final long expiration;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadline, long expiration) {
+            this.item = item;
+            this.deadline = deadline;
+            this.expiration = expiration;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+    }
+
+    /**
+     * 一层时间轮
+     */
+    private final class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket<T>[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startMs - startMs % tickMs;
+        }
+
+        /**
+         * @return 已不足一格（应立即到期）时返回 false
+         */
+        boolean add(Timeout<T> timeout) {
+            long deadline = timeout.expiration;
+            if (deadline < currentTime + tickMs) {
+                return false;
+            }
+            if (deadline < currentTime + interval) {
+                long virtualId = deadline / tickMs;
+                Bucket<T> bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(timeout);
+                // 格子为空（不在队列中）时才会设置新的到期时间，此时加入队列
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - timeMs % tickMs;
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * 时间格：带哨兵的双向链表
+     */
+    private static final class Bucket<T> implements Delayed {
+        private final Timeout<T> head = new Timeout<>(null, -1, -1);
+        private volatile long expiration = -1;
+
+        Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        boolean setExpiration(long expiration) {
+            if (this.expiration == expiration) {
+                return false;
+            }
+            this.expiration = expiration;
+            return true;
+        }
+
+        /**
+         * 取出格子中的全部任务并重置到期时间
+         */
+        List<Timeout<T>> flush() {
+            List<Timeout<T>> timeouts = new ArrayList<>();
+            while (head.next != head) {
+                Timeout<T> timeout = head.next;
+                remove(timeout);
+                timeouts.add(timeout);
+            }
+            expiration = -1;
+            return timeouts;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiration - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((Bucket<?>) other).expiration);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 书籍级联删除任务实体类
+ * 删除书籍时与书籍行在同一事务中写入（即墓碑），章节及书架、统计、榜单等依赖数据由后台任务按主键顺序分批删除；
+ * 仅删除书籍章节时范围限定为提交时已存在的章节
+ */
+@Data
+public class BookDeletionJob {
+
+    /** 删除书籍及全部依赖数据 */
+    public static final String SCOPE_BOOK = "book";
+    /** 只删除书籍的章节 */
+    public static final String SCOPE_CHAPTERS = "chapters";
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_DONE = "done";
+
+    private Long id;
+    private Integer bookId;
+    private String scope;
+    /**
+     * 章节ID上限（含），为 null 表示不限
+     */
+    private Integer maxChapterId;
+    private String status;
+    /**
+     * 当前删除阶段
+     */
+    private String stage;
+    /**
+     * 章节阶段已删除到的章节ID，任务中断后从这里继续
+     */
+    private Integer lastChapterId;
+    private Long deletedChapters;
+    /**
+     * 章节以外已删除的依赖行数
+     */
+    private Long deletedRows;
+    /**
+     * 最近一次失败的原因，成功处理一批后清空
+     */
+    private String error;
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+    private LocalDateTime finishTime;
+
+    public static BookDeletionJob of(Integer bookId, String scope, Integer maxChapterId) {
+        LocalDateTime now = LocalDateTime.now();
+        BookDeletionJob job = new BookDeletionJob();
+        job.setBookId(bookId);
+        job.setScope(scope);
+        job.setMaxChapterId(maxChapterId);
+        job.setStatus(STATUS_PENDING);
+        job.setLastChapterId(0);
+        job.setDeletedChapters(0L);
+        job.setDeletedRows(0L);
+        job.setCreateTime(now);
+        job.setUpdateTime(now);
+        return job;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sakura.novel.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -16,8 +17,19 @@ public class Chapter {
     private Integer chapterNumber;
     private String title;
     private String content;
+    /**
+     * 正文在对象存储中的键，为空表示正文仍保存在 content 列（迁移前数据）；只由服务端写入，请求中提交的值被忽略
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String contentKey;
+    /**
+     * 规范化后正文 UTF-8 字节的 SHA-256（十六进制），用于判断正文是否修改；只由服务端写入
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String contentHash;
     private Integer wordCount;
     private Boolean isVip;
     private LocalDateTime publishedTime;
     private LocalDateTime createTime;
+    private LocalDateTime updateTime;
 }
@@ -0,0 +1,28 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 章节正文对象实体类
+ * 以原文的 SHA-256 为主键记录正文对象，正文逐字相同的章节共用同一个对象，
+ * ref_count 为引用该对象的章节数，降为 0 时删除记录与对象。
+ * 启用去重前写入的对象没有对应记录，仍按章节独占处理
+ */
+@Data
+public class ChapterBlob {
+
+    private String contentHash;
+    /**
+     * 对象键，格式与章节独占对象相同：chapters/{首次写入的书籍ID}/{uuid}
+     */
+    private String contentKey;
+    private Integer refCount;
+    /**
+     * 对象的字节数（编码后）
+     */
+    private Integer storedLength;
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+}
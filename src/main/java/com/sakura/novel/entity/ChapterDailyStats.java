@@ -0,0 +1,22 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 章节每日阅读统计实体类
+ * 每本书、每天、每个章节号一行，由 Redis 中的当日计数汇总写入，用于统计读者在哪一章流失
+ */
+@Data
+public class ChapterDailyStats {
+
+    private Long id;
+    private Integer bookId;
+    private LocalDate statDate;
+    private Integer chapterNumber;
+    private Long readCount;
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+}
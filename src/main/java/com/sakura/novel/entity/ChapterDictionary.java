@@ -0,0 +1,19 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 章节正文压缩字典实体类
+ * 每本书可按样本章节训练一份 Deflate 预置字典，压缩数据头部记录所用字典ID
+ */
+@Data
+public class ChapterDictionary {
+
+    private Integer id;
+    private Integer bookId;
+    private byte[] dictionary;
+    private Integer sampleCount;
+    private LocalDateTime createTime;
+}
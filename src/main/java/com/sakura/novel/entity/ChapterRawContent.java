@@ -0,0 +1,25 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 章节正文的原始存储字节（不经过正文编解码），用于压缩迁移与正文流式输出
+ */
+@Data
+public class ChapterRawContent {
+
+    private Integer id;
+    private Integer bookId;
+    /**
+     * 章节号，仅流式输出查询时填充
+     */
+    private Integer chapterNumber;
+    private byte[] content;
+    /**
+     * 正文对象键，非空时正文保存在对象存储中
+     */
+    private String contentKey;
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,44 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 章节历史版本实体类
+ * 章节正文或标题被修改时，修改前的版本存为一条记录；最新版本的全文只保存在章节表。
+ * 历史版本默认存为相对下一个较新版本的反向行差异，每隔固定版本数（或差异过大时）存一份全文快照，
+ * 重建任一版本最多从最近的较新快照（或当前正文）依次应用有限个差异
+ */
+@Data
+public class ChapterRevision {
+
+    /** data 为该版本的完整正文 */
+    public static final String KIND_SNAPSHOT = "snapshot";
+    /** data 为把下一个较新版本变为该版本的补丁 */
+    public static final String KIND_DIFF = "diff";
+
+    private Long id;
+    private Integer chapterId;
+    /**
+     * 版本号，从 1 开始递增；当前正文的版本号为最大版本号加一
+     */
+    private Integer revision;
+    private String title;
+    private Integer wordCount;
+    private String contentHash;
+    private String kind;
+    /**
+     * {@link com.sakura.novel.core.codec.ChapterContentCodec} 编码的全文或补丁，列表查询时不加载
+     */
+    private byte[] data;
+    /**
+     * 该版本正文的 UTF-8 字节数
+     */
+    private Integer contentLength;
+    /**
+     * data 的字节数
+     */
+    private Integer storedLength;
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,37 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 定时发布章节实体类
+ * 到达发布时间前章节只保存在该表中，读者不可见；到期后写入章节表，行状态改为已发布并记录生成的章节ID
+ */
+@Data
+public class ChapterSchedule {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_RELEASED = "released";
+    public static final String STATUS_CANCELLED = "cancelled";
+    public static final String STATUS_FAILED = "failed";
+
+    private Long id;
+    private Integer bookId;
+    private Integer chapterNumber;
+    private String title;
+    private String content;
+    private Boolean isVip;
+    private LocalDateTime releaseTime;
+    private String status;
+    /**
+     * 发布后生成的章节ID
+     */
+    private Integer chapterId;
+    /**
+     * 发布失败的原因
+     */
+    private String error;
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,27 @@
+package com.sakura.novel.entity;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 章节目录变更日志实体类
+ * 章节新增、删除或目录字段（章节号、标题、VIP 标记、所属书籍）变更时记录一条，
+ * tocVersion 为变更后书籍的目录版本，客户端据此增量同步目录
+ */
+@Data
+public class ChapterTocChange {
+
+    public static final String OP_UPSERT = "upsert";
+    public static final String OP_DELETE = "delete";
+
+    private Long id;
+    private Integer bookId;
+    private Long tocVersion;
+    private String op;
+    private Integer chapterId;
+    private Integer chapterNumber;
+    private String title;
+    private Boolean isVip;
+    private LocalDateTime createTime;
+}
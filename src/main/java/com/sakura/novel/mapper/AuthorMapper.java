@@ -4,6 +4,7 @@ import com.sakura.novel.entity.Author;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -37,6 +38,11 @@ public interface AuthorMapper {
      */
     Author selectByUserId(@Param("userId") Integer userId);
 
+    /**
+     * 根据ID列表批量查询作者
+     */
+    List<Author> selectByIds(@Param("ids") Collection<Integer> ids);
+
     /**
      * 根据作者名称查询作者（支持模糊搜索）
      */
@@ -100,6 +106,13 @@ public interface AuthorMapper {
                          @Param("totalWordCount") Long totalWordCount,
                          @Param("totalBooks") Integer totalBooks);
 
+    /**
+     * 按增量调整作者总字数与作品数
+     */
+    int addAuthorStats(@Param("id") Integer id,
+                       @Param("wordDelta") long wordDelta,
+                       @Param("bookDelta") int bookDelta);
+
     /**
      * 更新作者粉丝数
      */
@@ -0,0 +1,60 @@
+package com.sakura.novel.mapper;
+
+import com.sakura.novel.entity.BookDeletionJob;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 书籍级联删除任务数据访问层
+ */
+@Mapper
+public interface BookDeletionJobMapper {
+
+    /**
+     * 插入任务
+     */
+    int insert(BookDeletionJob job);
+
+    /**
+     * 更新任务状态与进度
+     */
+    int updateProgress(BookDeletionJob job);
+
+    /**
+     * 查询最久未处理的未完成任务，多个任务轮流推进
+     */
+    BookDeletionJob selectNextUnfinished();
+
+    /**
+     * 根据ID查询任务
+     */
+    BookDeletionJob selectById(@Param("id") Long id);
+
+    /**
+     * 查询书籍最近一次删除任务
+     */
+    BookDeletionJob selectLatestByBookId(@Param("bookId") Integer bookId);
+
+    /**
+     * 查询删除任务尚未完成的书籍ID；任务完成后章节等依赖数据已删除，不再需要墓碑
+     */
+    List<Integer> selectPendingBookIds();
+
+    /**
+     * 查询最近的删除任务
+     */
+    List<BookDeletionJob> selectRecent(@Param("limit") int limit);
+
+    /**
+     * 按主键顺序删除依赖表中属于该书籍的一批行
+     *
+     * @param table   表名，只能传入代码中的常量
+     * @param ordered 表是否有自增主键 id，有则按主键顺序删除
+     */
+    int deleteDependentRows(@Param("table") String table,
+                            @Param("bookId") Integer bookId,
+                            @Param("ordered") boolean ordered,
+                            @Param("limit") int limit);
+}
@@ -8,7 +8,9 @@ import com.sakura.novel.DTO.Response.BookBasicDTO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -29,6 +31,26 @@ public interface BookMapper {
      */
     int deleteById(@Param("id") Integer id);
 
+    /**
+     * 按增量调整书籍字数
+     */
+    int addWordCount(@Param("id") Integer id, @Param("delta") long delta);
+
+    /**
+     * 查询书籍所属作者ID
+     */
+    Integer selectAuthorIdById(@Param("id") Integer id);
+
+    /**
+     * 目录版本加一
+     */
+    int incrementTocVersion(@Param("id") Integer id);
+
+    /**
+     * 查询书籍当前的目录版本，书籍不存在时返回 null
+     */
+    Long selectTocVersion(@Param("id") Integer id);
+
     /**
      * 更新书籍信息
      */
@@ -56,6 +78,11 @@ public interface BookMapper {
      */
     int count();
 
+    /**
+     * 流式扫描全部书籍ID，逐行回调 handler，不在内存中聚合结果
+     */
+    void scanAllIds(ResultHandler<Integer> handler);
+
     // ===== BookBasicDTO 相关查询（轻量级） =====
 
     /**
@@ -63,6 +90,14 @@ public interface BookMapper {
      */
     List<BookBasicDTO> selectBookBasicList();
 
+    /**
+     * 游标分页查询书籍基本信息，返回排在 (updateTime, id) 之后的记录；书籍的排序时间为 COALESCE(update_time, create_time)
+     * updateTime 为 null 时从第一条开始
+     */
+    List<BookBasicDTO> selectBookBasicListAfter(@Param("updateTime") LocalDateTime updateTime,
+                                                @Param("id") Integer id,
+                                                @Param("limit") int limit);
+
     /**
      * 综合搜索书籍基本信息
      */
@@ -76,7 +111,10 @@ public interface BookMapper {
                                                         @Param("isVip") Boolean isVip);
     List<BookInfoRespDto> searchBooks(@Param("bookSearchReqDto") BookSearchReqDto bookSearchReqDto);
 
-    @Select("SELECT b.id, b.title, a.name as authorName, a.id as authorId, b.description, b.cover_image_url as coverImageUrl, b.category_id, c.name as categoryName, c.channel," +
+    /**
+     * 搜索文档查询：书籍关联作者、分类、统计与最新章节
+     */
+    String BOOK_DOCUMENT_SELECT = "SELECT b.id, b.title, a.name as authorName, a.id as authorId, b.description, b.cover_image_url as coverImageUrl, b.category_id, c.name as categoryName, c.channel," +
             "            b.is_vip, b.status as status, b.word_count as wordCount,  " +
             "            bs.last_updated_chapter_id as latestChapterId, c2.title as latestChapterTitle, c2.published_time as latestChapterUpdateTime," +
             "            bs.view_count as viewCount, bs.rating_count as ratingCount, bs.rating_average as ratingAverage, bs.collection_count as collectionCount, bs.recommend_count as recommendCount" +
@@ -84,7 +122,15 @@ public interface BookMapper {
             "            LEFT JOIN authors a ON b.author_id = a.id" +
             "            LEFT JOIN categories c ON b.category_id = c.id" +
             "            LEFT JOIN book_stats bs ON b.id = bs.book_id" +
-            "            LEFT JOIN chapters c2 ON bs.last_updated_chapter_id = c2.id")
+            "            LEFT JOIN chapters c2 ON bs.last_updated_chapter_id = c2.id";
+
+    @Select(BOOK_DOCUMENT_SELECT)
     List<BookDocument> selectAllBooks();
+
+    /**
+     * 查询单本书籍的搜索文档
+     */
+    @Select(BOOK_DOCUMENT_SELECT + " WHERE b.id = #{id}")
+    BookDocument selectBookDocumentById(@Param("id") Integer id);
 }
 
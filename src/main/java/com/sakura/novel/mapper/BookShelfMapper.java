@@ -19,6 +19,20 @@ public interface BookShelfMapper {
      */
     List<BookshelfItemResponse> selectByUserId(@Param("userId") Integer userId);
 
+    /**
+     * 游标分页查询书架列表，返回排在 (lastReadTime, id) 之后的记录
+     *
+     * @param userId       用户ID
+     * @param lastReadTime 上一页最后一条记录的阅读时间，为 null 表示其阅读时间为空
+     * @param id           上一页最后一条记录的ID，为 null 表示从第一条开始
+     * @param limit        返回数量
+     * @return 书架列表
+     */
+    List<BookshelfItemResponse> selectByUserIdAfter(@Param("userId") Integer userId,
+                                                    @Param("lastReadTime") String lastReadTime,
+                                                    @Param("id") Integer id,
+                                                    @Param("limit") int limit);
+
     /**
      * 统计指定用户的书架上有多少本书 (用于分页)
      *
@@ -21,4 +21,25 @@ public interface BookStatsMapper {
             @Param("recommendVotes") Integer recommendVotes,
             @Param("collectionCount") Integer collectionCount
     );
-}
\ No newline at end of file
+
+    /**
+     * 新章节的章节号不小于当前最新章节时，将其设为最新章节
+     *
+     * @param bookId        书籍ID
+     * @param chapterId     新写入的章节ID
+     * @param chapterNumber 新写入的章节号
+     */
+    int advanceLastUpdatedChapter(
+            @Param("bookId") Integer bookId,
+            @Param("chapterId") Integer chapterId,
+            @Param("chapterNumber") Integer chapterNumber
+    );
+
+    /**
+     * 按剩余章节中章节号最大的章节重新确定最新章节
+     *
+     * @param bookId    书籍ID
+     * @param chapterId 被删除的章节ID，仅当它是当前最新章节时才重算；为 null 时无条件重算
+     */
+    int resetLastUpdatedChapter(@Param("bookId") Integer bookId, @Param("chapterId") Integer chapterId);
+}
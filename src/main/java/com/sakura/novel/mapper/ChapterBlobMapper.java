@@ -0,0 +1,49 @@
+package com.sakura.novel.mapper;
+
+import com.sakura.novel.entity.ChapterBlob;
+import com.sakura.novel.service.ChapterContentService;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 章节正文对象数据访问层
+ */
+@Mapper
+public interface ChapterBlobMapper {
+
+    /**
+     * 按正文哈希查询对象
+     */
+    ChapterBlob selectByHash(@Param("contentHash") String contentHash);
+
+    /**
+     * 对象仍存在且对象键未变时引用数加一
+     *
+     * @return 影响行数，为 0 表示对象已被删除或替换
+     */
+    int addRef(@Param("contentHash") String contentHash, @Param("contentKey") String contentKey);
+
+    /**
+     * 插入对象记录，哈希已存在时改为已有对象的引用数加一
+     */
+    int upsert(ChapterBlob blob);
+
+    /**
+     * 引用数减一
+     *
+     * @return 影响行数，为 0 表示该对象键没有记录（去重前写入的独占对象）
+     */
+    int release(@Param("contentKey") String contentKey);
+
+    /**
+     * 删除已无引用的对象记录
+     *
+     * @return 影响行数，为 1 时由调用方删除对象
+     */
+    int deleteUnreferenced(@Param("contentKey") String contentKey);
+
+    /**
+     * 统计对象数、引用数与字节数
+     */
+    ChapterContentService.DedupStats selectTotals();
+}
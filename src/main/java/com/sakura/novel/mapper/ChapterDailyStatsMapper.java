@@ -0,0 +1,26 @@
+package com.sakura.novel.mapper;
+
+import com.sakura.novel.entity.ChapterDailyStats;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 章节每日阅读统计数据访问层
+ */
+@Mapper
+public interface ChapterDailyStatsMapper {
+
+    /**
+     * 批量累加阅读量，(book_id, stat_date, chapter_number) 已存在时在原值上累加
+     */
+    int batchInsertOrUpdate(@Param("list") List<ChapterDailyStats> list);
+
+    /**
+     * 按章节号汇总书籍在日期区间内的阅读量，按章节号升序
+     */
+    List<ChapterDailyStats> sumReadsByBookId(@Param("bookId") Integer bookId,
+                                             @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
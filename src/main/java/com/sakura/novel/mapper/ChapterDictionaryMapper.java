@@ -0,0 +1,27 @@
+package com.sakura.novel.mapper;
+
+import com.sakura.novel.entity.ChapterDictionary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 章节正文压缩字典数据访问层
+ */
+@Mapper
+public interface ChapterDictionaryMapper {
+
+    /**
+     * 插入字典
+     */
+    int insert(ChapterDictionary dictionary);
+
+    /**
+     * 根据ID查询字典
+     */
+    ChapterDictionary selectById(@Param("id") Integer id);
+
+    /**
+     * 查询书籍最新的字典
+     */
+    ChapterDictionary selectLatestByBookId(@Param("bookId") Integer bookId);
+}
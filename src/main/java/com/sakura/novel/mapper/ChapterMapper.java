@@ -2,9 +2,13 @@ package com.sakura.novel.mapper;
 
 import com.sakura.novel.DTO.Response.ChapterSummary;
 import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterRawContent;
+import com.sakura.novel.service.ChapterService;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -24,9 +28,29 @@ public interface ChapterMapper {
     int deleteById(@Param("id") Integer id);
 
     /**
-     * 根据书籍ID删除所有章节
+     * 按ID批量删除章节
      */
-    int deleteByBookId(@Param("bookId") Integer bookId);
+    int deleteByIds(@Param("ids") List<Integer> ids);
+
+    /**
+     * 查询书籍中ID在 (afterId, maxId] 之间的一批章节（只含删除所需字段），按ID升序
+     */
+    List<Chapter> selectDeletionChunk(@Param("bookId") Integer bookId,
+                                      @Param("afterId") int afterId,
+                                      @Param("maxId") int maxId,
+                                      @Param("limit") int limit);
+
+    /**
+     * 查询书籍最大的章节ID，没有章节时返回 null
+     */
+    Integer selectMaxIdByBookId(@Param("bookId") Integer bookId);
+
+    /**
+     * 锁定章节行（SELECT ... FOR UPDATE）直到事务结束，须在事务中调用
+     *
+     * @return 章节ID，章节不存在时返回 null
+     */
+    Integer lockById(@Param("id") Integer id);
 
     /**
      * 更新章节信息
@@ -48,11 +72,27 @@ public interface ChapterMapper {
      */
     Chapter selectByBookIdAndChapterNumber(@Param("bookId") Integer bookId, @Param("chapterNumber") Integer chapterNumber);
 
+    /**
+     * 查询书籍中指定章节号的章节（ID、章节号、标题、正文哈希、VIP 与发布时间），用于批量创建时识别已有章节
+     */
+    List<Chapter> selectHashesByChapterNumbers(@Param("bookId") Integer bookId,
+                                               @Param("chapterNumbers") List<Integer> chapterNumbers);
+
+    /**
+     * 按章节号区间查询章节（含正文或对象键），按章节号升序
+     */
+    List<Chapter> selectRangeByBookId(@Param("bookId") Integer bookId, @Param("from") Integer from, @Param("to") Integer to);
+
     /**
      * 分页查询指定书籍的章节列表（不包含正文内容）
      */
     List<Chapter> selectChapterListByBookId(@Param("bookId") Integer bookId);
 
+    /**
+     * 查询书籍章节目录（ID、章节号、标题、字数、VIP、发布时间），按章节号升序
+     */
+    List<Chapter> selectDirectoryByBookId(@Param("bookId") Integer bookId);
+
     /**
      * 查询指定书籍的章节总数
      */
@@ -63,6 +103,71 @@ public interface ChapterMapper {
      */
     int countVipChaptersByBookId(@Param("bookId") Integer bookId);
 
+    /**
+     * 统计章节总数
+     */
+    int countAll();
+
+    /**
+     * 按ID顺序批量读取仍保存在 MySQL 中的正文
+     */
+    List<ChapterRawContent> selectContentToOffload(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    /**
+     * 正文迁移到对象存储后记录对象键并清空 content 列，仅当 update_time 与读取时一致才更新
+     */
+    int updateContentKey(@Param("id") Integer id, @Param("contentKey") String contentKey,
+                         @Param("contentHash") String contentHash, @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * 最大章节ID，无章节时返回 null
+     */
+    Integer selectMaxId();
+
+    /**
+     * 单次查询章节阅读视图：当前章节（含正文）及前后章节的导航信息（不含正文）
+     * 章节总数与首末章标记由服务层填充
+     */
+    ChapterService.ChapterReadInfo selectReadView(@Param("bookId") Integer bookId, @Param("chapterNumber") Integer chapterNumber);
+
+    // ===== 正文压缩迁移 =====
+
+    /**
+     * 读取单个章节的存储字节或对象键（不解码正文）
+     */
+    ChapterRawContent selectRawContentById(@Param("id") Integer id);
+
+    /**
+     * 按ID顺序批量读取正文原始字节
+     */
+    List<ChapterRawContent> selectRawContentBatch(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    /**
+     * 读取书籍前若干章的正文原始字节
+     */
+    List<ChapterRawContent> selectRawContentByBookId(@Param("bookId") Integer bookId, @Param("limit") int limit);
+
+    /**
+     * 写回重新编码后的正文，仅当 update_time 与读取时一致才更新
+     */
+    int updateRawContent(@Param("id") Integer id, @Param("content") byte[] content,
+                         @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * 流式扫描全部章节，仅填充 id、bookId、chapterNumber
+     */
+    void scanAllKeys(ResultHandler<Chapter> handler);
+
+    /**
+     * 按章节号顺序流式扫描指定书籍的完整章节（含正文或对象键）
+     */
+    void scanByBookId(@Param("bookId") Integer bookId, ResultHandler<Chapter> handler);
+
+    /**
+     * 查询书籍章节版本（章节数-最大章节ID-最近修改时间戳），用于判断导出文件是否过期
+     */
+    String selectContentVersionByBookId(@Param("bookId") Integer bookId);
+
     /**
      * 查询指定书籍的最新章节
      */
@@ -89,4 +194,11 @@ public interface ChapterMapper {
     Chapter selectNextChapter(@Param("bookId") Integer bookId, @Param("chapterNumber") Integer chapterNumber);
 
     List<ChapterSummary> getChapterList(Integer bookId);
+
+    /**
+     * 游标分页查询章节摘要，返回章节号大于 afterChapterNumber 的记录
+     */
+    List<ChapterSummary> getChapterListAfter(@Param("bookId") Integer bookId,
+                                             @Param("afterChapterNumber") Integer afterChapterNumber,
+                                             @Param("limit") int limit);
 }
@@ -0,0 +1,39 @@
+package com.sakura.novel.mapper;
+
+import com.sakura.novel.entity.ChapterRevision;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 章节历史版本数据访问层
+ */
+@Mapper
+public interface ChapterRevisionMapper {
+
+    /**
+     * 插入历史版本
+     */
+    int insert(ChapterRevision revision);
+
+    /**
+     * 查询章节的最大版本号（锁定读取，读到已提交的最新版本），没有历史版本时返回 null
+     */
+    Integer selectMaxRevision(@Param("chapterId") Integer chapterId);
+
+    /**
+     * 查询章节的全部历史版本（不含 data），按版本号倒序
+     */
+    List<ChapterRevision> selectByChapterId(@Param("chapterId") Integer chapterId);
+
+    /**
+     * 查询重建指定版本所需的记录：从该版本到其后最近的快照（没有快照时到最大版本），按版本号倒序
+     */
+    List<ChapterRevision> selectChain(@Param("chapterId") Integer chapterId, @Param("revision") Integer revision);
+
+    /**
+     * 删除章节的全部历史版本
+     */
+    int deleteByChapterIds(@Param("chapterIds") List<Integer> chapterIds);
+}
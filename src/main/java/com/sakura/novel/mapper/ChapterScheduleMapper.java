@@ -0,0 +1,61 @@
+package com.sakura.novel.mapper;
+
+import com.sakura.novel.entity.ChapterSchedule;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 定时发布章节数据访问层
+ * 状态变更均带 status = 'pending' 条件，取消、改期与发布互斥
+ */
+@Mapper
+public interface ChapterScheduleMapper {
+
+    /**
+     * 插入定时章节
+     */
+    int insert(ChapterSchedule schedule);
+
+    /**
+     * 根据ID查询（含正文）
+     */
+    ChapterSchedule selectById(@Param("id") Long id);
+
+    /**
+     * 查询全部待发布章节的ID与发布时间，启动时装入时间轮
+     */
+    List<ChapterSchedule> selectPendingTimes();
+
+    /**
+     * 查询书籍的待发布章节（不含正文），按发布时间排序
+     */
+    List<ChapterSchedule> selectPendingByBookId(@Param("bookId") Integer bookId);
+
+    /**
+     * 书籍是否已有该章节号的待发布章节
+     */
+    boolean existsPending(@Param("bookId") Integer bookId, @Param("chapterNumber") Integer chapterNumber);
+
+    /**
+     * 修改待发布章节的发布时间
+     */
+    int updateReleaseTime(@Param("id") Long id, @Param("releaseTime") LocalDateTime releaseTime);
+
+    /**
+     * 取消待发布章节
+     */
+    int cancel(@Param("id") Long id);
+
+    /**
+     * 标记为已发布
+     */
+    int markReleased(@Param("id") Long id, @Param("chapterId") Integer chapterId);
+
+    /**
+     * 标记为发布失败
+     */
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+}
@@ -0,0 +1,38 @@
+package com.sakura.novel.mapper;
+
+import com.sakura.novel.entity.ChapterTocChange;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 章节目录变更日志数据访问层
+ */
+@Mapper
+public interface ChapterTocMapper {
+
+    /**
+     * 批量插入变更日志
+     */
+    int batchInsert(@Param("changes") List<ChapterTocChange> changes);
+
+    /**
+     * 查询目录版本在 (sinceVersion, toVersion] 之间的变更，按版本升序
+     */
+    List<ChapterTocChange> selectSince(@Param("bookId") Integer bookId,
+                                       @Param("sinceVersion") long sinceVersion,
+                                       @Param("toVersion") long toVersion,
+                                       @Param("limit") int limit);
+
+    /**
+     * 删除书籍的全部变更日志
+     */
+    int deleteByBookId(@Param("bookId") Integer bookId);
+
+    /**
+     * 删除早于指定时间的变更日志
+     */
+    int deleteBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -3,6 +3,7 @@ package com.sakura.novel.mapper;
 import com.sakura.novel.entity.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -66,4 +67,10 @@ public interface UserMapper {
      * @return 用户总数
      */
     int countTotal();
+
+    /**
+     * 流式扫描全部用户ID，逐行回调 handler
+     * @param handler 结果处理器
+     */
+    void scanAllIds(ResultHandler<Integer> handler);
 }
@@ -0,0 +1,27 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.AuthorService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorLeaderboardScheduler {
+
+    private final AuthorService authorService;
+
+    /**
+     * 启动后立即执行一次，之后按固定间隔（默认5分钟）重新计算热门/高产作者榜单快照
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${novel.author.leaderboard-refresh-ms:300000}")
+    public void refreshLeaderboards() {
+        try {
+            authorService.refreshLeaderboards();
+        } catch (Exception e) {
+            log.error("刷新作者榜单快照失败: {}", e.getMessage(), e);
+        }
+    }
+}
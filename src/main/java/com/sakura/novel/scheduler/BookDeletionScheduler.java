@@ -0,0 +1,27 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.BookDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookDeletionScheduler {
+
+    private final BookDeletionService bookDeletionService;
+
+    /**
+     * 每次推进一批（默认间隔500毫秒），间隔与批大小共同限制删除速度
+     */
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${novel.book-deletion.interval-ms:500}")
+    public void deleteBatch() {
+        try {
+            bookDeletionService.deleteBatch();
+        } catch (Exception e) {
+            log.error("书籍级联删除失败: {}", e.getMessage(), e);
+        }
+    }
+}
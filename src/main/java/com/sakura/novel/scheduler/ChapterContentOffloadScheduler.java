@@ -0,0 +1,27 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.ChapterContentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChapterContentOffloadScheduler {
+
+    private final ChapterContentService chapterContentService;
+
+    /**
+     * 每次迁移一批（默认间隔5秒）仍保存在 MySQL 中的章节正文到对象存储，迁移后清空 content 列
+     */
+    @Scheduled(initialDelay = 60000, fixedDelayString = "${novel.content-store.offload.interval-ms:5000}")
+    public void offloadChapterContent() {
+        try {
+            chapterContentService.offloadBatch();
+        } catch (Exception e) {
+            log.error("章节正文迁移到对象存储失败: {}", e.getMessage(), e);
+        }
+    }
+}
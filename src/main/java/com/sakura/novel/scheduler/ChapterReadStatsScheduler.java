@@ -0,0 +1,39 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.ChapterReadStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChapterReadStatsScheduler {
+
+    private final ChapterReadStatsService chapterReadStatsService;
+
+    /**
+     * 按固定间隔（默认10秒）把内存中的章节阅读计数批量写入 Redis
+     */
+    @Scheduled(initialDelay = 10000, fixedDelayString = "${novel.chapter.read-stats.flush-interval-ms:10000}")
+    public void flush() {
+        try {
+            chapterReadStatsService.flush();
+        } catch (Exception e) {
+            log.error("写入章节阅读计数失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 按固定间隔（默认1小时）把已结束日期的章节阅读计数汇总到 chapter_daily_stats
+     */
+    @Scheduled(initialDelay = 300000, fixedDelayString = "${novel.chapter.read-stats.persist-interval-ms:3600000}")
+    public void persist() {
+        try {
+            chapterReadStatsService.persist();
+        } catch (Exception e) {
+            log.error("章节阅读计数入库失败: {}", e.getMessage(), e);
+        }
+    }
+}
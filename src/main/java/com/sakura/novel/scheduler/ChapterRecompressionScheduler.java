@@ -0,0 +1,27 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.ContentCompressionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChapterRecompressionScheduler {
+
+    private final ContentCompressionService contentCompressionService;
+
+    /**
+     * 每次处理一批章节（默认间隔5秒），将纯文本正文压缩存储，并为章节足够多的书籍应用训练字典
+     */
+    @Scheduled(initialDelay = 60000, fixedDelayString = "${novel.content-codec.migrator.interval-ms:5000}")
+    public void recompressChapters() {
+        try {
+            contentCompressionService.recompressBatch();
+        } catch (Exception e) {
+            log.error("章节正文压缩迁移失败: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.ChapterTocService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChapterTocScheduler {
+
+    private final ChapterTocService chapterTocService;
+
+    /**
+     * 按固定间隔（默认1天）清理超过保留期的章节目录变更日志，本地版本更早的客户端改为获取完整目录
+     */
+    @Scheduled(initialDelay = 600000, fixedDelayString = "${novel.chapter.toc.trim-interval-ms:86400000}")
+    public void trimLog() {
+        try {
+            chapterTocService.trimLog();
+        } catch (Exception e) {
+            log.error("清理章节目录变更日志失败: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.ExistenceFilterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExistenceFilterScheduler {
+
+    private final ExistenceFilterService existenceFilterService;
+
+    /**
+     * 启动后立即构建一次，之后按固定间隔（默认1小时）重建，以清除已删除的ID并按最新数据量扩容
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${novel.bloom.rebuild-interval-ms:3600000}")
+    public void rebuildFilters() {
+        try {
+            existenceFilterService.rebuildAll();
+        } catch (Exception e) {
+            log.error("重建存在性过滤器失败: {}", e.getMessage(), e);
+        }
+    }
+}
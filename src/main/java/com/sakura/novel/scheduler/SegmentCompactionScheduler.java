@@ -0,0 +1,29 @@
+package com.sakura.novel.scheduler;
+
+import com.sakura.novel.service.impl.SegmentChapterContentStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "novel.content-store.type", havingValue = "segment")
+public class SegmentCompactionScheduler {
+
+    private final SegmentChapterContentStore segmentChapterContentStore;
+
+    /**
+     * 按固定间隔（默认10分钟）检查段文件，压缩失效空间超过阈值的文件
+     */
+    @Scheduled(initialDelay = 600000, fixedDelayString = "${novel.content-store.segment.compact-interval-ms:600000}")
+    public void compactSegments() {
+        try {
+            segmentChapterContentStore.compact();
+        } catch (Exception e) {
+            log.error("压缩章节段文件失败: {}", e.getMessage(), e);
+        }
+    }
+}
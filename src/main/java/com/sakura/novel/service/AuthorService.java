@@ -4,7 +4,9 @@ import com.sakura.novel.entity.Author;
 import com.sakura.novel.DTO.Response.PageResult;
 import lombok.Data;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 作者服务接口
@@ -36,6 +38,11 @@ public interface AuthorService {
      */
     Author getByUserId(Integer userId);
 
+    /**
+     * 根据ID列表批量查询作者（未命中缓存的部分合并为一次查询）
+     */
+    Map<Integer, Author> getByIds(Collection<Integer> ids);
+
     /**
      * 根据作者名称模糊搜索
      */
@@ -89,11 +96,21 @@ public interface AuthorService {
      */
     List<Author> getProductiveAuthors(Integer limit);
 
+    /**
+     * 重新计算热门/高产作者榜单快照（供定时任务调用）
+     */
+    void refreshLeaderboards();
+
     /**
      * 更新作者统计信息（字数和作品数）
      */
     boolean updateAuthorStats(Integer id, Long totalWordCount, Integer totalBooks);
 
+    /**
+     * 失效作者近端缓存（章节/书籍写操作按增量更新作者统计后调用）
+     */
+    void invalidateAuthors(Collection<Integer> ids);
+
     /**
      * 关注作者（增加粉丝数）
      */
@@ -0,0 +1,29 @@
+package com.sakura.novel.service;
+
+import com.sakura.novel.entity.BookDeletionJob;
+
+import java.util.List;
+
+/**
+ * 书籍级联删除服务
+ * 删除书籍或整本章节时只写入删除任务，依赖数据由定时任务每次删除一小批，避免长事务与大批量锁
+ */
+public interface BookDeletionService {
+
+    /**
+     * 推进最久未处理的删除任务一批（供定时任务调用）
+     *
+     * @return 本批删除的行数
+     */
+    int deleteBatch();
+
+    /**
+     * 查询书籍最近一次删除任务，没有时返回 null
+     */
+    BookDeletionJob getLatestJob(Integer bookId);
+
+    /**
+     * 查询最近的删除任务
+     */
+    List<BookDeletionJob> getRecentJobs(int limit);
+}
@@ -0,0 +1,68 @@
+package com.sakura.novel.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * 整书导出服务
+ * 按章节号顺序流式读取章节并写入导出文件，生成的文件按书籍章节版本缓存在磁盘上
+ */
+public interface BookExportService {
+
+    /**
+     * 获取书籍导出文件，缓存中没有当前版本时生成
+     * 返回时文件已打开，之后被淘汰或删除也不影响本次输出；调用方负责关闭
+     *
+     * @param bookId 书籍ID
+     * @param format 导出格式
+     * @return 导出文件，书籍没有章节时返回 null
+     */
+    ExportFile export(Integer bookId, ExportFormat format);
+
+    /**
+     * 删除书籍的全部导出文件
+     */
+    void evict(Integer bookId);
+
+    /**
+     * 导出格式
+     */
+    enum ExportFormat {
+        /** 单个 TXT 文本，gzip 压缩 */
+        TXT("txt.gz", "application/gzip"),
+        /** zip 包，每章一个 TXT 文件 */
+        ZIP("zip", "application/zip");
+
+        private final String extension;
+        private final String contentType;
+
+        ExportFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * 导出文件
+     *
+     * @param channel  已打开的磁盘缓存文件
+     * @param fileName 下载文件名
+     * @param etag     导出版本对应的 ETag
+     */
+    record ExportFile(FileChannel channel, String fileName, String etag) implements Closeable {
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.sakura.novel.service;
 
 import com.sakura.novel.DTO.Response.BookDetailResponse;
+import com.sakura.novel.DTO.Response.CursorPageResult;
 import com.sakura.novel.entity.Book;
 import com.sakura.novel.DTO.Response.PageResult;
 import com.sakura.novel.DTO.Response.BookBasicDTO;
@@ -55,8 +56,18 @@ public interface BookService {
 
     /**
      * 分页查询书籍基本信息
+     *
+     * @param withCount 是否计算总数，无限滚动场景可传 false 跳过 COUNT 查询
      */
-    PageResult<BookBasicDTO> getBookBasicsByPageHelper(Integer pageNum, Integer pageSize);
+    PageResult<BookBasicDTO> getBookBasicsByPageHelper(Integer pageNum, Integer pageSize, boolean withCount);
+
+    /**
+     * 游标分页获取书籍基本信息列表（按更新时间降序），深分页开销与首页一致
+     *
+     * @param cursor   上一页返回的游标，为空时从第一页开始
+     * @param pageSize 每页数量
+     */
+    CursorPageResult<BookBasicDTO> getBookBasicsByCursor(String cursor, Integer pageSize);
 
     /**
      * 综合搜索书籍基本信息
@@ -69,5 +80,31 @@ public interface BookService {
 
 
     BookDetailResponse getBookDetailById(Integer bookId);
+
+    /**
+     * 获取书籍详情的 ETag（仅查询校验值缓存，未缓存时返回 null，不访问数据库）
+     */
+    String getBookDetailETag(Integer bookId);
+
+    /**
+     * 书籍是否已删除但依赖数据尚未清理完（存在未完成的书籍删除任务）
+     * 章节读写路径据此拒绝访问已删除书籍的残留章节；墓碑列表定期刷新，其他实例删除的书籍最多延迟一个刷新间隔生效
+     */
+    boolean isDeleted(Integer bookId);
+
+    /**
+     * 书籍详情相关数据（如最新章节）发生变化时失效其缓存
+     */
+    void invalidateBookDetail(Integer bookId);
+
+    /**
+     * 作者信息修改或删除后失效其全部书籍的详情缓存
+     */
+    void invalidateBookDetailsByAuthor(Integer authorId);
+
+    /**
+     * 分类修改或删除后失效其下全部书籍的详情缓存
+     */
+    void invalidateBookDetailsByCategory(Integer categoryId);
 }
 
@@ -2,6 +2,7 @@ package com.sakura.novel.service;
 
 import com.sakura.novel.DTO.Request.AddBookshelfRequest;
 import com.sakura.novel.DTO.Response.BookshelfItemResponse;
+import com.sakura.novel.DTO.Response.CursorPageResult;
 import com.sakura.novel.DTO.Response.PageResult;
 import com.sakura.novel.entity.UserBookshelf;
 
@@ -48,9 +49,20 @@ public interface BookShelfService {
      * @param userId   用户ID
      * @param pageNum  页码 (从1开始)
      * @param pageSize 每页数量
+     * @param withCount 是否计算总数，无限滚动场景可传 false 跳过计数
      * @return 包含分页信息的书架列表
      */
-    PageResult<BookshelfItemResponse> getUserBookshelf(Integer userId, int pageNum, int pageSize);
+    PageResult<BookshelfItemResponse> getUserBookshelf(Integer userId, int pageNum, int pageSize, boolean withCount);
+
+    /**
+     * 游标分页获取用户的书架列表（按最后阅读时间降序），深分页开销与首页一致
+     *
+     * @param userId   用户ID
+     * @param cursor   上一页返回的游标，为空时从第一页开始
+     * @param pageSize 每页数量
+     * @return 包含下一页游标的书架列表
+     */
+    CursorPageResult<BookshelfItemResponse> getUserBookshelfByCursor(Integer userId, String cursor, int pageSize);
 
     /**
      * 检查某本书是否已在用户的书架上
@@ -0,0 +1,94 @@
+package com.sakura.novel.service;
+
+import com.sakura.novel.core.codec.EncodedContentStream;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterRawContent;
+import lombok.Data;
+
+import java.io.InputStream;
+
+/**
+ * 章节正文服务
+ * 负责正文在对象存储中的写入、读取、删除，以及将 MySQL 中的历史正文迁移到对象存储。
+ * 逐字相同的正文共用同一个对象并按引用计数删除；章节的 contentHash 按规范化后的正文计算，用于判断正文是否修改
+ */
+public interface ChapterContentService {
+
+    /**
+     * 将章节正文写入对象存储，并设置章节的 contentKey 与 contentHash
+     * 按提交的原文存储，contentHash 为规范化（统一换行符、去掉行尾空白与末尾空行）后的哈希；已有相同原文的对象时只增加引用，不再上传。
+     * 调用方传入的 contentKey 与 contentHash 一律先清空；正文为空时不再做其他处理
+     */
+    void store(Chapter chapter);
+
+    /**
+     * 计算正文规范化后的哈希，与 {@link #store} 写入的 contentHash 一致
+     */
+    String contentHash(String content);
+
+    /**
+     * 为仅包含元数据的章节加载正文
+     */
+    Chapter load(Chapter chapter);
+
+    /**
+     * 以流方式打开章节正文，不在内存中展开全文，调用方负责关闭
+     *
+     * @param row 章节存储信息（对象键或 content 列的存储字节）
+     * @return 正文流，正文不存在时返回 null
+     */
+    EncodedContentStream openStream(ChapterRawContent row);
+
+    /**
+     * 读取章节正文的完整存储字节（编码后的数据，不解码）
+     *
+     * @return 存储字节，正文不存在时返回 null
+     */
+    byte[] readStored(ChapterRawContent row);
+
+    /**
+     * 以流方式打开已读出的存储字节（如缓存中的正文），调用方负责关闭
+     *
+     * @param in     存储字节流
+     * @param length 存储字节数
+     */
+    EncodedContentStream openStored(InputStream in, long length);
+
+    /**
+     * 释放章节对正文对象的引用，最后一个引用释放时删除对象；失败时仅记录日志（残留对象由后续清理处理）
+     */
+    void delete(String contentKey);
+
+    /**
+     * 迁移一批仍保存在 MySQL 中的正文到对象存储
+     *
+     * @return 本批扫描的章节数，为 0 表示本轮迁移已完成
+     */
+    int offloadBatch();
+
+    /**
+     * 获取正文去重指标
+     */
+    DedupStats getDedupStats();
+
+    /**
+     * 正文去重指标
+     */
+    @Data
+    class DedupStats {
+        /** 去重对象数 */
+        private long blobs;
+        /** 引用这些对象的章节数 */
+        private long refs;
+        /** 对象实际占用的字节数 */
+        private long storedBytes;
+        /** 不去重时需要的字节数 */
+        private long referencedBytes;
+        /** 启动以来命中已有对象、跳过上传的次数 */
+        private long hits;
+        /** 启动以来上传新对象的次数 */
+        private long uploads;
+        /** 启动以来跳过上传的字节数 */
+        private long skippedBytes;
+    }
+}
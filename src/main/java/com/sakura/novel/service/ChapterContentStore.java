@@ -0,0 +1,59 @@
+package com.sakura.novel.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * 章节正文对象存储
+ * MySQL 的 chapters 表只保存元数据与正文键（content_key），正文字节保存在对象存储中。
+ * 通过 {@code novel.content-store.type} 选择实现：minio（默认）或 local（本地目录，用于开发与测试）
+ */
+public interface ChapterContentStore {
+
+    /**
+     * 写入正文对象，已存在时覆盖
+     *
+     * @param key  对象键，如 chapters/{bookId}/{uuid}
+     * @param data 编码后的正文字节
+     */
+    void put(String key, byte[] data);
+
+    /**
+     * 读取正文对象
+     *
+     * @return 对象字节，不存在时返回 null
+     */
+    byte[] get(String key);
+
+    /**
+     * 以流方式读取正文对象，调用方负责关闭
+     *
+     * @return 对象流，不存在时返回 null
+     */
+    default ObjectStream openStream(String key) {
+        byte[] data = get(key);
+        return data == null ? null : new ObjectStream(new ByteArrayInputStream(data), data.length);
+    }
+
+    /**
+     * 删除正文对象，不存在时忽略
+     */
+    void delete(String key);
+
+    /**
+     * 书籍的章节全部删除后释放该书占用的存储空间，默认无操作（对象已随章节逐个删除）
+     */
+    default void releaseBook(int bookId) {
+    }
+
+    /**
+     * 存储类型名称
+     */
+    String getType();
+
+    /**
+     * 正文对象流及其字节数
+     */
+    record ObjectStream(InputStream stream, long length) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.sakura.novel.service;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 章节阅读漏斗服务
+ * 按（书籍, 日期）统计每个章节号的阅读次数，用于查看读者在哪一章流失
+ */
+public interface ChapterReadStatsService {
+
+    /**
+     * 记录一次章节阅读，只在内存中累加，不访问 Redis
+     */
+    void recordRead(Integer bookId, Integer chapterNumber);
+
+    /**
+     * 把内存中累加的计数批量写入 Redis
+     *
+     * @return 写入的计数条数
+     */
+    int flush();
+
+    /**
+     * 把已结束日期的 Redis 计数累加到 chapter_daily_stats 并删除对应的键
+     *
+     * @return 写入的行数
+     */
+    int persist();
+
+    /**
+     * 查询书籍在日期区间内的章节阅读漏斗，包含已入库与仍在 Redis 中的计数
+     */
+    ReadFunnel getFunnel(Integer bookId, LocalDate from, LocalDate to);
+
+    /**
+     * 章节阅读漏斗
+     */
+    @Data
+    class ReadFunnel {
+        private Integer bookId;
+        private LocalDate from;
+        private LocalDate to;
+        /** 区间内全部章节的阅读次数 */
+        private long totalReads;
+        /** 按章节号升序，包含区间内无人阅读的章节 */
+        private List<FunnelStep> steps;
+    }
+
+    /**
+     * 漏斗中的一个章节
+     */
+    @Data
+    class FunnelStep {
+        private Integer chapterNumber;
+        private String title;
+        private long reads;
+        /** 相对第一章阅读次数的留存比例 */
+        private double retention;
+        /** 相对上一章的流失比例，第一章为 0 */
+        private double dropRate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.sakura.novel.service;
+
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterRevision;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 章节历史版本服务
+ * 章节表只保存最新正文，修改前的版本以反向行差异（定期全文快照）保存在 chapter_revisions 中
+ */
+public interface ChapterRevisionService {
+
+    /**
+     * 记录被修改前的版本，与章节修改在同一事务中调用；会锁定章节行直到事务结束，并发修改依次分配版本号
+     *
+     * @param previous        修改前的章节（标题、字数、正文哈希）
+     * @param previousContent 修改前的正文
+     * @param currentContent  修改后的正文
+     */
+    void recordRevision(Chapter previous, String previousContent, String currentContent);
+
+    /**
+     * 查询章节的历史版本列表（不含正文），按版本号倒序
+     */
+    List<ChapterRevision> getRevisions(Integer chapterId);
+
+    /**
+     * 重建指定历史版本的正文
+     *
+     * @return 版本不存在时返回 null
+     */
+    RevisionContent getRevision(Integer chapterId, int revision);
+
+    /**
+     * 删除章节的全部历史版本
+     */
+    void deleteByChapterIds(List<Integer> chapterIds);
+
+    /**
+     * 重建出的历史版本
+     *
+     * @param diffsApplied 重建时应用的差异个数
+     */
+    record RevisionContent(Integer chapterId, int revision, String title, Integer wordCount, String content,
+                           LocalDateTime createTime, int diffsApplied) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.sakura.novel.service;
+
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterSchedule;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 章节定时发布服务
+ * 定时章节到期前不进入章节表，到期后按普通新增章节写入，章节缓存、目录版本、书籍统计与搜索文档在发布时刻一并更新
+ */
+public interface ChapterScheduleService {
+
+    /**
+     * 提交定时发布章节，发布时间取 chapter.publishedTime，必须晚于当前时间
+     *
+     * @return 定时章节（不含正文）
+     */
+    ChapterSchedule schedule(Chapter chapter);
+
+    /**
+     * 修改发布时间
+     *
+     * @return 修改后的定时章节（不含正文），不存在或已不是待发布状态时返回 null
+     */
+    ChapterSchedule reschedule(Long id, LocalDateTime releaseTime);
+
+    /**
+     * 取消定时发布
+     *
+     * @return 取消成功返回 true，不存在或已不是待发布状态时返回 false
+     */
+    boolean cancel(Long id);
+
+    /**
+     * 查询书籍的待发布章节（不含正文）
+     */
+    List<ChapterSchedule> getPending(Integer bookId);
+
+    /**
+     * 获取定时发布指标
+     */
+    ReleaseStats getStats();
+
+    /**
+     * 定时发布指标
+     */
+    @Data
+    class ReleaseStats {
+        /** 时间轮中等待发布的章节数 */
+        private int pending;
+        /** 时间轮已创建的层数 */
+        private int wheelLevels;
+        private long tickMs;
+        private int wheelSize;
+        /** 启动以来发布成功的章节数 */
+        private long released;
+        /** 启动以来发布失败的章节数 */
+        private long failed;
+        /** 实际发布时间晚于计划发布时间的最大毫秒数 */
+        private long maxLagMs;
+    }
+}
@@ -1,11 +1,16 @@
 package com.sakura.novel.service;
 
 import com.sakura.novel.DTO.Response.ChapterSummary;
+import com.sakura.novel.DTO.Response.CursorPageResult;
+import com.sakura.novel.core.codec.EncodedContentStream;
 import com.sakura.novel.entity.Chapter;
 import com.sakura.novel.DTO.Response.PageResult;
 import lombok.Data;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 章节服务接口
@@ -25,10 +30,20 @@ public interface ChapterService {
     boolean deleteById(Integer id);
 
     /**
-     * 根据书籍ID删除所有章节
+     * 根据书籍ID删除所有章节：提交后台删除任务，由任务按章节ID分批删除提交时已存在的章节
+     *
+     * @return 书籍没有章节时返回 false
      */
     boolean deleteByBookId(Integer bookId);
 
+    /**
+     * 删除书籍中ID在 (afterId, maxId] 之间、按ID升序的一批章节（供后台删除任务调用），
+     * 同时删除正文对象、扣减冗余统计、记录目录变更并失效相关缓存
+     *
+     * @return 本批删除结果，没有可删除的章节时返回 null
+     */
+    DeletedChunk deleteChapterChunk(Integer bookId, int afterId, int maxId, int limit);
+
     /**
      * 更新章节
      */
@@ -39,6 +54,47 @@ public interface ChapterService {
      */
     Chapter getById(Integer id);
 
+    // ===== 条件GET支持 =====
+
+    /**
+     * 获取章节的 ETag（仅查询校验值缓存，未缓存时返回 null，不访问数据库）
+     */
+    String getChapterETag(Integer id);
+
+    /**
+     * 根据书籍ID和章节号获取章节的 ETag（仅查询校验值缓存，未缓存时返回 null）
+     */
+    String getChapterETag(Integer bookId, Integer chapterNumber);
+
+    /**
+     * 记录一次章节阅读，条件GET返回 304 时同样调用
+     */
+    void recordRead(Integer bookId, Integer chapterNumber);
+
+    /**
+     * 按章节ID记录一次章节阅读；章节所属书籍与章节号随 ETag 一起缓存，未缓存时忽略，不访问数据库
+     */
+    void recordRead(Integer id);
+
+    /**
+     * 获取章节预读与正文缓存指标
+     */
+    PrefetchStats getPrefetchStats();
+
+    /**
+     * 获取堆外正文缓存指标
+     */
+    BodyCacheStats getBodyCacheStats();
+
+    // ===== 正文流式输出 =====
+
+    /**
+     * 以流方式打开章节正文，同时缓存章节 ETag；调用方负责关闭
+     *
+     * @return 正文流，章节不存在时返回 null
+     */
+    EncodedContentStream openContentStream(Integer id);
+
     // ===== 章节查询功能 =====
 
     /**
@@ -57,29 +113,43 @@ public interface ChapterService {
 //    ChapterListResponse getChapterListByBookId(Integer bookId, Integer pageNum, Integer pageSize);
 
     /**
-     * 查询指定书籍的所有章节
+     * 查询指定书籍的所有章节（仅元数据，不含正文）
+     *
+     * @deprecated 仅供已弃用的 /book/{bookId}/all 接口使用，整本正文由 {@link BookExportService} 导出
      */
+    @Deprecated
     List<Chapter> getAllChaptersByBookId(Integer bookId);
 
+    /**
+     * 按章节号区间依次获取章节（含正文），一次查询取出区间内所有章节，正文逐章加载后交给 consumer
+     *
+     * @param from     起始章节号（含）
+     * @param to       结束章节号（含），区间章节数不能超过配置上限
+     * @param consumer 处理单个章节，返回 false 时停止，后续章节不再加载正文
+     * @return 交给 consumer 的章节数
+     */
+    int streamChapterRange(Integer bookId, int from, int to, Predicate<Chapter> consumer);
+
     /**
      * 获取章节阅读信息（包含当前章节和前后章节导航）
+     * 前后章节仅包含ID、章节号、标题等导航字段，不含正文
      */
     ChapterReadInfo getChapterReadInfo(Integer bookId, Integer chapterNumber);
 
     // ===== 章节导航功能 =====
 
     /**
-     * 获取指定书籍的前一章节
+     * 获取指定书籍的前一章节（仅元数据，不含正文）
      */
     Chapter getPreviousChapter(Integer bookId, Integer chapterNumber);
 
     /**
-     * 获取指定书籍的下一章节
+     * 获取指定书籍的下一章节（仅元数据，不含正文）
      */
     Chapter getNextChapter(Integer bookId, Integer chapterNumber);
 
     /**
-     * 获取指定书籍的最新章节
+     * 获取指定书籍的最新章节（仅元数据，不含正文）
      */
     Chapter getLatestChapterByBookId(Integer bookId);
 
@@ -99,15 +169,41 @@ public interface ChapterService {
 
     /**
      * 批量创建章节
+     * 章节号已存在且正文哈希相同的章节视为重复导入，直接跳过；正文不同的按修改章节处理（保存历史版本）
+     *
+     * @return 至少写入或修改了一个章节时返回 true
      */
     boolean batchCreateChapters(List<Chapter> chapters);
 
+    /**
+     * 流式导入章节：逐个读取章节，按批写入正文并批量插入，每批提交后回调一次进度
+     * 缺少章节号或标题、章节号已存在或重复的章节会被跳过；某批失败时停止导入，之前的批次保留
+     *
+     * @param bookId   书籍ID，覆盖章节中的 bookId
+     * @param chapters 逐个解析的章节
+     * @param progress 进度回调，每批提交后及导入结束时调用
+     * @return 最终导入结果
+     */
+    ImportProgress importChapters(Integer bookId, Iterator<Chapter> chapters, Consumer<ImportProgress> progress);
+
     /**
      * 检查章节是否存在
      */
     boolean existsByBookIdAndChapterNumber(Integer bookId, Integer chapterNumber);
 
-    PageResult<ChapterSummary> getChaptersList(Integer bookId, Integer pageNum, Integer pageSize);
+    /**
+     * 分页查询章节摘要列表
+     *
+     * @param withCount 是否计算总数，无限滚动场景可传 false 跳过计数
+     */
+    PageResult<ChapterSummary> getChaptersList(Integer bookId, Integer pageNum, Integer pageSize, boolean withCount);
+
+    /**
+     * 游标分页查询章节摘要列表（按章节号升序），深分页开销与首页一致
+     *
+     * @param cursor 上一页返回的游标，为空时从第一章开始
+     */
+    CursorPageResult<ChapterSummary> getChaptersByCursor(Integer bookId, String cursor, Integer pageSize);
 
     // ===== 内部类定义 =====
 
@@ -117,10 +213,83 @@ public interface ChapterService {
     @Data
     class ChapterReadInfo {
         private Chapter currentChapter;    // 当前章节
-        private Chapter previousChapter;   // 前一章节
-        private Chapter nextChapter;       // 下一章节
+        private Chapter previousChapter;   // 前一章节（仅导航字段）
+        private Chapter nextChapter;       // 下一章节（仅导航字段）
         private Integer totalChapters;     // 总章节数
         private boolean isFirst;           // 是否是第一章
         private boolean isLast;            // 是否是最后一章
     }
+
+    /**
+     * 章节预读指标
+     */
+    @Data
+    class PrefetchStats {
+        private boolean enabled;
+        private int cacheSize;
+        private int cacheCapacity;
+        /** 正文缓存命中率（含阅读回填与预读） */
+        private double cacheHitRate;
+        /** 已提交的预读任务数 */
+        private long scheduled;
+        /** 预读成功加载的章节数 */
+        private long loaded;
+        /** 预读加载后被阅读请求命中的章节数 */
+        private long hits;
+        /** 预读队列已满而放弃的次数 */
+        private long rejected;
+        private int inFlight;
+        /** 预读命中率 = hits / loaded，用于调整预读深度 */
+        private double prefetchHitRate;
+    }
+
+    /**
+     * 堆外正文缓存指标
+     */
+    @Data
+    class BodyCacheStats {
+        private boolean enabled;
+        private int entries;
+        /** 缓存的正文字节数（编码后） */
+        private long storedBytes;
+        /** 占用的块字节数 */
+        private long usedBytes;
+        /** 已分配的堆外内存字节数 */
+        private long allocatedBytes;
+        private long capacityBytes;
+        private long hits;
+        private long misses;
+        private double hitRate;
+        private long evictions;
+        /** 超过单条上限或空间不足而未缓存的次数 */
+        private long rejections;
+    }
+
+    /**
+     * 章节导入进度
+     */
+    @Data
+    class ImportProgress {
+        /** 已提交的批次数 */
+        private int chunks;
+        /** 已读取的章节数 */
+        private long received;
+        /** 已导入的章节数 */
+        private long imported;
+        /** 跳过的章节数（字段缺失或章节号重复） */
+        private long skipped;
+        private long elapsedMs;
+        private boolean done;
+        /** 导入失败原因，成功时为 null */
+        private String error;
+    }
+
+    /**
+     * 一批章节的删除结果
+     *
+     * @param count  本批删除的章节数
+     * @param lastId 本批最后一个章节ID，下一批从这里继续
+     */
+    record DeletedChunk(int count, int lastId) {
+    }
 }
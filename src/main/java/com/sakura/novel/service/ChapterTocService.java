@@ -0,0 +1,71 @@
+package com.sakura.novel.service;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 章节目录同步服务
+ * 每本书维护一个目录版本（books.toc_version），章节新增、删除以及章节号、标题、VIP 标记变更时加一并写入变更日志；
+ * 客户端携带本地版本请求时只返回之后的变更，否则返回按版本缓存的完整目录
+ */
+public interface ChapterTocService {
+
+    /**
+     * 获取完整目录
+     *
+     * @return 按目录版本缓存的 gzip 压缩 JSON，书籍不存在时返回 null
+     */
+    TocBlob getFullToc(Integer bookId);
+
+    /**
+     * 获取 sinceVersion 之后的目录变更，同一章节的多次变更只保留最后一次
+     *
+     * @return 变更列表；书籍不存在、版本无效、日志已被清理或变更过多时返回 null，调用方应改为返回完整目录
+     */
+    TocChanges getChanges(Integer bookId, long sinceVersion);
+
+    /**
+     * 删除超过保留期的变更日志（供定时任务调用）
+     *
+     * @return 删除的日志条数
+     */
+    int trimLog();
+
+    /**
+     * 完整目录
+     *
+     * @param version 目录版本
+     * @param gzipped gzip 压缩的 JSON：{"bookId","version","full":true,"fields":[...],"chapters":[[id,章节号,标题,VIP],...]}
+     * @param length  未压缩的 JSON 字节数
+     * @param etag    强 ETag，由书籍ID与目录版本生成
+     */
+    record TocBlob(Integer bookId, long version, byte[] gzipped, int length, String etag) {
+    }
+
+    /**
+     * 增量目录
+     */
+    @Data
+    class TocChanges {
+        private Integer bookId;
+        /** 当前目录版本，客户端应用变更后保存该版本 */
+        private long version;
+        private boolean full;
+        private List<TocChange> changes;
+    }
+
+    /**
+     * 单条目录变更，op 为 delete 时只有章节ID
+     */
+    @Data
+    class TocChange {
+        private long version;
+        /** upsert 或 delete */
+        private String op;
+        private Integer id;
+        private Integer chapterNumber;
+        private String title;
+        private Boolean isVip;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sakura.novel.service;
+
+import com.sakura.novel.core.codec.ContentCodecSupport;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 章节正文压缩服务
+ * 负责正文编解码（含每本书的训练字典）与后台重新压缩迁移
+ */
+public interface ContentCompressionService extends ContentCodecSupport {
+
+    /**
+     * 按字典ID获取压缩字典，不存在时返回 null
+     */
+    byte[] getDictionary(int dictId);
+
+    /**
+     * 执行一批重新压缩迁移：将纯文本或未使用本书最新字典的章节重新编码
+     *
+     * @return 本批扫描的章节数，为 0 表示本轮全表扫描已完成
+     */
+    int recompressBatch();
+
+    /**
+     * 获取迁移进度
+     */
+    MigrationProgress getMigrationProgress();
+
+    /**
+     * 迁移进度
+     */
+    @Data
+    class MigrationProgress {
+        private boolean enabled;
+        /** 当前轮次已处理到的章节ID */
+        private Integer checkpointId;
+        private Integer maxChapterId;
+        /** 已完成的全表扫描轮次 */
+        private long completedPasses;
+        private long scanned;
+        private long rewritten;
+        /** 因并发修改而放弃写回的次数 */
+        private long conflicts;
+        private long bytesBefore;
+        private long bytesAfter;
+        private long dictionariesTrained;
+        private LocalDateTime lastBatchTime;
+    }
+}
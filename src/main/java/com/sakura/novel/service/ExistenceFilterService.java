@@ -0,0 +1,88 @@
+package com.sakura.novel.service;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 存在性过滤服务
+ * 为书籍ID、章节ID、(书籍ID, 章节号) 与用户ID 维护内存布隆过滤器，
+ * 在查询数据库前拦截一定不存在的ID，避免无效请求穿透到 MySQL。
+ * 过滤器尚未构建完成或失效时一律放行。
+ */
+public interface ExistenceFilterService {
+
+    /**
+     * 过滤器类型
+     */
+    enum FilterType {
+        BOOK, CHAPTER, CHAPTER_NUMBER, USER
+    }
+
+    /**
+     * 判断键是否可能存在；返回 false 表示一定不存在
+     */
+    boolean mightContain(FilterType type, Integer key);
+
+    /**
+     * 判断章节号是否可能存在于指定书籍中；返回 false 表示构建时与本实例收到的广播中都不存在，
+     * 其他实例的新增广播可能丢失，调用方应再查章节目录确认，不能直接拒绝
+     */
+    boolean mightContainChapterNumber(Integer bookId, Integer chapterNumber);
+
+    /**
+     * 新增记录后登记键；key 为 null（如批量插入未回填ID）时该过滤器失效直至下次重建
+     */
+    void add(FilterType type, Integer key);
+
+    /**
+     * 新增章节后登记章节号
+     */
+    void addChapterNumber(Integer bookId, Integer chapterNumber);
+
+    /**
+     * 过滤器放行但数据库未查到记录时调用，用于统计实际误判率
+     */
+    void recordFalsePositive(FilterType type);
+
+    /**
+     * 重新扫描数据表构建全部过滤器（同时清除已删除记录）
+     */
+    void rebuildAll();
+
+    /**
+     * 获取各过滤器的运行指标
+     */
+    List<FilterStats> getStats();
+
+    /**
+     * 过滤器运行指标
+     */
+    @Data
+    class FilterStats {
+        private FilterType type;
+        /** 过滤器是否可用 */
+        private boolean ready;
+        /** 已登记的键数量 */
+        private long insertions;
+        /** 构建时的容量 */
+        private long expectedInsertions;
+        private long bitSize;
+        private int hashCount;
+        /** 目标误判率 */
+        private double targetFpp;
+        /** 按当前键数量估算的理论误判率 */
+        private double expectedFpp;
+        /** 检查次数 */
+        private long checks;
+        /** 被拦截（一定不存在）的次数 */
+        private long rejected;
+        /** 放行后数据库未命中的次数 */
+        private long falsePositives;
+        /** 实测误判率：falsePositives / (falsePositives + rejected) */
+        private double observedFpp;
+        private LocalDateTime lastRebuildTime;
+        private long lastRebuildMillis;
+    }
+}
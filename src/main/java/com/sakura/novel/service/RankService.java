@@ -19,6 +19,17 @@ public interface RankService {
      */
     RankingResponse getPeakRanking(Integer channel, Integer limit);
 
+    /**
+     * 获取日/周/月榜的 ETag（仅查询校验值缓存，未缓存时返回 null，不访问数据库）
+     * @param rankType 榜单类型 (daily, weekly, monthly)
+     */
+    String getRankingETag(String rankType, String statType, LocalDate date, Integer limit);
+
+    /**
+     * 获取巅峰榜的 ETag（仅查询校验值缓存，未缓存时返回 null）
+     */
+    String getPeakRankingETag(Integer channel, Integer limit);
+
     // --- 对内定时任务接口，用于生成和保存排行榜 ---
 
     void generateAndSaveDailyRanking(String statType, LocalDate date, Integer limit);
@@ -0,0 +1,57 @@
+package com.sakura.novel.service;
+
+import lombok.Data;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * 整本 TXT 小说导入服务
+ * 上传的文本先落盘再内存映射，按章节标题切分后送入章节流式导入的分批写入流程
+ */
+public interface TxtImportService {
+
+    /**
+     * 导入整本 TXT
+     *
+     * @param bookId      书籍ID
+     * @param in          TXT 文件内容
+     * @param charset     文件编码，支持 UTF-8 与 GBK
+     * @param startNumber 第一个章节的章节号，为 null 时接在书籍最新章节之后
+     * @param dryRun      为 true 时只切分并返回章节预览，不写入
+     */
+    TxtImportResult importTxt(Integer bookId, InputStream in, Charset charset, Integer startNumber, boolean dryRun);
+
+    /**
+     * TXT 导入结果
+     */
+    @Data
+    class TxtImportResult {
+        private long fileBytes;
+        /** 识别出的章节数（不含空章节） */
+        private int chapterCount;
+        /** 标题后没有正文的章节数（如目录页），不导入 */
+        private int emptySections;
+        /** 第一个章节标题之前的字节数（书名、简介等），不导入 */
+        private int preambleBytes;
+        private long totalWordCount;
+        private long scanMs;
+        private boolean dryRun;
+        /** 章节预览，仅 dryRun 时返回 */
+        private List<ChapterPreview> chapters;
+        /** 写入结果，dryRun 时为 null */
+        private ChapterService.ImportProgress importProgress;
+    }
+
+    /**
+     * 章节预览
+     */
+    @Data
+    class ChapterPreview {
+        private int chapterNumber;
+        private String title;
+        private int wordCount;
+        private int bytes;
+    }
+}
@@ -0,0 +1,109 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.mapper.AuthorMapper;
+import com.sakura.novel.mapper.BookMapper;
+import com.sakura.novel.mapper.BookStatsMapper;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 章节/书籍写操作产生的冗余统计增量
+ * 维护 books.word_count、authors.total_word_count/total_books 与 book_stats.last_updated_chapter_id，
+ * 写操作在同一事务内累积增量并调用 {@link #apply}，读取方无需 COUNT/SUM 扫描。
+ * 一个实例可累积多条写操作（如一批导入的章节），应用时每本书、每位作者各只执行一条 UPDATE。
+ */
+final class AggregateDelta {
+
+    /**
+     * bookId -> 字数增量
+     */
+    private final Map<Integer, Long> bookWords = new LinkedHashMap<>();
+
+    /**
+     * authorId -> {字数增量, 作品数增量}
+     */
+    private final Map<Integer, long[]> authorDeltas = new LinkedHashMap<>();
+
+    /**
+     * bookId -> 本次写入中章节号最大的章节，作为最新章节的候选
+     */
+    private final Map<Integer, Chapter> latestChapters = new LinkedHashMap<>();
+
+    /**
+     * bookId -> 被删除或移走的章节ID；为 null 表示无条件按剩余章节重新确定最新章节
+     */
+    private final Map<Integer, Integer> removedChapters = new LinkedHashMap<>();
+
+    void addWords(Integer bookId, long delta) {
+        if (bookId != null && delta != 0) {
+            bookWords.merge(bookId, delta, Long::sum);
+        }
+    }
+
+    void addAuthorStats(Integer authorId, long wordDelta, int bookDelta) {
+        if (authorId == null || (wordDelta == 0 && bookDelta == 0)) {
+            return;
+        }
+        long[] delta = authorDeltas.computeIfAbsent(authorId, id -> new long[2]);
+        delta[0] += wordDelta;
+        delta[1] += bookDelta;
+    }
+
+    /**
+     * 新写入（或章节号变更后）的章节，章节号不小于当前最新章节时成为最新章节
+     */
+    void chapterWritten(Chapter chapter) {
+        if (chapter.getBookId() == null || chapter.getId() == null || chapter.getChapterNumber() == null) {
+            return;
+        }
+        latestChapters.merge(chapter.getBookId(), chapter,
+                (current, candidate) -> candidate.getChapterNumber() >= current.getChapterNumber() ? candidate : current);
+    }
+
+    /**
+     * 章节被删除或移走，若它正是最新章节则按剩余章节重新确定
+     */
+    void chapterRemoved(Integer bookId, Integer chapterId) {
+        if (bookId == null) {
+            return;
+        }
+        // 同一本书移除了多个章节时改为无条件重算
+        removedChapters.put(bookId, removedChapters.containsKey(bookId) ? null : chapterId);
+    }
+
+    boolean isEmpty() {
+        return bookWords.isEmpty() && authorDeltas.isEmpty() && latestChapters.isEmpty() && removedChapters.isEmpty();
+    }
+
+    /**
+     * 应用增量，传入的 Mapper 决定所在事务（Spring 事务或批量导入的 SqlSession）
+     *
+     * @return 统计发生变化的作者ID，调用方据此失效作者缓存
+     */
+    Set<Integer> apply(BookMapper bookMapper, AuthorMapper authorMapper, BookStatsMapper bookStatsMapper) {
+        for (Map.Entry<Integer, Long> entry : bookWords.entrySet()) {
+            if (entry.getValue() == 0) {
+                continue;
+            }
+            bookMapper.addWordCount(entry.getKey(), entry.getValue());
+            addAuthorStats(bookMapper.selectAuthorIdById(entry.getKey()), entry.getValue(), 0);
+        }
+        // 先按剩余章节重算，再用新写入的章节推进，顺序不能颠倒
+        removedChapters.forEach(bookStatsMapper::resetLastUpdatedChapter);
+        latestChapters.forEach((bookId, chapter) ->
+                bookStatsMapper.advanceLastUpdatedChapter(bookId, chapter.getId(), chapter.getChapterNumber()));
+
+        Set<Integer> authorIds = new HashSet<>();
+        authorDeltas.forEach((authorId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                authorMapper.addAuthorStats(authorId, delta[0], (int) delta[1]);
+                authorIds.add(authorId);
+            }
+        });
+        return authorIds;
+    }
+}
@@ -2,25 +2,83 @@ package com.sakura.novel.service.impl;
 
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
+import com.sakura.novel.core.cache.LruCache;
 import com.sakura.novel.entity.Author;
 import com.sakura.novel.DTO.Response.PageResult;
 import com.sakura.novel.mapper.AuthorMapper;
 import com.sakura.novel.service.AuthorService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 作者服务实现类
+ * 作者信息在书籍详情页、作者页被频繁读取，这里维护一个有界近端缓存：
+ * 单个/批量查询优先读缓存，未命中部分合并为一次 selectByIds；
+ * 关注/取关只累加到缓存快照自带的粉丝数增量上，不触发缓存失效，快照重新加载时增量随之归零；
+ * 加载期间有修改或关注/取关在进行时不写入缓存，避免缓存旧行或重复计入粉丝数，缓存另设过期时间兜底；
+ * 热门/高产作者榜单由定时任务预先计算为作者ID数组，读取时经缓存取当前快照，已删除的作者不再出现。
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorMapper authorMapper;
 
+    @Value("${novel.author.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${novel.author.cache-ttl-ms:600000}")
+    private long cacheTtlMs;
+
+    @Value("${novel.author.leaderboard-size:100}")
+    private int leaderboardSize;
+
+    /**
+     * 作者近端缓存：authorId -> 作者快照
+     */
+    private LruCache<Integer, CachedAuthor> authorCache;
+
+    /**
+     * userId -> authorId 索引，命中后仍以 authorCache 中的快照为准
+     */
+    private LruCache<Integer, Integer> userIdIndex;
+
+    /**
+     * 写操作（修改后失效、关注/取关）的开始与结束次数；加载开始时没有进行中的写操作、
+     * 结束时也没有新的写操作开始，读到的行才写入缓存
+     */
+    private final AtomicLong writesStarted = new AtomicLong();
+    private final AtomicLong writesFinished = new AtomicLong();
+
+    /**
+     * 榜单快照（作者ID），未完成首次计算前为 null
+     */
+    private volatile Integer[] popularAuthors;
+    private volatile Integer[] productiveAuthors;
+
+    @PostConstruct
+    public void init() {
+        this.authorCache = new LruCache<>(cacheSize, cacheTtlMs);
+        this.userIdIndex = new LruCache<>(cacheSize, cacheTtlMs);
+    }
+
     @Override
     public Author createAuthor(Author author) {
         // 设置创建时间
@@ -61,7 +119,13 @@ public class AuthorServiceImpl implements AuthorService {
         if (author == null) {
             throw new RuntimeException("作者不存在");
         }
-        return authorMapper.deleteById(id) > 0;
+        boolean deleted = authorMapper.deleteById(id) > 0;
+        evict(id);
+        if (deleted) {
+            popularAuthors = without(popularAuthors, id);
+            productiveAuthors = without(productiveAuthors, id);
+        }
+        return deleted;
     }
 
     @Override
@@ -86,6 +150,7 @@ public class AuthorServiceImpl implements AuthorService {
         }
 
         int updated = authorMapper.updateById(author);
+        evict(author.getId());
         if (updated == 0) {
             throw new RuntimeException("更新作者失败");
         }
@@ -94,12 +159,75 @@ public class AuthorServiceImpl implements AuthorService {
 
     @Override
     public Author getById(Integer id) {
-        return authorMapper.selectById(id);
+        if (id == null) {
+            return null;
+        }
+        CachedAuthor cached = authorCache.get(id);
+        if (cached == null) {
+            long started = writesStarted.get();
+            boolean idle = started == writesFinished.get();
+            cached = cacheAuthor(authorMapper.selectById(id), idle, started);
+        }
+        return withFollowerOverlay(cached);
     }
 
     @Override
     public Author getByUserId(Integer userId) {
-        return authorMapper.selectByUserId(userId);
+        if (userId == null) {
+            return null;
+        }
+        Integer authorId = userIdIndex.get(userId);
+        if (authorId != null) {
+            Author author = getById(authorId);
+            // 作者的 userId 可能已被修改，索引过期时回源查询
+            if (author != null && userId.equals(author.getUserId())) {
+                return author;
+            }
+        }
+        long started = writesStarted.get();
+        boolean idle = started == writesFinished.get();
+        return withFollowerOverlay(cacheAuthor(authorMapper.selectByUserId(userId), idle, started));
+    }
+
+    @Override
+    public Map<Integer, Author> getByIds(Collection<Integer> ids) {
+        Map<Integer, Author> result = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+
+        // 1. 先读缓存，记录未命中的ID
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id == null || result.containsKey(id) || missing.contains(id)) {
+                continue;
+            }
+            CachedAuthor cached = authorCache.get(id);
+            if (cached != null) {
+                result.put(id, withFollowerOverlay(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        // 2. 未命中的部分合并为一次查询
+        if (!missing.isEmpty()) {
+            long started = writesStarted.get();
+            boolean idle = started == writesFinished.get();
+            for (Author author : authorMapper.selectByIds(missing)) {
+                result.put(author.getId(), withFollowerOverlay(cacheAuthor(author, idle, started)));
+            }
+        }
+
+        // 3. 按入参顺序返回
+        Map<Integer, Author> ordered = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            Author author = result.get(id);
+            if (author != null) {
+                ordered.put(id, author);
+            }
+        }
+        return ordered;
     }
 
     @Override
@@ -181,12 +309,29 @@ public class AuthorServiceImpl implements AuthorService {
 
     @Override
     public List<Author> getPopularAuthors(Integer limit) {
-        return authorMapper.selectPopularAuthors(limit);
+        Integer[] snapshot = popularAuthors;
+        if (snapshot == null || limit == null || limit > leaderboardSize) {
+            return authorMapper.selectPopularAuthors(limit);
+        }
+        return slice(snapshot, limit);
     }
 
     @Override
     public List<Author> getProductiveAuthors(Integer limit) {
-        return authorMapper.selectProductiveAuthors(limit);
+        Integer[] snapshot = productiveAuthors;
+        if (snapshot == null || limit == null || limit > leaderboardSize) {
+            return authorMapper.selectProductiveAuthors(limit);
+        }
+        return slice(snapshot, limit);
+    }
+
+    @Override
+    public void refreshLeaderboards() {
+        Integer[] popular = toSnapshot(authorMapper.selectPopularAuthors(leaderboardSize));
+        Integer[] productive = toSnapshot(authorMapper.selectProductiveAuthors(leaderboardSize));
+        this.popularAuthors = popular;
+        this.productiveAuthors = productive;
+        log.debug("作者榜单快照已刷新，热门 {} 条，高产 {} 条", popular.length, productive.length);
     }
 
     @Override
@@ -195,7 +340,14 @@ public class AuthorServiceImpl implements AuthorService {
         if (author == null) {
             throw new RuntimeException("作者不存在");
         }
-        return authorMapper.updateAuthorStats(id, totalWordCount, totalBooks) > 0;
+        boolean updated = authorMapper.updateAuthorStats(id, totalWordCount, totalBooks) > 0;
+        evict(id);
+        return updated;
+    }
+
+    @Override
+    public void invalidateAuthors(Collection<Integer> ids) {
+        ids.forEach(this::evict);
     }
 
     @Override
@@ -204,7 +356,7 @@ public class AuthorServiceImpl implements AuthorService {
         if (author == null) {
             throw new RuntimeException("作者不存在");
         }
-        return authorMapper.increaseFollowerCount(authorId) > 0;
+        return applyFollowerDelta(authorId, 1);
     }
 
     @Override
@@ -213,7 +365,7 @@ public class AuthorServiceImpl implements AuthorService {
         if (author == null) {
             throw new RuntimeException("作者不存在");
         }
-        return authorMapper.decreaseFollowerCount(authorId) > 0;
+        return applyFollowerDelta(authorId, -1);
     }
 
     @Override
@@ -222,7 +374,9 @@ public class AuthorServiceImpl implements AuthorService {
         if (author == null) {
             throw new RuntimeException("作者不存在");
         }
-        return authorMapper.updateFollowerCount(id, followerCount) > 0;
+        boolean updated = authorMapper.updateFollowerCount(id, followerCount) > 0;
+        evict(id);
+        return updated;
     }
 
     @Override
@@ -238,7 +392,9 @@ public class AuthorServiceImpl implements AuthorService {
         updateAuthor.setLevel(newLevel);
         updateAuthor.setName(author.getName()); // 保持必要字段
 
-        return authorMapper.updateById(updateAuthor) > 0;
+        boolean updated = authorMapper.updateById(updateAuthor) > 0;
+        evict(id);
+        return updated;
     }
 
     @Override
@@ -260,4 +416,108 @@ public class AuthorServiceImpl implements AuthorService {
 
         return statsInfo;
     }
+
+    // ===== 近端缓存辅助方法 =====
+
+    private void evict(Integer id) {
+        if (id != null) {
+            writesStarted.incrementAndGet();
+            authorCache.invalidate(id);
+            writesFinished.incrementAndGet();
+        }
+    }
+
+    /**
+     * 更新数据库中的粉丝数，成功后累加到当前缓存快照的增量上；
+     * 进行期间开始的加载不写入缓存，因此快照中的行要么不含本次修改、要么不会被缓存
+     */
+    private boolean applyFollowerDelta(Integer authorId, int delta) {
+        writesStarted.incrementAndGet();
+        try {
+            boolean updated = (delta > 0 ? authorMapper.increaseFollowerCount(authorId)
+                    : authorMapper.decreaseFollowerCount(authorId)) > 0;
+            if (updated) {
+                CachedAuthor cached = authorCache.get(authorId);
+                if (cached != null) {
+                    cached.followerDelta.addAndGet(delta);
+                }
+            }
+            return updated;
+        } finally {
+            writesFinished.incrementAndGet();
+        }
+    }
+
+    /**
+     * 包装查询到的作者；加载开始时没有进行中的写操作（idle）且之后也没有新的写操作开始时才写入缓存
+     *
+     * @param started 加载开始时的写操作开始次数
+     */
+    private CachedAuthor cacheAuthor(Author author, boolean idle, long started) {
+        if (author == null) {
+            return null;
+        }
+        CachedAuthor cached = new CachedAuthor(author);
+        if (idle && writesStarted.get() == started) {
+            authorCache.put(author.getId(), cached);
+            if (author.getUserId() != null) {
+                userIdIndex.put(author.getUserId(), author.getId());
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * 将快照加载之后累积的粉丝数增量叠加到返回值上，快照本身不被修改
+     */
+    private Author withFollowerOverlay(CachedAuthor cached) {
+        if (cached == null) {
+            return null;
+        }
+        int delta = cached.followerDelta.get();
+        if (delta == 0) {
+            return cached.author;
+        }
+        Author copy = new Author();
+        BeanUtils.copyProperties(cached.author, copy);
+        int base = copy.getFollowerCount() == null ? 0 : copy.getFollowerCount();
+        copy.setFollowerCount(Math.max(base + delta, 0));
+        return copy;
+    }
+
+    private Integer[] toSnapshot(List<Author> authors) {
+        long started = writesStarted.get();
+        boolean idle = started == writesFinished.get();
+        Integer[] snapshot = new Integer[authors.size()];
+        for (int i = 0; i < snapshot.length; i++) {
+            Author author = authors.get(i);
+            cacheAuthor(author, idle, started);
+            snapshot[i] = author.getId();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 取榜单前 limit 名的当前快照；榜单刷新后被删除的作者查不到，直接略过
+     */
+    private List<Author> slice(Integer[] snapshot, int limit) {
+        int size = Math.min(Math.max(limit, 0), snapshot.length);
+        return new ArrayList<>(getByIds(Arrays.asList(snapshot).subList(0, size)).values());
+    }
+
+    private static Integer[] without(Integer[] snapshot, Integer id) {
+        return snapshot == null ? null : Arrays.stream(snapshot).filter(x -> !x.equals(id)).toArray(Integer[]::new);
+    }
+
+    /**
+     * 缓存中的作者快照及其加载之后本实例关注/取关产生的粉丝数增量
+     */
+    private static final class CachedAuthor {
+        private final Author author;
+        private final AtomicInteger followerDelta = new AtomicInteger();
+
+        private CachedAuthor(Author author) {
+            this.author = author;
+        }
+    }
 }
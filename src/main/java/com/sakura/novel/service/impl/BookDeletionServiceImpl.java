@@ -0,0 +1,185 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.entity.BookDeletionJob;
+import com.sakura.novel.mapper.BookDeletionJobMapper;
+import com.sakura.novel.service.BookDeletionService;
+import com.sakura.novel.service.ChapterContentStore;
+import com.sakura.novel.service.ChapterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 书籍级联删除服务实现类
+ * 每次调用只推进一个任务的一批：章节阶段按章节ID游标分批删除（含正文对象与缓存），随后释放正文存储中该书的空间（如段文件），
+ * 其余依赖表按主键顺序 DELETE ... LIMIT；每批独立提交并把阶段与游标写回任务行，中断后从断点继续。
+ * 删除速度由定时任务间隔与批大小限制，避免长时间持锁与主从延迟。
+ * 多实例部署时以 Redis 键 book-deletion:lease:{jobId}（SET NX，带过期时间）占用任务，同一任务同一时间只由一个实例推进。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookDeletionServiceImpl implements BookDeletionService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String LEASE_PREFIX = "book-deletion:lease:";
+    /**
+     * 任务占用的过期时间，实例在推进中退出时到期后由其他实例接手
+     */
+    private static final Duration LEASE_TTL = Duration.ofMinutes(5);
+
+    private final BookDeletionJobMapper bookDeletionJobMapper;
+    private final ChapterService chapterService;
+    private final ChapterContentStore chapterContentStore;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${novel.book-deletion.chapter-chunk-size:200}")
+    private int chapterChunkSize;
+
+    @Value("${novel.book-deletion.row-chunk-size:1000}")
+    private int rowChunkSize;
+
+    /**
+     * 删除阶段，按声明顺序执行；仅删除章节的任务只有章节阶段
+     */
+    enum Stage {
+        // 最先删除待发布的定时章节，避免删除章节期间又发布出新章节
+        SCHEDULES("chapter_schedules", true),
+        CHAPTERS(null, true),
+        // 章节与正文对象删除后，释放正文存储中该书的段文件
+        CONTENT_STORE(null, true),
+        TOC_LOG("chapter_toc_log", true),
+        DICTIONARIES("chapter_dictionaries", true),
+        BOOKSHELF("user_bookshelf", true),
+        DAILY_STATS("book_daily_stats", true),
+        CHAPTER_DAILY_STATS("chapter_daily_stats", true),
+        RANKINGS("book_rankings", true),
+        BOOK_STATS("book_stats", false);
+
+        private final String table;
+        private final boolean ordered;
+
+        Stage(String table, boolean ordered) {
+            this.table = table;
+            this.ordered = ordered;
+        }
+
+        static Stage first(String scope) {
+            return BookDeletionJob.SCOPE_BOOK.equals(scope) ? SCHEDULES : CHAPTERS;
+        }
+
+        Stage next(String scope) {
+            if (!BookDeletionJob.SCOPE_BOOK.equals(scope) || ordinal() == values().length - 1) {
+                return null;
+            }
+            return values()[ordinal() + 1];
+        }
+    }
+
+    @Override
+    public int deleteBatch() {
+        BookDeletionJob job = bookDeletionJobMapper.selectNextUnfinished();
+        if (job == null) {
+            return 0;
+        }
+        String lease = LEASE_PREFIX + job.getId();
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lease, token, LEASE_TTL))) {
+            // 其他实例正在推进该任务
+            return 0;
+        }
+        try {
+            return deleteBatch(job);
+        } finally {
+            if (token.equals(redisTemplate.opsForValue().get(lease))) {
+                redisTemplate.delete(lease);
+            }
+        }
+    }
+
+    private int deleteBatch(BookDeletionJob job) {
+        // 占用前读到的任务可能已被其他实例推进，以最新状态为准
+        job = bookDeletionJobMapper.selectById(job.getId());
+        if (job == null || BookDeletionJob.STATUS_DONE.equals(job.getStatus())) {
+            return 0;
+        }
+        if (BookDeletionJob.STATUS_PENDING.equals(job.getStatus())) {
+            job.setStatus(BookDeletionJob.STATUS_RUNNING);
+            job.setStage(Stage.first(job.getScope()).name());
+        }
+        try {
+            int deleted = deleteChunk(job);
+            job.setError(null);
+            return deleted;
+        } catch (RuntimeException e) {
+            // 保留断点，更新时间后排到队尾，下次轮到时重试
+            log.warn("书籍 {} 删除任务 {} 在阶段 {} 失败: {}", job.getBookId(), job.getId(), job.getStage(), e.getMessage());
+            job.setError(truncate(e.getMessage()));
+            return 0;
+        } finally {
+            job.setUpdateTime(LocalDateTime.now());
+            bookDeletionJobMapper.updateProgress(job);
+        }
+    }
+
+    /**
+     * 删除当前阶段的一批数据，阶段内没有剩余数据时进入下一阶段或完成任务
+     */
+    private int deleteChunk(BookDeletionJob job) {
+        Stage stage = Stage.valueOf(job.getStage());
+        int deleted;
+        boolean exhausted;
+        if (stage == Stage.CHAPTERS) {
+            int maxId = job.getMaxChapterId() != null ? job.getMaxChapterId() : Integer.MAX_VALUE;
+            ChapterService.DeletedChunk chunk = chapterService.deleteChapterChunk(
+                    job.getBookId(), job.getLastChapterId(), maxId, chapterChunkSize);
+            deleted = chunk == null ? 0 : chunk.count();
+            exhausted = deleted < chapterChunkSize;
+            if (chunk != null) {
+                job.setLastChapterId(chunk.lastId());
+                job.setDeletedChapters(job.getDeletedChapters() + deleted);
+            }
+        } else if (stage == Stage.CONTENT_STORE) {
+            chapterContentStore.releaseBook(job.getBookId());
+            deleted = 0;
+            exhausted = true;
+        } else {
+            deleted = bookDeletionJobMapper.deleteDependentRows(stage.table, job.getBookId(), stage.ordered, rowChunkSize);
+            exhausted = deleted < rowChunkSize;
+            job.setDeletedRows(job.getDeletedRows() + deleted);
+        }
+        if (exhausted) {
+            Stage next = stage.next(job.getScope());
+            if (next != null) {
+                job.setStage(next.name());
+            } else {
+                job.setStatus(BookDeletionJob.STATUS_DONE);
+                job.setFinishTime(LocalDateTime.now());
+                log.info("书籍 {} 删除任务 {} 完成，删除章节 {} 章、依赖数据 {} 行",
+                        job.getBookId(), job.getId(), job.getDeletedChapters(), job.getDeletedRows());
+            }
+        }
+        return deleted;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    @Override
+    public BookDeletionJob getLatestJob(Integer bookId) {
+        return bookDeletionJobMapper.selectLatestByBookId(bookId);
+    }
+
+    @Override
+    public List<BookDeletionJob> getRecentJobs(int limit) {
+        return bookDeletionJobMapper.selectRecent(Math.max(1, Math.min(limit, 100)));
+    }
+}
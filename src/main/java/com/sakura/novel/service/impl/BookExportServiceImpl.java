@@ -0,0 +1,287 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.entity.Book;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.service.BookExportService;
+import com.sakura.novel.service.BookService;
+import com.sakura.novel.service.ChapterContentService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 整书导出服务实现类
+ * 章节通过流式结果集逐行读取，正文逐章加载后立即写入磁盘上的临时文件，内存中最多只有一章正文；
+ * 写完后原子重命名为 “书籍ID-章节版本.扩展名”，章节增删改会改变版本，旧版本的文件在生成新版本时删除（同版本的其他格式保留）。
+ * 导出目录超过容量上限时按最近访问时间淘汰。文件打开后才返回给调用方，之后的删除只解除目录项，不影响正在输出的下载；
+ * 删除失败（如 Windows 上文件正被读取）时跳过，下次清理时再删除。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+
+    private final ChapterMapper chapterMapper;
+    private final BookService bookService;
+    private final ChapterContentService chapterContentService;
+
+    @Value("${novel.export.cache-dir:./data/exports}")
+    private String cacheDirPath;
+
+    @Value("${novel.export.max-cache-mb:2048}")
+    private long maxCacheMb;
+
+    private Path cacheDir;
+
+    /**
+     * 正在生成的导出文件，避免同一版本被并发重复生成
+     */
+    private final ConcurrentHashMap<Path, Object> generating = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        this.cacheDir = Paths.get(cacheDirPath).toAbsolutePath().normalize();
+        Files.createDirectories(cacheDir);
+    }
+
+    @Override
+    public ExportFile export(Integer bookId, ExportFormat format) {
+        // 书籍已删除时残留章节仍在后台删除中，不再导出
+        Book book = bookService.getById(bookId);
+        if (book == null) {
+            return null;
+        }
+        String version = chapterMapper.selectContentVersionByBookId(bookId);
+        if (version == null || version.startsWith("0-")) {
+            return null;
+        }
+        String baseName = bookId + "-" + version;
+        Path target = cacheDir.resolve(baseName + "." + format.getExtension());
+        String title = book.getTitle() != null ? book.getTitle() : String.valueOf(bookId);
+
+        try {
+            // 生成后、打开前文件可能被其他请求淘汰，此时重新生成一次
+            for (int attempt = 0; attempt < 2; attempt++) {
+                ensureGenerated(bookId, title, format, baseName, target);
+                try {
+                    FileChannel channel = FileChannel.open(target, StandardOpenOption.READ);
+                    return new ExportFile(channel, title + "." + format.getExtension(),
+                            "\"export-" + baseName + "-" + format.name().toLowerCase() + "\"");
+                } catch (NoSuchFileException e) {
+                    log.debug("导出文件 {} 在打开前被删除，重新生成", target.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("导出书籍失败: " + e.getMessage(), e);
+        }
+        throw new RuntimeException("导出书籍失败: 导出文件被并发删除");
+    }
+
+    private void ensureGenerated(Integer bookId, String title, ExportFormat format, String baseName, Path target) throws IOException {
+        if (Files.exists(target)) {
+            try {
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                return;
+            } catch (NoSuchFileException e) {
+                // 刚被淘汰，重新生成
+            }
+        }
+        Object lock = generating.computeIfAbsent(target, key -> new Object());
+        try {
+            synchronized (lock) {
+                if (!Files.exists(target)) {
+                    generate(bookId, title, format, target);
+                    deleteOtherVersions(bookId, baseName);
+                    trim(target);
+                }
+            }
+        } finally {
+            generating.remove(target, lock);
+        }
+    }
+
+    @Override
+    public void evict(Integer bookId) {
+        try {
+            deleteOtherVersions(bookId, null);
+        } catch (IOException e) {
+            log.warn("删除书籍 {} 的导出文件失败: {}", bookId, e.getMessage());
+        }
+    }
+
+    private void generate(Integer bookId, String title, ExportFormat format, Path target) throws IOException {
+        Path temp = Files.createTempFile(cacheDir, ".export-", ".tmp");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp), 65536)) {
+                if (format == ExportFormat.ZIP) {
+                    try (ZipOutputStream zip = new ZipOutputStream(file, StandardCharsets.UTF_8)) {
+                        scan(bookId, chapter -> {
+                            zip.putNextEntry(new ZipEntry(String.format("%05d_%s.txt",
+                                    chapter.getChapterNumber(), safeName(chapter.getTitle()))));
+                            writeChapter(zip, chapter);
+                            zip.closeEntry();
+                        });
+                    }
+                } else {
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(file, 65536)) {
+                        gzip.write((title + "\n\n").getBytes(StandardCharsets.UTF_8));
+                        scan(bookId, chapter -> writeChapter(gzip, chapter));
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("书籍 {} 导出完成: {} ({} 字节)", bookId, target.getFileName(), Files.size(target));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 流式扫描书籍章节，正文保存在对象存储中的章节逐章加载
+     */
+    private void scan(Integer bookId, ChapterWriter writer) throws IOException {
+        try {
+            chapterMapper.scanByBookId(bookId, ctx -> {
+                try {
+                    writer.write(chapterContentService.load(ctx.getResultObject()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeChapter(OutputStream out, Chapter chapter) throws IOException {
+        StringBuilder text = new StringBuilder();
+        if (chapter.getTitle() != null) {
+            text.append(chapter.getTitle()).append("\n\n");
+        }
+        if (chapter.getContent() != null) {
+            text.append(chapter.getContent()).append("\n\n");
+        }
+        out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String safeName(String title) {
+        return title == null ? "" : title.replaceAll("[\\\\/:*?\"<>|\\s]+", "_");
+    }
+
+    /**
+     * 删除书籍其他版本的导出文件，当前版本的各格式都保留
+     *
+     * @param baseName 当前版本的文件名前缀（书籍ID-章节版本），为 null 时全部删除
+     */
+    private void deleteOtherVersions(Integer bookId, String baseName) throws IOException {
+        String prefix = bookId + "-";
+        Set<String> keep = new HashSet<>();
+        if (baseName != null) {
+            for (ExportFormat format : ExportFormat.values()) {
+                keep.add(baseName + "." + format.getExtension());
+            }
+        }
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path file : files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(prefix) && !keep.contains(name);
+            }).toList()) {
+                tryDelete(file);
+            }
+        }
+    }
+
+    /**
+     * 导出目录超过容量上限时，按最近访问时间从旧到新删除，当前文件除外
+     */
+    private void trim(Path keep) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            files = stream.filter(f -> !f.getFileName().toString().startsWith(".")).toList();
+        }
+        long total = 0;
+        for (Path file : files) {
+            total += sizeOf(file);
+        }
+        long limit = maxCacheMb << 20;
+        if (total <= limit) {
+            return;
+        }
+        List<Path> oldestFirst = files.stream()
+                .sorted(Comparator.comparingLong(BookExportServiceImpl::lastModified))
+                .toList();
+        for (Path file : oldestFirst) {
+            if (total <= limit) {
+                break;
+            }
+            if (!file.equals(keep)) {
+                long size = sizeOf(file);
+                if (tryDelete(file)) {
+                    total -= size;
+                }
+            }
+        }
+    }
+
+    /**
+     * 删除文件，失败时记录日志并跳过
+     *
+     * @return 文件已不存在时返回 true
+     */
+    private static boolean tryDelete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException e) {
+            log.debug("导出文件 {} 暂时无法删除: {}", file.getFileName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChapterWriter {
+        void write(Chapter chapter) throws IOException;
+    }
+}
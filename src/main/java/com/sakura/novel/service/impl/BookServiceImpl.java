@@ -1,21 +1,34 @@
 package com.sakura.novel.service.impl;
 
-import com.github.pagehelper.PageHelper;
-import com.github.pagehelper.PageInfo;
 import com.sakura.novel.DTO.Response.PageResult;
 import com.sakura.novel.entity.*;
 import com.sakura.novel.DTO.Response.BookBasicDTO;
 import com.sakura.novel.DTO.Response.BookDetailResponse;
-import com.sakura.novel.mapper.BookMapper;
+import com.sakura.novel.DTO.Response.CursorPageResult;
+import com.sakura.novel.core.cache.LruCache;
+import com.sakura.novel.core.cache.PageCountCache;
 import com.sakura.novel.mapper.AuthorMapper;
+import com.sakura.novel.mapper.BookDeletionJobMapper;
+import com.sakura.novel.mapper.BookMapper;
+import com.sakura.novel.mapper.BookStatsMapper;
 import com.sakura.novel.mapper.CategoryMapper;
 import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.service.AuthorService;
 import com.sakura.novel.service.BookService;
+import com.sakura.novel.service.ExistenceFilterService;
+import com.sakura.novel.service.ExistenceFilterService.FilterType;
+import com.sakura.novel.utils.CursorUtil;
+import com.sakura.novel.utils.ETagUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 书籍服务实现类
@@ -24,14 +37,41 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
     private final BookMapper bookMapper;
-    private final AuthorMapper authorMapper;
+    private final AuthorService authorService;
     private final CategoryMapper categoryMapper;
     private final ChapterMapper chapterMapper;
+    private final PageCountCache pageCountCache;
+    private final ExistenceFilterService existenceFilterService;
+    private final AuthorMapper authorMapper;
+    private final BookStatsMapper bookStatsMapper;
+    private final BookDeletionJobMapper bookDeletionJobMapper;
+
+    /**
+     * 书籍列表分页总数缓存键前缀
+     */
+    private static final String COUNT_KEY_PREFIX = "book:";
+    private static final String SEARCH_COUNT_KEY_PREFIX = "book:search:";
+
+    /**
+     * 书籍详情 ETag 缓存；详情聚合了作者、分类信息，条目记录二者的ID，修改作者或分类时按ID失效，
+     * 其他实例的修改靠过期时间兜底
+     */
+    private final LruCache<Integer, DetailETag> detailETags = new LruCache<>(20000, 10 * 60 * 1000L);
+
+    @Value("${novel.book-deletion.tombstone-refresh-ms:5000}")
+    private long tombstoneRefreshMs;
+
+    /**
+     * 删除任务未完成的书籍ID（墓碑）及其加载时间，按刷新间隔整体替换
+     */
+    private volatile Set<Integer> deletedBookIds = Set.of();
+    private volatile long deletedBookIdsLoadedAt;
     // ===== 注入新的 ElasticsearchClient =====
 //    private final ElasticsearchClient esClient;
     // ===== 基础 CRUD 操作 =====
 
     @Override
+    @Transactional
     public Book createBook(Book book) {
         // 设置创建时间和更新时间
         LocalDateTime now = LocalDateTime.now();
@@ -43,28 +83,47 @@ public class BookServiceImpl implements BookService {
             throw new RuntimeException("书名已存在");
         }
 
-        // 设置默认值
-        if (book.getWordCount() == null) {
-            book.setWordCount(0);
-        }
+        // 字数随章节写入增量维护，新书从 0 开始
+        book.setWordCount(0);
         if (book.getIsVip() == null) {
             book.setIsVip(false);
         }
 
         bookMapper.insert(book);
+        AggregateDelta delta = new AggregateDelta();
+        delta.addAuthorStats(book.getAuthorId(), 0, 1);
+        applyAggregates(delta);
+        existenceFilterService.add(FilterType.BOOK, book.getId());
+        pageCountCache.invalidatePrefix(COUNT_KEY_PREFIX);
         return book;
     }
 
     @Override
+    @Transactional
     public boolean deleteById(Integer id) {
         Book book = getById(id);
         if (book == null) {
             throw new RuntimeException("书籍不存在");
         }
-        return bookMapper.deleteById(id) > 0;
+        boolean deleted = bookMapper.deleteById(id) > 0;
+        if (deleted) {
+            AggregateDelta delta = new AggregateDelta();
+            delta.addAuthorStats(book.getAuthorId(), -words(book), -1);
+            applyAggregates(delta);
+            // 书籍行删除后即不可见，删除任务作为墓碑，章节、书架、统计与榜单数据由后台任务分批删除
+            bookDeletionJobMapper.insert(BookDeletionJob.of(id, BookDeletionJob.SCOPE_BOOK, null));
+            // 本实例立即生效；事务回滚时由下次刷新纠正
+            Set<Integer> ids = new HashSet<>(deletedBookIds);
+            ids.add(id);
+            deletedBookIds = ids;
+        }
+        invalidateBookDetail(id);
+        pageCountCache.invalidatePrefix(COUNT_KEY_PREFIX);
+        return deleted;
     }
 
     @Override
+    @Transactional
     public Book updateBook(Book book) {
         Book existingBook = getById(book.getId());
         if (existingBook == null) {
@@ -78,21 +137,54 @@ public class BookServiceImpl implements BookService {
             }
         }
 
-        // 更新修改时间
+        // 更新修改时间；字数由章节写入增量维护，不接受客户端修改
         book.setUpdateTime(LocalDateTime.now());
+        book.setWordCount(null);
 
         bookMapper.updateById(book);
+        if (book.getAuthorId() != null && !book.getAuthorId().equals(existingBook.getAuthorId())) {
+            // 更换作者：作品数与字数从原作者转移到新作者
+            AggregateDelta delta = new AggregateDelta();
+            delta.addAuthorStats(existingBook.getAuthorId(), -words(existingBook), -1);
+            delta.addAuthorStats(book.getAuthorId(), words(existingBook), 1);
+            applyAggregates(delta);
+        }
+        invalidateBookDetail(book.getId());
+        // 修改可能影响搜索条件的命中数量
+        pageCountCache.invalidatePrefix(SEARCH_COUNT_KEY_PREFIX);
         return book;
     }
 
     @Override
     public Book getById(Integer id) {
-        return bookMapper.selectById(id);
+        // 布隆过滤器判定一定不存在时直接返回，不查询数据库
+        if (!existenceFilterService.mightContain(FilterType.BOOK, id)) {
+            return null;
+        }
+        Book book = bookMapper.selectById(id);
+        if (book == null) {
+            existenceFilterService.recordFalsePositive(FilterType.BOOK);
+        }
+        return book;
+    }
+
+    @Override
+    public boolean isDeleted(Integer bookId) {
+        if (bookId == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (now - deletedBookIdsLoadedAt > tombstoneRefreshMs) {
+            deletedBookIdsLoadedAt = now;
+            deletedBookIds = new HashSet<>(bookDeletionJobMapper.selectPendingBookIds());
+        }
+        return deletedBookIds.contains(bookId);
     }
 
     // ===== 管理功能 =====
 
     @Override
+    @Transactional
     public boolean batchCreateBooks(List<Book> books) {
         if (books == null || books.isEmpty()) {
             return false;
@@ -105,15 +197,20 @@ public class BookServiceImpl implements BookService {
             book.setUpdateTime(now);
 
             // 设置默认值
-            if (book.getWordCount() == null) {
-                book.setWordCount(0);
-            }
+            book.setWordCount(0);
             if (book.getIsVip() == null) {
                 book.setIsVip(false);
             }
         }
 
-        return bookMapper.batchInsert(books) > 0;
+        boolean created = bookMapper.batchInsert(books) > 0;
+        // 同一作者的多本书合并为一次作品数更新
+        AggregateDelta delta = new AggregateDelta();
+        books.forEach(book -> delta.addAuthorStats(book.getAuthorId(), 0, 1));
+        applyAggregates(delta);
+        books.forEach(book -> existenceFilterService.add(FilterType.BOOK, book.getId()));
+        pageCountCache.invalidatePrefix(COUNT_KEY_PREFIX);
+        return created;
     }
 
     @Override
@@ -130,20 +227,48 @@ public class BookServiceImpl implements BookService {
     // ===== 书籍列表显示（轻量级） =====
 
     @Override
-    public PageResult<BookBasicDTO> getBookBasicsByPageHelper(Integer pageNum, Integer pageSize) {
+    public PageResult<BookBasicDTO> getBookBasicsByPageHelper(Integer pageNum, Integer pageSize, boolean withCount) {
         // 设置默认值
         if (pageNum == null || pageNum < 1) pageNum = 1;
         if (pageSize == null || pageSize < 1) pageSize = 10;
 
-        // 开启分页
-        PageHelper.startPage(pageNum, pageSize);
-        List<BookBasicDTO> bookBasics = bookMapper.selectBookBasicList();
+        // 列表对作者、分类是 LEFT JOIN，总数等于书籍表行数，直接用单表计数代替带 JOIN 的 COUNT
+        return pageCountCache.paginate(COUNT_KEY_PREFIX + "list", pageNum, pageSize, withCount,
+                () -> (long) bookMapper.count(),
+                bookMapper::selectBookBasicList);
+    }
 
-        // 获取分页信息
-        PageInfo<BookBasicDTO> pageInfo = new PageInfo<>(bookBasics);
+    @Override
+    public CursorPageResult<BookBasicDTO> getBookBasicsByCursor(String cursor, Integer pageSize) {
+        if (pageSize == null || pageSize < 1) pageSize = 10;
+        if (pageSize > 100) pageSize = 100;
+
+        CursorUtil.Cursor position = CursorUtil.decode(cursor);
+        LocalDateTime updateTime = null;
+        Integer lastId = null;
+        if (position != null) {
+            if (position.sortKey() == null) {
+                throw new RuntimeException("无效的分页游标");
+            }
+            try {
+                updateTime = LocalDateTime.parse(position.sortKey());
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("无效的分页游标");
+            }
+            lastId = position.id();
+        }
 
-        // 转换为自定义的分页结果
-        return new PageResult<>(pageInfo);
+        // 多取一条用于判断是否还有下一页
+        List<BookBasicDTO> books = bookMapper.selectBookBasicListAfter(updateTime, lastId, pageSize + 1);
+        String nextCursor = null;
+        if (books.size() > pageSize) {
+            books = books.subList(0, pageSize);
+            BookBasicDTO last = books.get(pageSize - 1);
+            // 与查询的排序键一致：未更新过的书籍以创建时间作为游标
+            LocalDateTime sortTime = last.getUpdateTime() != null ? last.getUpdateTime() : last.getCreateTime();
+            nextCursor = CursorUtil.encode(sortTime, last.getId());
+        }
+        return new CursorPageResult<>(pageSize, books, nextCursor);
     }
 
     @Override
@@ -154,18 +279,16 @@ public class BookServiceImpl implements BookService {
         if (pageNum == null || pageNum < 1) pageNum = 1;
         if (pageSize == null || pageSize < 1) pageSize = 10;
 
-        // 开启分页
-        PageHelper.startPage(pageNum, pageSize);
+        // 以全部搜索条件拼接总数缓存键，空白书名与未传等价
+        String normalizedTitle = title == null ? "" : title.trim();
+        String countKey = SEARCH_COUNT_KEY_PREFIX + String.join("|", normalizedTitle, String.valueOf(channel),
+                String.valueOf(categoryId), String.valueOf(authorId), String.valueOf(minWordCount),
+                String.valueOf(maxWordCount), String.valueOf(status), String.valueOf(isVip));
 
         // 调用综合搜索方法
-        List<BookBasicDTO> bookBasics = bookMapper.searchBookBasicWithAllConditions(title, channel, categoryId, authorId,
-                                                                                    minWordCount, maxWordCount, status, isVip);
-
-        // 获取分页信息
-        PageInfo<BookBasicDTO> pageInfo = new PageInfo<>(bookBasics);
-
-        // 转换为自定义的分页结果
-        return new PageResult<>(pageInfo);
+        return pageCountCache.paginate(countKey, pageNum, pageSize, true, null,
+                () -> bookMapper.searchBookBasicWithAllConditions(title, channel, categoryId, authorId,
+                        minWordCount, maxWordCount, status, isVip));
     }
 
 
@@ -173,14 +296,14 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public BookDetailResponse getBookDetailById(Integer bookId) {
-        // 1. 获取书籍基本信息
-        Book book = bookMapper.selectById(bookId);
+        // 1. 获取书籍基本信息（经布隆过滤器拦截不存在的ID）
+        Book book = getById(bookId);
         if (book == null) {
             return null;
         }
 
-        // 2. 分别获取作者信息
-        Author author = authorMapper.selectById(book.getAuthorId());
+        // 2. 分别获取作者信息（走作者近端缓存）
+        Author author = authorService.getById(book.getAuthorId());
 
         // 3. 分别获取分类信息
         Category category = categoryMapper.selectById(book.getCategoryId());
@@ -229,7 +352,71 @@ public class BookServiceImpl implements BookService {
 
         }
 
+        // 6. 以响应中各字段的摘要作为 ETag 缓存，供后续条件GET直接比对
+        detailETags.put(bookId, new DetailETag(detailETag(response), book.getAuthorId(), book.getCategoryId()));
         return response;
     }
 
+    /**
+     * 逐个列出响应字段计算 ETag，不依赖 toString 的格式
+     */
+    private static String detailETag(BookDetailResponse response) {
+        BookDetailResponse.AuthorInfo author = response.getAuthor();
+        BookDetailResponse.CategoryInfo category = response.getCategory();
+        BookDetailResponse.LatestChapterInfo latest = response.getLatestChapter();
+        return ETagUtil.of(response.getId(), response.getTitle(), response.getDescription(), response.getCoverImageUrl(),
+                response.getStatus(), response.getWordCount(), response.getLastUpdateTime(),
+                author == null ? null : author.getId(), author == null ? null : author.getName(),
+                author == null ? null : author.getBio(), author == null ? null : author.getAvatarUrl(),
+                category == null ? null : category.getId(), category == null ? null : category.getName(),
+                latest == null ? null : latest.getId(), latest == null ? null : latest.getTitle(),
+                latest == null ? null : latest.getLastUpdateTime());
+    }
+
+    @Override
+    public String getBookDetailETag(Integer bookId) {
+        DetailETag cached = detailETags.get(bookId);
+        return cached == null ? null : cached.etag();
+    }
+
+    @Override
+    public void invalidateBookDetail(Integer bookId) {
+        if (bookId != null) {
+            detailETags.invalidate(bookId);
+        }
+    }
+
+    @Override
+    public void invalidateBookDetailsByAuthor(Integer authorId) {
+        if (authorId != null) {
+            detailETags.invalidateValuesIf(cached -> authorId.equals(cached.authorId()));
+        }
+    }
+
+    @Override
+    public void invalidateBookDetailsByCategory(Integer categoryId) {
+        if (categoryId != null) {
+            detailETags.invalidateValuesIf(cached -> categoryId.equals(cached.categoryId()));
+        }
+    }
+
+    /**
+     * 书籍详情 ETag 及详情中聚合的作者、分类ID
+     */
+    private record DetailETag(String etag, Integer authorId, Integer categoryId) {
+    }
+
+    /**
+     * 在当前事务内应用作者统计增量，并失效对应的作者缓存
+     */
+    private void applyAggregates(AggregateDelta delta) {
+        if (!delta.isEmpty()) {
+            authorService.invalidateAuthors(delta.apply(bookMapper, authorMapper, bookStatsMapper));
+        }
+    }
+
+    private static int words(Book book) {
+        return book.getWordCount() == null ? 0 : book.getWordCount();
+    }
+
 }
@@ -1,12 +1,13 @@
 package com.sakura.novel.service.impl;
 
-import com.github.pagehelper.PageHelper;
-import com.github.pagehelper.PageInfo;
 import com.sakura.novel.DTO.Request.AddBookshelfRequest;
 import com.sakura.novel.DTO.Response.BookshelfItemResponse;
+import com.sakura.novel.DTO.Response.CursorPageResult;
 import com.sakura.novel.DTO.Response.PageResult;
+import com.sakura.novel.core.cache.PageCountCache;
 import com.sakura.novel.entity.UserBookshelf;
 import com.sakura.novel.service.BookShelfService;
+import com.sakura.novel.utils.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +22,8 @@ import java.util.List;
 public class BookShelServiceImpl implements BookShelfService {
 
     private final BookShelfMapper bookShelfMapper;
+    private final PageCountCache pageCountCache;
+
     @Override
     @Transactional // 建议写操作都加上事务注解
     public boolean addToBookshelf(Integer userId ,AddBookshelfRequest request) {
@@ -41,13 +44,16 @@ public class BookShelServiceImpl implements BookShelfService {
             // 3. 如果不存在，则插入新记录
         bookshelf.setAddedTime(LocalDateTime.now()); // 设置加入书架时间
         bookShelfMapper.insert(bookshelf); // 插入后，bookshelf对象的id会被 MyBatis 填充
+        pageCountCache.invalidate(countKey(userId));
         return true;
     }
 
     @Override
     @Transactional
     public boolean removeFromBookshelf(Integer userId, Integer bookId) {
-        return bookShelfMapper.deleteByUserIdAndBookId(userId, bookId) > 0;
+        boolean removed = bookShelfMapper.deleteByUserIdAndBookId(userId, bookId) > 0;
+        pageCountCache.invalidate(countKey(userId));
+        return removed;
     }
 
     @Override
@@ -57,7 +63,9 @@ public class BookShelServiceImpl implements BookShelfService {
         if (CollectionUtils.isEmpty(bookIds)) {
             return 0;
         }
-        return bookShelfMapper.batchDeleteByBookIds(userId, bookIds);
+        int removed = bookShelfMapper.batchDeleteByBookIds(userId, bookIds);
+        pageCountCache.invalidate(countKey(userId));
+        return removed;
     }
 
     @Override
@@ -69,31 +77,32 @@ public class BookShelServiceImpl implements BookShelfService {
     }
 
     @Override
-    public PageResult<BookshelfItemResponse> getUserBookshelf(Integer userId, int pageNum, int pageSize) {
-        // 1. 启动 PageHelper 分页
-        PageHelper.startPage(pageNum, pageSize);
-
-        // 2. 执行查询，MyBatis 会自动拦截并应用分页
-        List<BookshelfItemResponse> list = bookShelfMapper.selectByUserId(userId);
-
-        // 3. 用 PageInfo 包装查询结果，它包含了分页的所有详细信息
-        PageInfo<BookshelfItemResponse> pageInfo = new PageInfo<>(list);
-
-        // 4. 将 PageInfo 对象的数据转换成你自定义的 PageResult 对象
-        PageResult<BookshelfItemResponse> pageResult = new PageResult<>();
-        pageResult.setPageNum(pageInfo.getPageNum());
-        pageResult.setPageSize(pageInfo.getPageSize());
-        pageResult.setTotal(pageInfo.getTotal());
-        pageResult.setPages(pageInfo.getPages());
-        pageResult.setList(pageInfo.getList()); // 最重要的：设置数据列表
-
-        // 设置 PageResult 中其他的布尔值和导航页码
-        pageResult.setIsFirstPage(pageInfo.isIsFirstPage());
-        pageResult.setIsLastPage(pageInfo.isIsLastPage());
-        pageResult.setHasPreviousPage(pageInfo.isHasPreviousPage());
-        pageResult.setHasNextPage(pageInfo.isHasNextPage());
-        pageResult.setNavigatepageNums(pageInfo.getNavigatepageNums());
-        return pageResult;
+    public PageResult<BookshelfItemResponse> getUserBookshelf(Integer userId, int pageNum, int pageSize, boolean withCount) {
+        // 列表查询带有多表 JOIN 和子查询，总数改用单表计数并按用户缓存，书架增删时失效
+        return pageCountCache.paginate(countKey(userId), pageNum, pageSize, withCount,
+                () -> (long) bookShelfMapper.countByUserId(userId),
+                () -> bookShelfMapper.selectByUserId(userId));
+    }
+
+    @Override
+    public CursorPageResult<BookshelfItemResponse> getUserBookshelfByCursor(Integer userId, String cursor, int pageSize) {
+        if (pageSize < 1) pageSize = 10;
+        if (pageSize > 100) pageSize = 100;
+
+        // 1. 解析游标：排序键为上一页最后一条的阅读时间（可能为空），再以ID区分同一时间的记录
+        CursorUtil.Cursor position = CursorUtil.decode(cursor);
+        String lastReadTime = position == null ? null : position.sortKey();
+        Integer lastId = position == null ? null : position.id();
+
+        // 2. 多取一条用于判断是否还有下一页
+        List<BookshelfItemResponse> list = bookShelfMapper.selectByUserIdAfter(userId, lastReadTime, lastId, pageSize + 1);
+        String nextCursor = null;
+        if (list.size() > pageSize) {
+            list = list.subList(0, pageSize);
+            BookshelfItemResponse last = list.get(pageSize - 1);
+            nextCursor = CursorUtil.encode(last.getLastReadTime(), last.getId());
+        }
+        return new CursorPageResult<>(pageSize, list, nextCursor);
     }
 
     @Override
@@ -101,4 +110,8 @@ public class BookShelServiceImpl implements BookShelfService {
         return bookShelfMapper.existsInBookshelf(userId, bookId) > 0;
     }
 
+    private String countKey(Integer userId) {
+        return "bookshelf:" + userId;
+    }
+
 }
@@ -2,6 +2,7 @@ package com.sakura.novel.service.impl;
 
 import com.sakura.novel.entity.Category;
 import com.sakura.novel.mapper.CategoryMapper;
+import com.sakura.novel.service.BookService;
 import com.sakura.novel.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import java.util.List;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryMapper categoryMapper;
+    private final BookService bookService;
 
     @Override
     public Category createCategory(Category category) {
@@ -39,7 +41,9 @@ public class CategoryServiceImpl implements CategoryService {
             throw new RuntimeException("该分类下存在子分类，无法删除");
         }
 
-        return categoryMapper.deleteById(id) > 0;
+        boolean deleted = categoryMapper.deleteById(id) > 0;
+        bookService.invalidateBookDetailsByCategory(id);
+        return deleted;
     }
 
     @Override
@@ -57,6 +61,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         categoryMapper.updateById(category);
+        bookService.invalidateBookDetailsByCategory(category.getId());
         return category;
     }
 
@@ -0,0 +1,309 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.core.codec.ChapterContentCodec;
+import com.sakura.novel.core.codec.EncodedContentStream;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterBlob;
+import com.sakura.novel.entity.ChapterRawContent;
+import com.sakura.novel.mapper.ChapterBlobMapper;
+import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.service.ChapterContentService;
+import com.sakura.novel.service.ChapterContentStore;
+import com.sakura.novel.service.ContentCompressionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 章节正文服务实现类
+ * 对象中保存的是 {@link ChapterContentCodec} 编码后的字节，与 MySQL 中的压缩格式一致；
+ * 每次写入使用新的对象键，更新章节时先写新对象、再更新元数据、最后删除旧对象，
+ * 任一步失败都不会让元数据指向不存在的正文。
+ * 正文按原文的 SHA-256 去重：chapter_blobs 记录哈希对应的对象与引用数，已有逐字相同的正文时只增加引用；
+ * 释放引用时引用数降为 0 才删除对象。在调用方事务中执行时引用数随事务回滚，
+ * 对象行被加锁直到提交，并发的释放与引用不会互相覆盖；对象本身在事务提交后才删除，
+ * 事务回滚时删除本事务新上传的对象（引用数随事务回滚，无需另行释放）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChapterContentServiceImpl implements ChapterContentService {
+
+    private final ChapterContentStore chapterContentStore;
+    private final ContentCompressionService contentCompressionService;
+    private final ChapterMapper chapterMapper;
+    private final ChapterBlobMapper chapterBlobMapper;
+
+    @Value("${novel.content-store.offload.enabled:true}")
+    private boolean offloadEnabled;
+
+    @Value("${novel.content-store.offload.batch-size:200}")
+    private int batchSize;
+
+    private final AtomicInteger checkpoint = new AtomicInteger();
+    private final AtomicLong offloaded = new AtomicLong();
+
+    private final LongAdder dedupHits = new LongAdder();
+    private final LongAdder uploads = new LongAdder();
+    private final LongAdder skippedBytes = new LongAdder();
+
+    @Override
+    public void store(Chapter chapter) {
+        // 对象键与哈希只由服务端生成，不信任调用方传入的值
+        chapter.setContentKey(null);
+        chapter.setContentHash(null);
+        if (chapter.getContent() == null) {
+            return;
+        }
+        // 按提交的原文存储与去重，规范化只用于章节的正文哈希
+        String content = chapter.getContent();
+        chapter.setContentKey(acquire(chapter.getBookId(), sha256(content), () -> contentCompressionService.encode(content)));
+        chapter.setContentHash(contentHash(content));
+    }
+
+    @Override
+    public String contentHash(String content) {
+        return content == null ? null : sha256(normalize(content));
+    }
+
+    @Override
+    public Chapter load(Chapter chapter) {
+        if (chapter == null || chapter.getContent() != null || chapter.getContentKey() == null) {
+            return chapter;
+        }
+        byte[] data = chapterContentStore.get(chapter.getContentKey());
+        if (data == null) {
+            throw new RuntimeException("章节正文不存在: " + chapter.getContentKey());
+        }
+        chapter.setContent(contentCompressionService.decode(data));
+        return chapter;
+    }
+
+    @Override
+    public EncodedContentStream openStream(ChapterRawContent row) {
+        try {
+            if (row.getContentKey() == null) {
+                // 尚未迁移的正文只能整体读出存储字节，但仍不解码为字符串
+                byte[] stored = row.getContent();
+                return stored == null ? null : EncodedContentStream.open(
+                        new ByteArrayInputStream(stored), stored.length, contentCompressionService::getDictionary);
+            }
+            ChapterContentStore.ObjectStream object = chapterContentStore.openStream(row.getContentKey());
+            if (object == null) {
+                return null;
+            }
+            try {
+                return EncodedContentStream.open(object.stream(), object.length(), contentCompressionService::getDictionary);
+            } catch (IOException e) {
+                object.stream().close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取章节正文失败", e);
+        }
+    }
+
+    @Override
+    public byte[] readStored(ChapterRawContent row) {
+        return row.getContentKey() == null ? row.getContent() : chapterContentStore.get(row.getContentKey());
+    }
+
+    @Override
+    public EncodedContentStream openStored(InputStream in, long length) {
+        try {
+            return EncodedContentStream.open(in, length, contentCompressionService::getDictionary);
+        } catch (IOException e) {
+            try {
+                in.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException("读取章节正文失败", e);
+        }
+    }
+
+    @Override
+    public void delete(String contentKey) {
+        if (contentKey == null) {
+            return;
+        }
+        try {
+            // 没有去重记录的是去重前写入的独占对象，直接删除
+            if (chapterBlobMapper.release(contentKey) == 0 || chapterBlobMapper.deleteUnreferenced(contentKey) > 0) {
+                afterCompletion(TransactionSynchronization.STATUS_COMMITTED, contentKey);
+            }
+        } catch (RuntimeException e) {
+            log.warn("删除章节正文对象 {} 失败: {}", contentKey, e.getMessage());
+        }
+    }
+
+    @Override
+    public DedupStats getDedupStats() {
+        DedupStats stats = chapterBlobMapper.selectTotals();
+        if (stats == null) {
+            stats = new DedupStats();
+        }
+        stats.setHits(dedupHits.sum());
+        stats.setUploads(uploads.sum());
+        stats.setSkippedBytes(skippedBytes.sum());
+        return stats;
+    }
+
+    @Override
+    public int offloadBatch() {
+        if (!offloadEnabled) {
+            return 0;
+        }
+        List<ChapterRawContent> rows = chapterMapper.selectContentToOffload(checkpoint.get(), batchSize);
+        if (rows.isEmpty()) {
+            if (checkpoint.getAndSet(0) > 0) {
+                log.info("章节正文迁移到对象存储完成一轮，累计迁移 {} 章", offloaded.get());
+            }
+            return 0;
+        }
+
+        for (ChapterRawContent row : rows) {
+            checkpoint.set(row.getId());
+            try {
+                offload(row);
+            } catch (RuntimeException e) {
+                log.warn("章节 {} 正文迁移失败: {}", row.getId(), e.getMessage());
+            }
+        }
+        return rows.size();
+    }
+
+    private void offload(ChapterRawContent row) {
+        byte[] stored = row.getContent();
+        String text = contentCompressionService.decode(stored);
+        // 已有相同正文的对象时只增加引用；已编码的数据（可能使用了书籍字典）直接搬迁，纯文本先编码
+        String key = acquire(row.getBookId(), sha256(text),
+                () -> ChapterContentCodec.isEncoded(stored) ? stored : contentCompressionService.encode(text));
+        if (chapterMapper.updateContentKey(row.getId(), key, contentHash(text), row.getUpdateTime()) > 0) {
+            offloaded.incrementAndGet();
+        } else {
+            // 读取后章节被修改，放弃本次迁移，下一轮重新处理
+            delete(key);
+        }
+    }
+
+    /**
+     * 取得哈希对应正文对象的一个引用，没有时上传新对象
+     *
+     * @param hash    原文（未规范化）的 SHA-256，只有逐字相同的正文才共用对象
+     * @param encoder 仅在需要上传时调用
+     * @return 对象键
+     */
+    private String acquire(Integer bookId, String hash, Supplier<byte[]> encoder) {
+        ChapterBlob existing = chapterBlobMapper.selectByHash(hash);
+        // 对象可能在查询后被释放删除，引用数加一成功才能复用
+        if (existing != null && chapterBlobMapper.addRef(hash, existing.getContentKey()) > 0) {
+            dedupHits.increment();
+            skippedBytes.add(existing.getStoredLength() != null ? existing.getStoredLength() : 0);
+            return existing.getContentKey();
+        }
+
+        byte[] data = encoder.get();
+        String key = newKey(bookId);
+        chapterContentStore.put(key, data);
+        String winner;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            ChapterBlob blob = new ChapterBlob();
+            blob.setContentHash(hash);
+            blob.setContentKey(key);
+            blob.setStoredLength(data.length);
+            blob.setCreateTime(now);
+            blob.setUpdateTime(now);
+            // 并发写入相同正文时只有一方的记录生效，另一方改为引用已有对象
+            chapterBlobMapper.upsert(blob);
+            winner = chapterBlobMapper.selectByHash(hash).getContentKey();
+        } catch (RuntimeException e) {
+            chapterContentStore.delete(key);
+            throw e;
+        }
+        if (key.equals(winner)) {
+            uploads.increment();
+            // 对象记录随调用方事务回滚时，新上传的对象无人引用
+            afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK, key);
+        } else {
+            chapterContentStore.delete(key);
+            dedupHits.increment();
+        }
+        return winner;
+    }
+
+    /**
+     * 在调用方事务以指定状态结束后删除对象；没有事务时，提交状态立即删除，回滚状态不处理
+     */
+    private void afterCompletion(int status, String contentKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                chapterContentStore.delete(contentKey);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int completion) {
+                if (completion != status) {
+                    return;
+                }
+                try {
+                    chapterContentStore.delete(contentKey);
+                } catch (RuntimeException e) {
+                    log.warn("删除章节正文对象 {} 失败: {}", contentKey, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * 正文规范化：统一换行符为 '\n'，去掉每行末尾的空白与末尾的空行，行首缩进保持不变
+     */
+    private static String normalize(String text) {
+        String[] lines = text.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+        StringBuilder builder = new StringBuilder(text.length());
+        for (String line : lines) {
+            builder.append(line.stripTrailing()).append('\n');
+        }
+        int length = builder.length();
+        while (length > 0 && builder.charAt(length - 1) == '\n') {
+            length--;
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    private static String newKey(Integer bookId) {
+        return "chapters/" + bookId + "/" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
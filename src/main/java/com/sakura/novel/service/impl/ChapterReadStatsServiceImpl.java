@@ -0,0 +1,275 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterDailyStats;
+import com.sakura.novel.mapper.ChapterDailyStatsMapper;
+import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.service.ChapterReadStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 章节阅读漏斗服务实现类
+ * 阅读请求只在内存中按 Redis 键（日期 + 书籍）和章节号累加，定时任务把增量用一次管道 HINCRBY 写入
+ * 哈希 chapter:reads:{yyyy-MM-dd}:{bookId}（字段为章节号），阅读路径不增加 Redis 往返。
+ * 日期结束后，先以 SET NX 占用 chapter:reads:lock:{日期}:{bookId}，再把哈希 RENAME 为处理键
+ * chapter:reads:processing:{日期}:{bookId}，从处理键按书籍在一个事务中累加到 chapter_daily_stats，提交后删除处理键。
+ * 多实例同时入库时只有占用成功的实例处理该键，改名后迟到的写入落在新键上，下次入库时处理；
+ * 入库中断留下的处理键在下次入库时先行处理。提交后、删除处理键前进程退出时，该批计数会被重复累加一次。
+ * 内存计数最多滞后一个刷新间隔，进程退出时未刷新的计数会丢失。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChapterReadStatsServiceImpl implements ChapterReadStatsService {
+
+    private static final String KEY_PREFIX = "chapter:reads:";
+    private static final String PROCESSING_PREFIX = KEY_PREFIX + "processing:";
+    private static final String LOCK_PREFIX = KEY_PREFIX + "lock:";
+    /**
+     * 入库占用的过期时间，进程在入库中退出时到期后由其他实例接手
+     */
+    private static final Duration LOCK_TTL = Duration.ofMinutes(10);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /**
+     * Redis 键保留天数，超过后未入库的计数随键过期
+     */
+    private static final int KEY_TTL_DAYS = 3;
+    private static final int INSERT_CHUNK_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ChapterDailyStatsMapper chapterDailyStatsMapper;
+    private final ChapterMapper chapterMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${novel.chapter.read-stats.flush-interval-ms:10000}")
+    private long flushIntervalMs;
+
+    @Value("${novel.chapter.read-stats.max-funnel-days:366}")
+    private int maxFunnelDays;
+
+    /**
+     * Redis 键 -> 章节号 -> 尚未写入 Redis 的阅读次数
+     */
+    private final Map<String, Map<Integer, AtomicLong>> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordRead(Integer bookId, Integer chapterNumber) {
+        if (bookId == null || chapterNumber == null) {
+            return;
+        }
+        pending.computeIfAbsent(key(LocalDate.now(), bookId), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(chapterNumber, number -> new AtomicLong())
+                .incrementAndGet();
+    }
+
+    @Override
+    public int flush() {
+        String todayPrefix = KEY_PREFIX + LocalDate.now().format(DATE_FORMATTER) + ":";
+        Map<String, Map<Integer, Long>> batch = new HashMap<>();
+        Iterator<Map.Entry<String, Map<Integer, AtomicLong>>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Map<Integer, AtomicLong>> entry = iterator.next();
+            if (!entry.getKey().startsWith(todayPrefix)) {
+                // 往日的计数不会再增加，整体移出；当日的计数器保留复用
+                iterator.remove();
+            }
+            Map<Integer, Long> deltas = new HashMap<>();
+            entry.getValue().forEach((chapterNumber, counter) -> {
+                long delta = counter.getAndSet(0);
+                if (delta > 0) {
+                    deltas.put(chapterNumber, delta);
+                }
+            });
+            if (!deltas.isEmpty()) {
+                batch.put(entry.getKey(), deltas);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                batch.forEach((key, deltas) -> {
+                    deltas.forEach((chapterNumber, delta) -> redis.hIncrBy(key, chapterNumber.toString(), delta));
+                    redis.expire(key, TimeUnit.DAYS.toSeconds(KEY_TTL_DAYS));
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Redis 不可用时把计数放回，下次重试
+            batch.forEach((key, deltas) -> {
+                Map<Integer, AtomicLong> counters = pending.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+                deltas.forEach((chapterNumber, delta) ->
+                        counters.computeIfAbsent(chapterNumber, number -> new AtomicLong()).addAndGet(delta));
+            });
+            log.warn("章节阅读计数写入 Redis 失败，{} 本书的计数留待下次写入: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+        return batch.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @Override
+    public int persist() {
+        // 零点后留出两个刷新间隔，确保前一天的内存计数已全部写入 Redis
+        LocalDate lastClosed = LocalDateTime.now().minus(2 * flushIntervalMs, ChronoUnit.MILLIS).toLocalDate().minusDays(1);
+        int persisted = 0;
+        for (LocalDate date = lastClosed.minusDays(KEY_TTL_DAYS - 1); !date.isAfter(lastClosed); date = date.plusDays(1)) {
+            String day = date.format(DATE_FORMATTER) + ":";
+            // 当日的计数键与上次中断留下的处理键
+            Set<Integer> bookIds = new LinkedHashSet<>();
+            for (String prefix : List.of(KEY_PREFIX + day, PROCESSING_PREFIX + day)) {
+                try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(1000).build())) {
+                    cursor.forEachRemaining(key -> bookIds.add(Integer.valueOf(key.substring(prefix.length()))));
+                }
+            }
+            for (Integer bookId : bookIds) {
+                try {
+                    persisted += persistBook(date, bookId);
+                } catch (RuntimeException e) {
+                    // 计数保留在计数键或处理键中，下次重试
+                    log.error("书籍 {} 在 {} 的章节阅读计数入库失败: {}", bookId, date, e.getMessage(), e);
+                }
+            }
+        }
+        if (persisted > 0) {
+            log.info("章节阅读计数入库 {} 行", persisted);
+        }
+        return persisted;
+    }
+
+    /**
+     * 占用一本书一天的计数后改名为处理键再入库，其他实例正在处理时跳过
+     */
+    private int persistBook(LocalDate date, Integer bookId) {
+        String suffix = date.format(DATE_FORMATTER) + ":" + bookId;
+        String lock = LOCK_PREFIX + suffix;
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lock, "1", LOCK_TTL))) {
+            return 0;
+        }
+        try {
+            String key = KEY_PREFIX + suffix;
+            String processing = PROCESSING_PREFIX + suffix;
+            int persisted = 0;
+            // 上次入库中断留下的处理键先入库，避免改名时覆盖
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(processing))) {
+                persisted += persistKey(processing, bookId, date);
+            }
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                redisTemplate.rename(key, processing);
+                persisted += persistKey(processing, bookId, date);
+            }
+            return persisted;
+        } finally {
+            redisTemplate.delete(lock);
+        }
+    }
+
+    /**
+     * 处理键的计数在同一事务中累加入库，提交后删除处理键；入库失败时整批回滚并保留处理键，重试不会重复累加
+     */
+    private int persistKey(String key, Integer bookId, LocalDate date) {
+        List<ChapterDailyStats> rows = new ArrayList<>();
+        redisTemplate.opsForHash().entries(key).forEach((field, value) -> {
+            ChapterDailyStats row = new ChapterDailyStats();
+            row.setBookId(bookId);
+            row.setStatDate(date);
+            row.setChapterNumber(Integer.valueOf((String) field));
+            row.setReadCount(Long.parseLong((String) value));
+            rows.add(row);
+        });
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < rows.size(); from += INSERT_CHUNK_SIZE) {
+                    chapterDailyStatsMapper.batchInsertOrUpdate(rows.subList(from, Math.min(from + INSERT_CHUNK_SIZE, rows.size())));
+                }
+            });
+        }
+        redisTemplate.delete(key);
+        return rows.size();
+    }
+
+    @Override
+    public ReadFunnel getFunnel(Integer bookId, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        if (to == null) {
+            to = today;
+        }
+        if (from == null) {
+            from = to.minusDays(29);
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("开始日期不能晚于结束日期");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxFunnelDays) {
+            throw new RuntimeException("查询区间不能超过 " + maxFunnelDays + " 天");
+        }
+
+        Map<Integer, Long> reads = new HashMap<>();
+        for (ChapterDailyStats row : chapterDailyStatsMapper.sumReadsByBookId(bookId, from, to)) {
+            reads.merge(row.getChapterNumber(), row.getReadCount(), Long::sum);
+        }
+        // 尚未入库的计数仍在 Redis 中
+        LocalDate first = from.isAfter(today.minusDays(KEY_TTL_DAYS)) ? from : today.minusDays(KEY_TTL_DAYS);
+        LocalDate last = to.isBefore(today) ? to : today;
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            redisTemplate.opsForHash().entries(key(date, bookId)).forEach((field, value) ->
+                    reads.merge(Integer.valueOf((String) field), Long.parseLong((String) value), Long::sum));
+        }
+
+        ReadFunnel funnel = new ReadFunnel();
+        funnel.setBookId(bookId);
+        funnel.setFrom(from);
+        funnel.setTo(to);
+        List<FunnelStep> steps = new ArrayList<>();
+        long firstReads = -1;
+        long previousReads = 0;
+        for (Chapter chapter : chapterMapper.selectDirectoryByBookId(bookId)) {
+            long count = reads.getOrDefault(chapter.getChapterNumber(), 0L);
+            if (firstReads < 0) {
+                firstReads = count;
+            }
+            FunnelStep step = new FunnelStep();
+            step.setChapterNumber(chapter.getChapterNumber());
+            step.setTitle(chapter.getTitle());
+            step.setReads(count);
+            step.setRetention(firstReads > 0 ? (double) count / firstReads : 0);
+            step.setDropRate(!steps.isEmpty() && previousReads > 0 ? 1 - (double) count / previousReads : 0);
+            steps.add(step);
+            funnel.setTotalReads(funnel.getTotalReads() + count);
+            previousReads = count;
+        }
+        funnel.setSteps(steps);
+        return funnel;
+    }
+
+    private static String key(LocalDate date, Integer bookId) {
+        return KEY_PREFIX + date.format(DATE_FORMATTER) + ":" + bookId;
+    }
+}
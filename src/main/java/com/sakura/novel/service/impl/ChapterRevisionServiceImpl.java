@@ -0,0 +1,126 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.core.codec.ChapterContentCodec;
+import com.sakura.novel.core.text.LineDiff;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterRevision;
+import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.mapper.ChapterRevisionMapper;
+import com.sakura.novel.service.ChapterContentService;
+import com.sakura.novel.service.ChapterRevisionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 章节历史版本服务实现类
+ * 版本 r 默认保存“把版本 r+1 的正文变为版本 r”的行补丁（最大的版本相对当前正文），新版本只追加一行，旧记录无需改写；
+ * 版本号为 snapshot-interval 的整数倍、补丁不比全文小或编辑行数超过上限时保存全文快照。
+ * 重建版本 r 时读取 r 到其后最近快照之间的记录，从快照（没有则从当前正文）开始依次应用补丁，最多应用 snapshot-interval 个。
+ * 补丁与快照都用 {@link ChapterContentCodec} 压缩编码。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChapterRevisionServiceImpl implements ChapterRevisionService {
+
+    private final ChapterRevisionMapper chapterRevisionMapper;
+    private final ChapterMapper chapterMapper;
+    private final ChapterContentService chapterContentService;
+
+    @Value("${novel.chapter.revision.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    @Value("${novel.chapter.revision.max-edits:1000}")
+    private int maxEdits;
+
+    @Value("${novel.chapter.revision.compression-level:6}")
+    private int compressionLevel;
+
+    @Override
+    public void recordRevision(Chapter previous, String previousContent, String currentContent) {
+        // 锁定章节行，同一章节的并发修改依次分配版本号；最大版本号用锁定读取，不受可重复读快照影响
+        chapterMapper.lockById(previous.getId());
+        Integer max = chapterRevisionMapper.selectMaxRevision(previous.getId());
+        int revision = max == null ? 1 : max + 1;
+        ChapterRevision row = encode(revision, previousContent, currentContent);
+        row.setChapterId(previous.getId());
+        row.setTitle(previous.getTitle());
+        row.setWordCount(previous.getWordCount());
+        row.setContentHash(previous.getContentHash());
+        row.setCreateTime(LocalDateTime.now());
+        chapterRevisionMapper.insert(row);
+    }
+
+    @Override
+    public List<ChapterRevision> getRevisions(Integer chapterId) {
+        return chapterRevisionMapper.selectByChapterId(chapterId);
+    }
+
+    @Override
+    public RevisionContent getRevision(Integer chapterId, int revision) {
+        List<ChapterRevision> chain = chapterRevisionMapper.selectChain(chapterId, revision);
+        if (chain.isEmpty() || chain.getLast().getRevision() != revision) {
+            return null;
+        }
+        String current = null;
+        if (!ChapterRevision.KIND_SNAPSHOT.equals(chain.getFirst().getKind())) {
+            Chapter chapter = chapterContentService.load(chapterMapper.selectById(chapterId));
+            if (chapter == null) {
+                return null;
+            }
+            current = chapter.getContent() != null ? chapter.getContent() : "";
+        }
+        ChapterRevision target = chain.getLast();
+        return new RevisionContent(chapterId, revision, target.getTitle(), target.getWordCount(),
+                reconstruct(current, chain), target.getCreateTime(), diffCount(chain));
+    }
+
+    @Override
+    public void deleteByChapterIds(List<Integer> chapterIds) {
+        if (!chapterIds.isEmpty()) {
+            chapterRevisionMapper.deleteByChapterIds(chapterIds);
+        }
+    }
+
+    /**
+     * 编码版本 revision：优先保存相对较新版本的补丁，快照版本或补丁无收益时保存全文
+     */
+    private ChapterRevision encode(int revision, String previousContent, String currentContent) {
+        String previous = previousContent != null ? previousContent : "";
+        String current = currentContent != null ? currentContent : "";
+        String patch = revision % snapshotInterval == 0 ? null : LineDiff.diff(current, previous, maxEdits);
+        boolean snapshot = patch == null || patch.length() >= previous.length();
+
+        ChapterRevision row = new ChapterRevision();
+        row.setRevision(revision);
+        row.setKind(snapshot ? ChapterRevision.KIND_SNAPSHOT : ChapterRevision.KIND_DIFF);
+        row.setData(ChapterContentCodec.encode(snapshot ? previous : patch, compressionLevel, 0, null));
+        row.setContentLength(previous.getBytes(StandardCharsets.UTF_8).length);
+        row.setStoredLength(row.getData().length);
+        return row;
+    }
+
+    /**
+     * 按版本号倒序应用记录，最后一条即目标版本
+     *
+     * @param current 当前正文，链首为快照时不使用
+     */
+    private static String reconstruct(String current, List<ChapterRevision> chain) {
+        String text = current;
+        for (ChapterRevision row : chain) {
+            String data = ChapterContentCodec.decode(row.getData(), dictId -> null);
+            text = ChapterRevision.KIND_SNAPSHOT.equals(row.getKind()) ? data : LineDiff.apply(text, data);
+        }
+        return text;
+    }
+
+    private static int diffCount(List<ChapterRevision> chain) {
+        return (int) chain.stream().filter(row -> ChapterRevision.KIND_DIFF.equals(row.getKind())).count();
+    }
+}
@@ -0,0 +1,263 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.core.timer.TimingWheel;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterSchedule;
+import com.sakura.novel.mapper.ChapterScheduleMapper;
+import com.sakura.novel.service.BookService;
+import com.sakura.novel.service.ChapterScheduleService;
+import com.sakura.novel.service.ChapterService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 章节定时发布服务实现类
+ * 待发布章节的ID按发布时间放入内存中的分层时间轮，启动时从 chapter_schedules 装载全部待发布行（已过期的在下一格发布）；
+ * 单个守护线程等待时间轮到期，到期后重新读取该行，与标记已发布在同一事务中调用 {@link ChapterService#createChapter} 写入章节，
+ * 事务提交后同步该书的搜索文档。改期、取消均以数据库行状态为准，时间轮只负责唤醒。
+ * 事务回滚时新上传的正文对象由 {@link ChapterContentServiceImpl} 在回滚后删除。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChapterScheduleServiceImpl implements ChapterScheduleService {
+
+    private static final int ERROR_MAX_LENGTH = 500;
+
+    private final ChapterScheduleMapper chapterScheduleMapper;
+    private final ChapterService chapterService;
+    private final BookService bookService;
+    private final EsSearchServiceImpl esSearchService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${novel.chapter.release.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${novel.chapter.release.wheel-size:60}")
+    private int wheelSize;
+
+    private TimingWheel<Long> wheel;
+    private Thread worker;
+
+    /**
+     * 定时章节ID -> 时间轮任务句柄，用于改期与取消
+     */
+    private final Map<Long, TimingWheel.Timeout<Long>> timeouts = new ConcurrentHashMap<>();
+
+    private final LongAdder released = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong maxLagMs = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        this.wheel = new TimingWheel<>(tickMs, wheelSize);
+        List<ChapterSchedule> pending = chapterScheduleMapper.selectPendingTimes();
+        pending.forEach(schedule -> enqueue(schedule.getId(), schedule.getReleaseTime()));
+        log.info("已装载 {} 个待发布的定时章节", pending.size());
+
+        this.worker = new Thread(this::runReleases, "chapter-release");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.interrupt();
+    }
+
+    @Override
+    public ChapterSchedule schedule(Chapter chapter) {
+        if (chapter.getBookId() == null || chapter.getChapterNumber() == null || chapter.getTitle() == null) {
+            throw new RuntimeException("书籍ID、章节号与标题不能为空");
+        }
+        requireFuture(chapter.getPublishedTime());
+        if (bookService.getById(chapter.getBookId()) == null) {
+            throw new RuntimeException("书籍不存在");
+        }
+        if (chapterService.existsByBookIdAndChapterNumber(chapter.getBookId(), chapter.getChapterNumber())) {
+            throw new RuntimeException("该书籍的章节号已存在");
+        }
+        if (chapterScheduleMapper.existsPending(chapter.getBookId(), chapter.getChapterNumber())) {
+            throw new RuntimeException("该章节号已有待发布的定时章节");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ChapterSchedule schedule = new ChapterSchedule();
+        schedule.setBookId(chapter.getBookId());
+        schedule.setChapterNumber(chapter.getChapterNumber());
+        schedule.setTitle(chapter.getTitle());
+        schedule.setContent(chapter.getContent());
+        schedule.setIsVip(chapter.getIsVip() != null && chapter.getIsVip());
+        schedule.setReleaseTime(chapter.getPublishedTime());
+        schedule.setStatus(ChapterSchedule.STATUS_PENDING);
+        schedule.setCreateTime(now);
+        schedule.setUpdateTime(now);
+        chapterScheduleMapper.insert(schedule);
+        enqueue(schedule.getId(), schedule.getReleaseTime());
+        schedule.setContent(null);
+        return schedule;
+    }
+
+    @Override
+    public ChapterSchedule reschedule(Long id, LocalDateTime releaseTime) {
+        requireFuture(releaseTime);
+        if (chapterScheduleMapper.updateReleaseTime(id, releaseTime) == 0) {
+            return null;
+        }
+        dequeue(id);
+        enqueue(id, releaseTime);
+        ChapterSchedule schedule = chapterScheduleMapper.selectById(id);
+        if (schedule != null) {
+            schedule.setContent(null);
+        }
+        return schedule;
+    }
+
+    @Override
+    public boolean cancel(Long id) {
+        if (chapterScheduleMapper.cancel(id) == 0) {
+            return false;
+        }
+        dequeue(id);
+        return true;
+    }
+
+    @Override
+    public List<ChapterSchedule> getPending(Integer bookId) {
+        return chapterScheduleMapper.selectPendingByBookId(bookId);
+    }
+
+    @Override
+    public ReleaseStats getStats() {
+        ReleaseStats stats = new ReleaseStats();
+        stats.setPending(wheel.size());
+        stats.setWheelLevels(wheel.levels());
+        stats.setTickMs(tickMs);
+        stats.setWheelSize(wheelSize);
+        stats.setReleased(released.sum());
+        stats.setFailed(failed.sum());
+        stats.setMaxLagMs(maxLagMs.get());
+        return stats;
+    }
+
+    private void requireFuture(LocalDateTime releaseTime) {
+        if (releaseTime == null || !releaseTime.isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("发布时间必须晚于当前时间");
+        }
+    }
+
+    /**
+     * 放入时间轮；已过期的在下一格发布，时间轮当前时间不晚于系统时间，因此一定能放入
+     */
+    private void enqueue(Long id, LocalDateTime releaseTime) {
+        long deadline = Math.max(toMillis(releaseTime), System.currentTimeMillis() + 1);
+        TimingWheel.Timeout<Long> timeout = wheel.schedule(id, deadline);
+        if (timeout != null) {
+            timeouts.put(id, timeout);
+        }
+    }
+
+    private void dequeue(Long id) {
+        TimingWheel.Timeout<Long> timeout = timeouts.remove(id);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    private void runReleases() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                for (Long id : wheel.poll(tickMs * wheelSize)) {
+                    timeouts.remove(id);
+                    release(id);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("定时章节发布异常", e);
+            }
+        }
+    }
+
+    /**
+     * 发布一个到期的定时章节；行已被取消、发布或改期到更晚时跳过
+     */
+    private void release(Long id) {
+        ChapterSchedule schedule = chapterScheduleMapper.selectById(id);
+        if (schedule == null || !ChapterSchedule.STATUS_PENDING.equals(schedule.getStatus())) {
+            return;
+        }
+        long releaseAt = toMillis(schedule.getReleaseTime());
+        if (releaseAt > System.currentTimeMillis()) {
+            // 其他实例改期后本实例的时间轮仍是旧时间
+            enqueue(id, schedule.getReleaseTime());
+            return;
+        }
+
+        if (bookService.getById(schedule.getBookId()) == null) {
+            // 书籍已删除：取消该行，不再写入章节
+            if (chapterScheduleMapper.cancel(id) > 0) {
+                log.info("定时章节 {} 所属书籍 {} 已删除，取消发布", id, schedule.getBookId());
+            }
+            return;
+        }
+
+        Chapter chapter = new Chapter();
+        chapter.setBookId(schedule.getBookId());
+        chapter.setChapterNumber(schedule.getChapterNumber());
+        chapter.setTitle(schedule.getTitle());
+        chapter.setContent(schedule.getContent());
+        chapter.setIsVip(schedule.getIsVip());
+        chapter.setPublishedTime(schedule.getReleaseTime());
+        try {
+            // 写入章节与标记已发布在同一事务中：并发取消或其他实例已发布时回滚章节
+            transactionTemplate.executeWithoutResult(status -> {
+                Chapter created = chapterService.createChapter(chapter);
+                if (chapterScheduleMapper.markReleased(id, created.getId()) == 0) {
+                    throw new IllegalStateException("定时章节已不是待发布状态");
+                }
+            });
+        } catch (IllegalStateException e) {
+            log.info("定时章节 {} 已被取消或发布，跳过", id);
+            return;
+        } catch (RuntimeException e) {
+            // 其他实例已发布该行时本实例会因章节号已存在而失败，按行的当前状态判断是否跳过
+            ChapterSchedule current = chapterScheduleMapper.selectById(id);
+            if (current == null || !ChapterSchedule.STATUS_PENDING.equals(current.getStatus())) {
+                log.info("定时章节 {} 已被取消或由其他实例发布，跳过", id);
+                return;
+            }
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            chapterScheduleMapper.markFailed(id, error.length() > ERROR_MAX_LENGTH ? error.substring(0, ERROR_MAX_LENGTH) : error);
+            failed.increment();
+            log.warn("定时章节 {} 发布失败: {}", id, error);
+            return;
+        }
+        released.increment();
+        maxLagMs.accumulateAndGet(System.currentTimeMillis() - releaseAt, Math::max);
+
+        try {
+            esSearchService.syncBook(schedule.getBookId());
+        } catch (IOException | RuntimeException e) {
+            log.warn("定时章节 {} 已发布，书籍 {} 搜索文档同步失败: {}", id, schedule.getBookId(), e.getMessage());
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,42 +1,256 @@
 package com.sakura.novel.service.impl;
 
-import com.github.pagehelper.PageInfo;
 import com.sakura.novel.DTO.Response.ChapterSummary;
+import com.sakura.novel.DTO.Response.CursorPageResult;
+import com.sakura.novel.core.cache.ChapterDirectory;
+import com.sakura.novel.core.cache.LruCache;
+import com.sakura.novel.core.cache.OffHeapByteCache;
+import com.sakura.novel.core.codec.EncodedContentStream;
+import com.sakura.novel.core.text.WordCounter;
+import com.sakura.novel.core.cache.PageCountCache;
+import com.sakura.novel.entity.BookDeletionJob;
 import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterRawContent;
 import com.sakura.novel.DTO.Response.PageResult;
+import com.sakura.novel.mapper.AuthorMapper;
+import com.sakura.novel.mapper.BookDeletionJobMapper;
+import com.sakura.novel.mapper.BookMapper;
+import com.sakura.novel.mapper.BookStatsMapper;
 import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.mapper.ChapterTocMapper;
+import com.sakura.novel.service.AuthorService;
+import com.sakura.novel.service.BookExportService;
+import com.sakura.novel.service.BookService;
+import com.sakura.novel.service.ChapterContentService;
+import com.sakura.novel.service.ChapterReadStatsService;
+import com.sakura.novel.service.ChapterRevisionService;
 import com.sakura.novel.service.ChapterService;
+import com.sakura.novel.service.ExistenceFilterService;
+import com.sakura.novel.service.ExistenceFilterService.FilterType;
+import com.sakura.novel.utils.CursorUtil;
+import com.sakura.novel.utils.ETagUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 章节服务实现类
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChapterServiceImpl implements ChapterService {
 
     private final ChapterMapper chapterMapper;
+    private final BookService bookService;
+    private final PageCountCache pageCountCache;
+    private final ExistenceFilterService existenceFilterService;
+    private final ChapterContentService chapterContentService;
+    private final BookExportService bookExportService;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final BookMapper bookMapper;
+    private final AuthorMapper authorMapper;
+    private final BookStatsMapper bookStatsMapper;
+    private final ChapterTocMapper chapterTocMapper;
+    private final BookDeletionJobMapper bookDeletionJobMapper;
+    private final AuthorService authorService;
+    private final ChapterRevisionService chapterRevisionService;
+    private final ChapterReadStatsService chapterReadStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 章节 ETag 缓存：按章节ID、按“书籍ID:章节号”两种访问方式分别缓存，
+     * 条件GET命中时无需读取章节正文。缓存只在本实例的修改时失效，其他实例的修改靠过期时间兜底
+     */
+    private LruCache<Integer, String> etagById;
+    private LruCache<String, String> etagByNumber;
+    /**
+     * 章节ID -> 所属书籍与章节号，与 ETag 一起写入，用于按ID访问时记录阅读
+     */
+    private LruCache<Integer, ChapterLocation> locationById;
+
+    @Value("${novel.chapter.etag-ttl-ms:60000}")
+    private long etagTtlMs;
+
+    @Value("${novel.chapter.directory-cache-size:2000}")
+    private int directoryCacheSize;
+
+    @Value("${novel.chapter.directory-ttl-ms:60000}")
+    private long directoryTtlMs;
+
+    /**
+     * 每本书的章节目录，本实例章节增删改时失效，其他实例的修改靠过期时间兜底；
+     * 导航、章节数、VIP 章节数、存在性判断均由目录在内存中完成，章节数同时作为章节列表分页的总数来源
+     */
+    private LruCache<Integer, ChapterDirectory> directories;
+
+    /**
+     * 章节变更版本号，每次章节增删改时递增；目录或正文加载期间版本发生变化时不回填缓存，避免缓存变更前的旧数据
+     */
+    private final AtomicLong chapterVersion = new AtomicLong();
+
+    @Value("${novel.chapter.prefetch.enabled:true}")
+    private boolean prefetchEnabled;
+
+    @Value("${novel.chapter.prefetch.cache-size:500}")
+    private int contentCacheSize;
+
+    /**
+     * 连续阅读时的最大预读章节数，普通阅读只预读下一章
+     */
+    @Value("${novel.chapter.prefetch.max-depth:2}")
+    private int prefetchMaxDepth;
+
+    /**
+     * 同一本书在该时间内读完上一章又请求本章时视为连续阅读
+     */
+    @Value("${novel.chapter.prefetch.binge-window-ms:180000}")
+    private long bingeWindowMillis;
+
+    @Value("${novel.chapter.prefetch.threads:2}")
+    private int prefetchThreads;
+
+    @Value("${novel.chapter.prefetch.queue-size:256}")
+    private int prefetchQueueSize;
+
+    /**
+     * 章节正文缓存：键为“书籍ID:章节号”，保存含正文的完整章节，由阅读请求回填与预读填充；
+     * 与 ETag 缓存使用相同的过期时间，命中时不回填 ETag，其他实例的修改最多滞后一个过期时间
+     */
+    private LruCache<String, CachedChapter> contentCache;
+
+    /**
+     * 每本书最近一次被阅读的章节号与时间（毫秒），用于识别连续阅读
+     */
+    private LruCache<Integer, long[]> lastReads;
+
+    /**
+     * 批量导入时每批插入的最大章节数
+     */
+    @Value("${novel.chapter.import.chunk-size:500}")
+    private int importChunkSize;
+
+    /**
+     * 批量导入时每批正文的最大字符数，限制单批占用的内存
+     */
+    @Value("${novel.chapter.import.chunk-chars:8388608}")
+    private long importChunkChars;
+
+    /**
+     * 区间获取单次最多的章节数
+     */
+    @Value("${novel.chapter.range.max-chapters:100}")
+    private int rangeMaxChapters;
+
+    @Value("${novel.chapter.body-cache.enabled:true}")
+    private boolean bodyCacheEnabled;
+
+    @Value("${novel.chapter.body-cache.capacity-mb:256}")
+    private int bodyCacheCapacityMb;
+
+    @Value("${novel.chapter.body-cache.slab-size-mb:16}")
+    private int bodyCacheSlabMb;
+
+    @Value("${novel.chapter.body-cache.block-size:4096}")
+    private int bodyCacheBlockSize;
+
+    @Value("${novel.chapter.body-cache.max-entry-kb:1024}")
+    private int bodyCacheMaxEntryKb;
+
+    /**
+     * 堆外正文缓存：正文对象键（尚未迁移的正文为 "#章节ID"）-> 编码后的存储字节，供正文流式接口直接输出。
+     * 正文相同的章节共用同一对象键，只缓存一份；对象键对应的字节不会改变，章节修改时只需失效章节ID到对象键的映射
+     */
+    private OffHeapByteCache<String> bodyCache;
+    private final LruCache<Integer, String> bodyKeyById = new LruCache<>(50000);
+
+    private final Set<String> prefetching = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor prefetchExecutor;
+    private final LongAdder prefetchScheduled = new LongAdder();
+    private final LongAdder prefetchLoaded = new LongAdder();
+    private final LongAdder prefetchHits = new LongAdder();
+    private final LongAdder prefetchRejected = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        this.etagById = new LruCache<>(50000, etagTtlMs);
+        this.etagByNumber = new LruCache<>(50000, etagTtlMs);
+        this.locationById = new LruCache<>(50000);
+        this.directories = new LruCache<>(directoryCacheSize, directoryTtlMs);
+        this.contentCache = new LruCache<>(contentCacheSize, etagTtlMs);
+        this.lastReads = new LruCache<>(directoryCacheSize);
+        if (bodyCacheEnabled) {
+            this.bodyCache = new OffHeapByteCache<>((long) bodyCacheCapacityMb << 20, bodyCacheSlabMb << 20,
+                    bodyCacheBlockSize, bodyCacheMaxEntryKb << 10);
+        }
+        // 低优先级守护线程，队列满时直接放弃预读，不影响正常请求
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.prefetchExecutor = new ThreadPoolExecutor(prefetchThreads, prefetchThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(prefetchQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "chapter-prefetch-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
 
     // ===== 基础 CRUD 操作 =====
 
     @Override
+    @Transactional
     public Chapter createChapter(Chapter chapter) {
         // 设置创建时间
         chapter.setCreateTime(LocalDateTime.now());
+        chapter.setUpdateTime(chapter.getCreateTime());
+
+        // 书籍行与删除墓碑在同一事务中删除/写入，书籍不存在即已删除，不再接受新章节
+        if (bookService.getById(chapter.getBookId()) == null) {
+            throw new RuntimeException("书籍不存在");
+        }
 
         // 检查章节是否已存在
         if (existsByBookIdAndChapterNumber(chapter.getBookId(), chapter.getChapterNumber())) {
             throw new RuntimeException("该书籍的章节号已存在");
         }
 
-        // 设置默认值
-        if (chapter.getWordCount() == null) {
-            chapter.setWordCount(0);
-        }
+        // 字数由服务端按正文统计，不信任客户端提交的值
+        chapter.setWordCount(WordCounter.count(chapter.getContent()));
         if (chapter.getIsVip() == null) {
             chapter.setIsVip(false);
         }
@@ -44,28 +258,105 @@ public class ChapterServiceImpl implements ChapterService {
             chapter.setPublishedTime(LocalDateTime.now());
         }
 
-        chapterMapper.insert(chapter);
+        // 正文先写入对象存储，MySQL 只保存元数据与对象键
+        chapterContentService.store(chapter);
+        try {
+            chapterMapper.insert(chapter);
+            AggregateDelta delta = new AggregateDelta();
+            delta.addWords(chapter.getBookId(), words(chapter));
+            delta.chapterWritten(chapter);
+            applyAggregates(delta);
+            TocDelta toc = new TocDelta();
+            toc.upsert(chapter);
+            applyToc(toc);
+        } catch (RuntimeException e) {
+            chapterContentService.delete(chapter.getContentKey());
+            throw e;
+        }
+        existenceFilterService.add(FilterType.CHAPTER, chapter.getId());
+        existenceFilterService.addChapterNumber(chapter.getBookId(), chapter.getChapterNumber());
+        evictDirectory(chapter.getBookId());
+        bookService.invalidateBookDetail(chapter.getBookId());
         return chapter;
     }
 
     @Override
+    @Transactional
     public boolean deleteById(Integer id) {
-        Chapter chapter = getById(id);
+        // 只需元数据与对象键，不读取正文
+        Chapter chapter = chapterMapper.selectById(id);
         if (chapter == null) {
             throw new RuntimeException("章节不存在");
         }
-        return chapterMapper.deleteById(id) > 0;
+        boolean deleted = chapterMapper.deleteById(id) > 0;
+        if (deleted) {
+            chapterRevisionService.deleteByChapterIds(List.of(id));
+            AggregateDelta delta = new AggregateDelta();
+            delta.addWords(chapter.getBookId(), -words(chapter));
+            delta.chapterRemoved(chapter.getBookId(), id);
+            applyAggregates(delta);
+            TocDelta toc = new TocDelta();
+            toc.delete(chapter.getBookId(), id);
+            applyToc(toc);
+            chapterContentService.delete(chapter.getContentKey());
+        }
+        evictETag(chapter);
+        evictDirectory(chapter.getBookId());
+        bookService.invalidateBookDetail(chapter.getBookId());
+        return deleted;
     }
 
     @Override
     public boolean deleteByBookId(Integer bookId) {
-        return chapterMapper.deleteByBookId(bookId) > 0;
+        // 单条 DELETE 删除整本章节会长时间持有锁并产生大量 undo 日志，改由后台任务按章节ID分批删除；
+        // 范围限定为当前已存在的章节，之后新增的章节不受影响
+        Integer maxId = chapterMapper.selectMaxIdByBookId(bookId);
+        if (maxId == null) {
+            return false;
+        }
+        bookDeletionJobMapper.insert(BookDeletionJob.of(bookId, BookDeletionJob.SCOPE_CHAPTERS, maxId));
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public DeletedChunk deleteChapterChunk(Integer bookId, int afterId, int maxId, int limit) {
+        List<Chapter> chapters = chapterMapper.selectDeletionChunk(bookId, afterId, maxId, limit);
+        if (chapters.isEmpty()) {
+            return null;
+        }
+        List<Integer> ids = new ArrayList<>(chapters.size());
+        AggregateDelta delta = new AggregateDelta();
+        TocDelta toc = new TocDelta();
+        for (Chapter chapter : chapters) {
+            ids.add(chapter.getId());
+            delta.addWords(bookId, -words(chapter));
+            toc.delete(bookId, chapter.getId());
+        }
+        // 章节已加锁，删除行数不一致说明有其他事务绕过锁删除了章节，整批回滚，避免重复扣减字数与释放正文引用
+        if (chapterMapper.deleteByIds(ids) != ids.size()) {
+            throw new RuntimeException("章节已被并发删除");
+        }
+        chapterRevisionService.deleteByChapterIds(ids);
+        delta.chapterRemoved(bookId, null);
+        applyAggregates(delta);
+        applyToc(toc);
+
+        for (Chapter chapter : chapters) {
+            chapterContentService.delete(chapter.getContentKey());
+            evictETag(chapter);
+        }
+        evictDirectory(bookId);
+        bookExportService.evict(bookId);
+        bookService.invalidateBookDetail(bookId);
+        return new DeletedChunk(chapters.size(), ids.get(ids.size() - 1));
     }
 
     @Override
+    @Transactional
     public Chapter updateChapter(Chapter chapter) {
-        Chapter existingChapter = getById(chapter.getId());
-        if (existingChapter == null) {
+        Chapter existingChapter = chapterMapper.selectById(chapter.getId());
+        if (existingChapter == null || bookService.isDeleted(existingChapter.getBookId())) {
             throw new RuntimeException("章节不存在");
         }
 
@@ -76,20 +367,340 @@ public class ChapterServiceImpl implements ChapterService {
             }
         }
 
-        chapterMapper.updateById(chapter);
+        chapter.setUpdateTime(LocalDateTime.now());
+        if (chapter.getContent() != null) {
+            chapter.setWordCount(WordCounter.count(chapter.getContent()));
+        } else {
+            // 未修改正文时保留原字数，字数只由服务端按正文统计
+            chapter.setWordCount(existingChapter.getWordCount());
+        }
+        // 正文或标题被修改时保存修改前的版本，旧正文须在删除旧对象前读出；
+        // 正文是否修改按规范化哈希判断，只改动行尾空白或换行符的重复提交不产生版本
+        boolean titleChanged = chapter.getTitle() != null && !chapter.getTitle().equals(existingChapter.getTitle());
+        String newHash = chapterContentService.contentHash(chapter.getContent());
+        String previousContent = null;
+        boolean revised = false;
+        if (chapter.getContent() != null || titleChanged) {
+            try {
+                previousContent = chapterContentService.load(existingChapter).getContent();
+                String previousHash = existingChapter.getContentHash() != null
+                        ? existingChapter.getContentHash() : chapterContentService.contentHash(previousContent);
+                revised = titleChanged || (newHash != null && !newHash.equals(previousHash));
+            } catch (RuntimeException e) {
+                // 旧正文丢失时仍允许修改，只是不保存该版本
+                log.warn("章节 {} 旧正文读取失败，不保存历史版本: {}", existingChapter.getId(), e.getMessage());
+            }
+        }
+        // 写入新正文对象，元数据更新成功后再删除旧对象；提交的正文与原文完全相同时沿用原对象
+        boolean contentUnchanged = chapter.getContent() != null && existingChapter.getContentKey() != null
+                && existingChapter.getContentHash() != null && existingChapter.getContentHash().equals(newHash)
+                && chapter.getContent().equals(previousContent);
+        if (contentUnchanged) {
+            chapter.setContentKey(existingChapter.getContentKey());
+            chapter.setContentHash(existingChapter.getContentHash());
+        } else {
+            chapterContentService.store(chapter);
+        }
+        // 只有写入了新对象时才需要回滚新对象、释放旧对象
+        boolean stored = chapter.getContentKey() != null && !chapter.getContentKey().equals(existingChapter.getContentKey());
+        try {
+            chapterMapper.updateById(chapter);
+            if (revised) {
+                chapterRevisionService.recordRevision(existingChapter, previousContent,
+                        chapter.getContent() != null ? chapter.getContent() : previousContent);
+            }
+            applyAggregates(updateDelta(existingChapter, chapter));
+            applyToc(tocDelta(existingChapter, chapter));
+        } catch (RuntimeException e) {
+            if (stored) {
+                chapterContentService.delete(chapter.getContentKey());
+            }
+            throw e;
+        }
+        if (stored) {
+            chapterContentService.delete(existingChapter.getContentKey());
+        }
+        // 章节号可能被修改，登记新的 (书籍ID, 章节号)
+        existenceFilterService.addChapterNumber(
+                chapter.getBookId() != null ? chapter.getBookId() : existingChapter.getBookId(),
+                chapter.getChapterNumber() != null ? chapter.getChapterNumber() : existingChapter.getChapterNumber());
+        // 旧章节号与新章节号对应的缓存都需要失效
+        evictETag(existingChapter);
+        evictETag(chapter);
+        evictDirectory(existingChapter.getBookId());
+        if (chapter.getBookId() != null && !chapter.getBookId().equals(existingChapter.getBookId())) {
+            evictDirectory(chapter.getBookId());
+        }
+        bookService.invalidateBookDetail(existingChapter.getBookId());
         return chapter;
     }
 
+    // ===== 冗余统计维护 =====
+
+    /**
+     * 章节修改产生的增量：字数差额；修改了书籍或章节号时重新确定原书与新书的最新章节
+     */
+    private static AggregateDelta updateDelta(Chapter existing, Chapter updated) {
+        Integer bookId = updated.getBookId() != null ? updated.getBookId() : existing.getBookId();
+        Integer chapterNumber = updated.getChapterNumber() != null ? updated.getChapterNumber() : existing.getChapterNumber();
+        AggregateDelta delta = new AggregateDelta();
+        delta.addWords(existing.getBookId(), -words(existing));
+        delta.addWords(bookId, words(updated));
+        if (!bookId.equals(existing.getBookId()) || !chapterNumber.equals(existing.getChapterNumber())) {
+            delta.chapterRemoved(existing.getBookId(), existing.getId());
+            Chapter moved = new Chapter();
+            moved.setId(existing.getId());
+            moved.setBookId(bookId);
+            moved.setChapterNumber(chapterNumber);
+            delta.chapterWritten(moved);
+        }
+        return delta;
+    }
+
+    /**
+     * 章节修改产生的目录变更：移到其他书籍时原书删除、新书新增；章节号、标题或 VIP 标记变化时更新
+     */
+    private static TocDelta tocDelta(Chapter existing, Chapter updated) {
+        TocDelta delta = new TocDelta();
+        if (!Objects.equals(existing.getBookId(), updated.getBookId())) {
+            delta.delete(existing.getBookId(), existing.getId());
+            delta.upsert(updated);
+        } else if (!Objects.equals(existing.getChapterNumber(), updated.getChapterNumber())
+                || !Objects.equals(existing.getTitle(), updated.getTitle())
+                || !Objects.equals(existing.getIsVip(), updated.getIsVip())) {
+            delta.upsert(updated);
+        }
+        return delta;
+    }
+
+    private void applyToc(TocDelta delta) {
+        if (!delta.isEmpty()) {
+            delta.apply(bookMapper, chapterTocMapper);
+        }
+    }
+
+    /**
+     * 在当前事务内应用冗余统计增量，并失效统计发生变化的作者缓存
+     */
+    private void applyAggregates(AggregateDelta delta) {
+        if (!delta.isEmpty()) {
+            authorService.invalidateAuthors(delta.apply(bookMapper, authorMapper, bookStatsMapper));
+        }
+    }
+
+    private static int words(Chapter chapter) {
+        return chapter.getWordCount() == null ? 0 : chapter.getWordCount();
+    }
+
     @Override
     public Chapter getById(Integer id) {
-        return chapterMapper.selectById(id);
+        // 布隆过滤器判定一定不存在时直接返回，不查询数据库
+        if (!existenceFilterService.mightContain(FilterType.CHAPTER, id)) {
+            return null;
+        }
+        Chapter chapter = chapterMapper.selectById(id);
+        if (chapter == null) {
+            existenceFilterService.recordFalsePositive(FilterType.CHAPTER);
+            return null;
+        }
+        if (bookService.isDeleted(chapter.getBookId())) {
+            return null;
+        }
+        return chapterContentService.load(cacheETag(chapter));
+    }
+
+    // ===== 条件GET支持 =====
+
+    @Override
+    public String getChapterETag(Integer id) {
+        // 所属书籍未知或已删除时不使用缓存的 ETag，由调用方加载章节后判断
+        ChapterLocation location = id == null ? null : locationById.get(id);
+        if (location == null || bookService.isDeleted(location.bookId())) {
+            return null;
+        }
+        return etagById.get(id);
+    }
+
+    @Override
+    public String getChapterETag(Integer bookId, Integer chapterNumber) {
+        if (bookService.isDeleted(bookId)) {
+            return null;
+        }
+        return etagByNumber.get(bookId + ":" + chapterNumber);
+    }
+
+    @Override
+    public void recordRead(Integer bookId, Integer chapterNumber) {
+        chapterReadStatsService.recordRead(bookId, chapterNumber);
+    }
+
+    @Override
+    public void recordRead(Integer id) {
+        ChapterLocation location = id == null ? null : locationById.get(id);
+        if (location != null) {
+            chapterReadStatsService.recordRead(location.bookId(), location.chapterNumber());
+        }
+    }
+
+    // ===== 正文流式输出 =====
+
+    @Override
+    public EncodedContentStream openContentStream(Integer id) {
+        if (!existenceFilterService.mightContain(FilterType.CHAPTER, id)) {
+            return null;
+        }
+        // ETag 已过期时可能是其他实例修改过的章节，不再使用缓存的正文对象键
+        String bodyKey = bodyCache != null && getChapterETag(id) != null ? bodyKeyById.get(id) : null;
+        if (bodyKey != null) {
+            // 热点章节直接从堆外缓存输出，不查询数据库与对象存储
+            OffHeapByteCache<String>.EntryStream cached = bodyCache.get(bodyKey);
+            if (cached != null) {
+                return chapterContentService.openStored(cached, cached.getLength());
+            }
+        }
+
+        long version = chapterVersion.get();
+        ChapterRawContent row = chapterMapper.selectRawContentById(id);
+        if (row == null) {
+            existenceFilterService.recordFalsePositive(FilterType.CHAPTER);
+            return null;
+        }
+        if (bookService.isDeleted(row.getBookId())) {
+            return null;
+        }
+        // 与 cacheETag 使用相同的版本字段，流式接口与 JSON 接口共享同一 ETag
+        etagById.put(id, ETagUtil.of(id, row.getUpdateTime()));
+        if (row.getChapterNumber() != null) {
+            locationById.put(id, new ChapterLocation(row.getBookId(), row.getChapterNumber()));
+        }
+        if (bodyCache == null) {
+            return chapterContentService.openStream(row);
+        }
+
+        bodyKey = row.getContentKey() != null ? row.getContentKey() : "#" + id;
+        // 其他章节已缓存了相同正文时直接复用，不读取对象存储
+        OffHeapByteCache<String>.EntryStream shared = bodyCache.get(bodyKey);
+        byte[] stored = null;
+        if (shared == null) {
+            stored = chapterContentService.readStored(row);
+            if (stored == null) {
+                return null;
+            }
+            bodyCache.put(bodyKey, stored);
+        }
+        bodyKeyById.put(id, bodyKey);
+        if (chapterVersion.get() != version) {
+            // 读取期间章节发生变更，丢弃可能过期的映射与未迁移正文
+            bodyKeyById.invalidate(id);
+            bodyCache.invalidate("#" + id);
+        }
+        return shared != null ? chapterContentService.openStored(shared, shared.getLength())
+                : chapterContentService.openStored(new ByteArrayInputStream(stored), stored.length);
+    }
+
+    @Override
+    public BodyCacheStats getBodyCacheStats() {
+        BodyCacheStats stats = new BodyCacheStats();
+        stats.setEnabled(bodyCache != null);
+        if (bodyCache == null) {
+            return stats;
+        }
+        stats.setEntries(bodyCache.size());
+        stats.setStoredBytes(bodyCache.storedBytes());
+        stats.setUsedBytes(bodyCache.usedBytes());
+        stats.setAllocatedBytes(bodyCache.allocatedBytes());
+        stats.setCapacityBytes(bodyCache.capacityBytes());
+        stats.setHits(bodyCache.hitCount());
+        stats.setMisses(bodyCache.missCount());
+        stats.setHitRate(bodyCache.hitRate());
+        stats.setEvictions(bodyCache.evictionCount());
+        stats.setRejections(bodyCache.rejectionCount());
+        return stats;
+    }
+
+    /**
+     * 根据章节ID与最后修改时间计算 ETag 并写入缓存
+     */
+    private Chapter cacheETag(Chapter chapter) {
+        if (chapter == null || chapter.getId() == null) {
+            return chapter;
+        }
+        LocalDateTime version = chapter.getUpdateTime() != null ? chapter.getUpdateTime() : chapter.getCreateTime();
+        String etag = ETagUtil.of(chapter.getId(), version);
+        etagById.put(chapter.getId(), etag);
+        if (chapter.getBookId() != null && chapter.getChapterNumber() != null) {
+            etagByNumber.put(chapter.getBookId() + ":" + chapter.getChapterNumber(), etag);
+            locationById.put(chapter.getId(), new ChapterLocation(chapter.getBookId(), chapter.getChapterNumber()));
+        }
+        return chapter;
+    }
+
+    private record ChapterLocation(Integer bookId, Integer chapterNumber) {
+    }
+
+    private void evictDirectory(Integer bookId) {
+        chapterVersion.incrementAndGet();
+        directories.invalidate(bookId);
+        pageCountCache.invalidate("chapter:" + bookId);
+    }
+
+    /**
+     * 获取书籍章节目录，未命中时从数据库加载
+     */
+    private ChapterDirectory getDirectory(Integer bookId) {
+        if (bookService.isDeleted(bookId)) {
+            // 已删除书籍的残留章节不进入目录，也不缓存
+            directories.invalidate(bookId);
+            return ChapterDirectory.of(bookId, chapterVersion.get(), List.of());
+        }
+        ChapterDirectory directory = directories.get(bookId);
+        if (directory != null) {
+            return directory;
+        }
+        long version = chapterVersion.get();
+        directory = ChapterDirectory.of(bookId, version, chapterMapper.selectDirectoryByBookId(bookId));
+        if (chapterVersion.get() == version) {
+            directories.put(bookId, directory);
+        }
+        return directory;
+    }
+
+    private void evictETag(Chapter chapter) {
+        if (chapter.getId() != null) {
+            etagById.invalidate(chapter.getId());
+            locationById.invalidate(chapter.getId());
+            if (bodyCache != null) {
+                bodyKeyById.invalidate(chapter.getId());
+                bodyCache.invalidate("#" + chapter.getId());
+            }
+        }
+        if (chapter.getBookId() != null && chapter.getChapterNumber() != null) {
+            etagByNumber.invalidate(chapter.getBookId() + ":" + chapter.getChapterNumber());
+            contentCache.invalidate(chapter.getBookId() + ":" + chapter.getChapterNumber());
+        }
     }
 
     // ===== 章节查询功能 =====
 
     @Override
     public Chapter getByBookIdAndChapterNumber(Integer bookId, Integer chapterNumber) {
-        return chapterMapper.selectByBookIdAndChapterNumber(bookId, chapterNumber);
+        // 已删除书籍的章节在后台分批删除完之前仍在表中，按墓碑拒绝访问
+        if (bookService.isDeleted(bookId) || !mightContainChapterNumber(bookId, chapterNumber)) {
+            return null;
+        }
+        Chapter chapter = getCachedChapter(bookId, chapterNumber);
+        if (chapter == null) {
+            long version = chapterVersion.get();
+            chapter = chapterMapper.selectByBookIdAndChapterNumber(bookId, chapterNumber);
+            if (chapter == null) {
+                existenceFilterService.recordFalsePositive(FilterType.CHAPTER_NUMBER);
+                return null;
+            }
+            chapterContentService.load(cacheETag(chapter));
+            cacheChapter(chapter, version, false);
+        }
+        readAhead(bookId, chapterNumber);
+        return chapter;
     }
 
 //    @Override
@@ -138,63 +749,206 @@ public class ChapterServiceImpl implements ChapterService {
 
     @Override
     public List<Chapter> getAllChaptersByBookId(Integer bookId) {
+        if (bookService.isDeleted(bookId)) {
+            return List.of();
+        }
         return chapterMapper.selectByBookId(bookId);
     }
 
+    @Override
+    public int streamChapterRange(Integer bookId, int from, int to, Predicate<Chapter> consumer) {
+        if (from < 1 || to < from) {
+            throw new RuntimeException("章节范围无效");
+        }
+        if (to - from + 1 > rangeMaxChapters) {
+            throw new RuntimeException("单次最多获取" + rangeMaxChapters + "章");
+        }
+        if (bookService.isDeleted(bookId)) {
+            return 0;
+        }
+        // 一次查询取出区间内章节，对象存储中的正文在交给 consumer 前逐章加载，优先使用正文缓存
+        List<Chapter> chapters = chapterMapper.selectRangeByBookId(bookId, from, to);
+        int count = 0;
+        for (Chapter chapter : chapters) {
+            Chapter cached = getCachedChapter(bookId, chapter.getChapterNumber());
+            Chapter loaded = cached != null ? cached : chapterContentService.load(cacheETag(chapter));
+            if (!consumer.test(loaded)) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
     @Override
     public ChapterReadInfo getChapterReadInfo(Integer bookId, Integer chapterNumber) {
-        // 获取当前章节
-        Chapter currentChapter = getByBookIdAndChapterNumber(bookId, chapterNumber);
-        if (currentChapter == null) {
+        if (bookService.isDeleted(bookId) || !mightContainChapterNumber(bookId, chapterNumber)) {
             throw new RuntimeException("章节不存在");
         }
 
-        // 获取前一章节和下一章节
-        Chapter previousChapter = getPreviousChapter(bookId, chapterNumber);
-        Chapter nextChapter = getNextChapter(bookId, chapterNumber);
-
-        // 获取总章节数
-        int totalChapters = getChapterCountByBookId(bookId);
+        ChapterReadInfo readInfo;
+        Chapter cached = getCachedChapter(bookId, chapterNumber);
+        if (cached != null) {
+            // 正文已缓存（通常由预读加载），导航与章节数直接查内存目录
+            ChapterDirectory directory = getDirectory(bookId);
+            readInfo = new ChapterReadInfo();
+            readInfo.setCurrentChapter(cached);
+            readInfo.setPreviousChapter(directory.previous(chapterNumber));
+            readInfo.setNextChapter(directory.next(chapterNumber));
+        } else {
+            // 一次查询获取当前章节与前后章节导航，只读取当前章节的正文
+            long version = chapterVersion.get();
+            readInfo = chapterMapper.selectReadView(bookId, chapterNumber);
+            if (readInfo == null || readInfo.getCurrentChapter() == null) {
+                existenceFilterService.recordFalsePositive(FilterType.CHAPTER_NUMBER);
+                throw new RuntimeException("章节不存在");
+            }
+            chapterContentService.load(cacheETag(readInfo.getCurrentChapter()));
+            cacheChapter(readInfo.getCurrentChapter(), version, false);
+        }
+        readAhead(bookId, chapterNumber);
+        chapterReadStatsService.recordRead(bookId, chapterNumber);
 
-        // 构建章节阅读信息
-        ChapterReadInfo readInfo = new ChapterReadInfo();
-        readInfo.setCurrentChapter(currentChapter);
-        readInfo.setPreviousChapter(previousChapter);
-        readInfo.setNextChapter(nextChapter);
-        readInfo.setTotalChapters(totalChapters);
-        readInfo.setFirst(previousChapter == null);
-        readInfo.setLast(nextChapter == null);
+        // 总章节数走章节目录
+        readInfo.setTotalChapters(getChapterCountByBookId(bookId));
+        readInfo.setFirst(readInfo.getPreviousChapter() == null);
+        readInfo.setLast(readInfo.getNextChapter() == null);
 
         return readInfo;
     }
 
+    /**
+     * 章节号过滤器判定不存在时再查章节目录确认：其他实例新增章节的广播可能丢失，
+     * 且章节号键不递增，无法像ID过滤器那样放行大于构建时最大键的请求
+     */
+    private boolean mightContainChapterNumber(Integer bookId, Integer chapterNumber) {
+        return existenceFilterService.mightContainChapterNumber(bookId, chapterNumber)
+                || existsByBookIdAndChapterNumber(bookId, chapterNumber);
+    }
+
+    // ===== 章节预读 =====
+
+    /**
+     * 从正文缓存读取章节，命中预读加载的条目时记录一次预读命中
+     */
+    private Chapter getCachedChapter(Integer bookId, Integer chapterNumber) {
+        CachedChapter cached = contentCache.get(bookId + ":" + chapterNumber);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.prefetched() && cached.consumed().compareAndSet(false, true)) {
+            prefetchHits.increment();
+        }
+        return cached.chapter();
+    }
+
+    private void cacheChapter(Chapter chapter, long version, boolean prefetched) {
+        if (chapterVersion.get() == version) {
+            contentCache.put(chapter.getBookId() + ":" + chapter.getChapterNumber(),
+                    new CachedChapter(chapter, prefetched, new AtomicBoolean()));
+        }
+    }
+
+    /**
+     * 阅读第 N 章后异步预读后续章节：默认预读下一章，
+     * 本书上一章在连续阅读窗口内刚被阅读过时，按最大深度继续预读
+     */
+    private void readAhead(Integer bookId, Integer chapterNumber) {
+        if (!prefetchEnabled) {
+            return;
+        }
+        ChapterDirectory directory = getDirectory(bookId);
+        long now = System.currentTimeMillis();
+        long[] lastRead = lastReads.get(bookId);
+        Chapter previous = directory.previous(chapterNumber);
+        boolean binge = lastRead != null && previous != null
+                && lastRead[0] == previous.getChapterNumber() && now - lastRead[1] <= bingeWindowMillis;
+        lastReads.put(bookId, new long[]{chapterNumber, now});
+
+        int depth = binge ? prefetchMaxDepth : 1;
+        Chapter next = directory.next(chapterNumber);
+        for (int i = 0; i < depth && next != null; i++, next = directory.next(next.getChapterNumber())) {
+            String key = bookId + ":" + next.getChapterNumber();
+            if (contentCache.containsKey(key) || !prefetching.add(key)) {
+                continue;
+            }
+            int nextNumber = next.getChapterNumber();
+            try {
+                prefetchExecutor.execute(() -> prefetch(bookId, nextNumber, key));
+                prefetchScheduled.increment();
+            } catch (RejectedExecutionException e) {
+                prefetching.remove(key);
+                prefetchRejected.increment();
+            }
+        }
+    }
+
+    private void prefetch(Integer bookId, int chapterNumber, String key) {
+        try {
+            long version = chapterVersion.get();
+            Chapter chapter = chapterMapper.selectByBookIdAndChapterNumber(bookId, chapterNumber);
+            if (chapter != null) {
+                chapterContentService.load(chapter);
+                cacheChapter(chapter, version, true);
+                prefetchLoaded.increment();
+            }
+        } catch (RuntimeException e) {
+            log.debug("预读章节 {} 失败: {}", key, e.getMessage());
+        } finally {
+            prefetching.remove(key);
+        }
+    }
+
+    @Override
+    public PrefetchStats getPrefetchStats() {
+        PrefetchStats stats = new PrefetchStats();
+        stats.setEnabled(prefetchEnabled);
+        stats.setCacheSize(contentCache.size());
+        stats.setCacheCapacity(contentCache.getMaxSize());
+        stats.setCacheHitRate(contentCache.hitRate());
+        stats.setScheduled(prefetchScheduled.sum());
+        stats.setLoaded(prefetchLoaded.sum());
+        stats.setHits(prefetchHits.sum());
+        stats.setRejected(prefetchRejected.sum());
+        stats.setInFlight(prefetching.size());
+        long loaded = prefetchLoaded.sum();
+        stats.setPrefetchHitRate(loaded == 0 ? 0D : (double) prefetchHits.sum() / loaded);
+        return stats;
+    }
+
+    /**
+     * 正文缓存条目，prefetched 标记由预读加载，consumed 标记是否已被阅读请求命中
+     */
+    private record CachedChapter(Chapter chapter, boolean prefetched, AtomicBoolean consumed) {
+    }
+
     // ===== 章节导航功能 =====
 
     @Override
     public Chapter getPreviousChapter(Integer bookId, Integer chapterNumber) {
-        return chapterMapper.selectPreviousChapter(bookId, chapterNumber);
+        return getDirectory(bookId).previous(chapterNumber);
     }
 
     @Override
     public Chapter getNextChapter(Integer bookId, Integer chapterNumber) {
-        return chapterMapper.selectNextChapter(bookId, chapterNumber);
+        return getDirectory(bookId).next(chapterNumber);
     }
 
     @Override
     public Chapter getLatestChapterByBookId(Integer bookId) {
-        return chapterMapper.selectLatestChapterByBookId(bookId);
+        return getDirectory(bookId).latest();
     }
 
     // ===== 统计功能 =====
 
     @Override
     public int getChapterCountByBookId(Integer bookId) {
-        return chapterMapper.countByBookId(bookId);
+        return getDirectory(bookId).size();
     }
 
     @Override
     public int getVipChapterCountByBookId(Integer bookId) {
-        return chapterMapper.countVipChaptersByBookId(bookId);
+        return getDirectory(bookId).getVipCount();
     }
 
     // ===== 管理功能 =====
@@ -204,14 +958,148 @@ public class ChapterServiceImpl implements ChapterService {
         if (chapters == null || chapters.isEmpty()) {
             return false;
         }
+        // 章节号已存在的章节不能再插入：正文未变的跳过，正文有变化的逐章按修改处理
+        Map<String, Chapter> existingChapters = selectExisting(chapters);
+        List<Chapter> toInsert = new ArrayList<>(chapters.size());
+        int skipped = 0;
+        int updated = 0;
+        for (Chapter chapter : chapters) {
+            Chapter existing = existingChapters.get(chapter.getBookId() + ":" + chapter.getChapterNumber());
+            if (existing == null) {
+                toInsert.add(chapter);
+            } else if (chapter.getContent() == null || (existing.getContentHash() != null
+                    && existing.getContentHash().equals(chapterContentService.contentHash(chapter.getContent())))) {
+                skipped++;
+            } else {
+                chapter.setId(existing.getId());
+                if (chapter.getTitle() == null) {
+                    chapter.setTitle(existing.getTitle());
+                }
+                if (chapter.getIsVip() == null) {
+                    chapter.setIsVip(existing.getIsVip());
+                }
+                if (chapter.getPublishedTime() == null) {
+                    chapter.setPublishedTime(existing.getPublishedTime());
+                }
+                transactionTemplate.executeWithoutResult(status -> updateChapter(chapter));
+                updated++;
+            }
+        }
+        if (skipped > 0 || updated > 0) {
+            log.info("批量创建章节跳过 {} 个正文未变的已有章节，修改 {} 个正文有变化的已有章节", skipped, updated);
+        }
+        chapters = toInsert;
+        if (chapters.isEmpty()) {
+            return updated > 0;
+        }
 
         // 设置创建时间和默认值
         LocalDateTime now = LocalDateTime.now();
         for (Chapter chapter : chapters) {
             chapter.setCreateTime(now);
+            chapter.setUpdateTime(now);
+
+            if (chapter.getContent() != null || chapter.getWordCount() == null) {
+                chapter.setWordCount(WordCounter.count(chapter.getContent()));
+            }
+            if (chapter.getIsVip() == null) {
+                chapter.setIsVip(false);
+            }
+            if (chapter.getPublishedTime() == null) {
+                chapter.setPublishedTime(now);
+            }
+        }
+
+        // 按批插入，避免单条多行 INSERT 超过 max_allowed_packet
+        boolean created = false;
+        for (int from = 0; from < chapters.size(); from += importChunkSize) {
+            created |= insertChunk(chapters.subList(from, Math.min(from + importChunkSize, chapters.size()))) > 0;
+        }
+        chapters.stream()
+                .map(Chapter::getBookId)
+                .distinct()
+                .forEach(bookId -> {
+                    evictDirectory(bookId);
+                    bookService.invalidateBookDetail(bookId);
+                });
+        return created || updated > 0;
+    }
+
+    /**
+     * 查询批量创建的章节中章节号已存在的章节，键为“书籍ID:章节号”
+     */
+    private Map<String, Chapter> selectExisting(List<Chapter> chapters) {
+        Map<Integer, List<Integer>> numbersByBook = new LinkedHashMap<>();
+        for (Chapter chapter : chapters) {
+            if (chapter.getBookId() != null && chapter.getChapterNumber() != null) {
+                numbersByBook.computeIfAbsent(chapter.getBookId(), bookId -> new ArrayList<>()).add(chapter.getChapterNumber());
+            }
+        }
+        Map<String, Chapter> existing = new HashMap<>();
+        numbersByBook.forEach((bookId, numbers) -> {
+            for (int from = 0; from < numbers.size(); from += importChunkSize) {
+                List<Integer> slice = numbers.subList(from, Math.min(from + importChunkSize, numbers.size()));
+                for (Chapter chapter : chapterMapper.selectHashesByChapterNumbers(bookId, slice)) {
+                    existing.put(bookId + ":" + chapter.getChapterNumber(), chapter);
+                }
+            }
+        });
+        return existing;
+    }
 
-            if (chapter.getWordCount() == null) {
-                chapter.setWordCount(0);
+    @Override
+    public ImportProgress importChapters(Integer bookId, Iterator<Chapter> chapters, Consumer<ImportProgress> progress) {
+        ImportProgress state = new ImportProgress();
+        long start = System.currentTimeMillis();
+        // 导入开始时的目录快照加上本次已导入的章节号，用于跳过重复章节
+        ChapterDirectory directory = getDirectory(bookId);
+        Set<Integer> seen = new HashSet<>();
+        List<Chapter> chunk = new ArrayList<>(importChunkSize);
+        long chunkChars = 0;
+        try {
+            while (chapters.hasNext()) {
+                Chapter chapter = chapters.next();
+                state.setReceived(state.getReceived() + 1);
+                Integer chapterNumber = chapter.getChapterNumber();
+                if (chapterNumber == null || chapter.getTitle() == null
+                        || directory.contains(chapterNumber) || !seen.add(chapterNumber)) {
+                    state.setSkipped(state.getSkipped() + 1);
+                    continue;
+                }
+                chapter.setBookId(bookId);
+                chunk.add(chapter);
+                chunkChars += chapter.getContent() == null ? 0 : chapter.getContent().length();
+                if (chunk.size() >= importChunkSize || chunkChars >= importChunkChars) {
+                    flushImportChunk(chunk, state, start, progress);
+                    chunkChars = 0;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushImportChunk(chunk, state, start, progress);
+            }
+        } catch (RuntimeException e) {
+            // 已提交的批次保留，客户端可跳过已导入的章节号后重试
+            log.warn("书籍 {} 章节导入在第 {} 批失败: {}", bookId, state.getChunks() + 1, e.getMessage());
+            state.setError(e.getMessage());
+        } finally {
+            if (state.getImported() > 0) {
+                evictDirectory(bookId);
+                bookService.invalidateBookDetail(bookId);
+            }
+        }
+        state.setDone(true);
+        state.setElapsedMs(System.currentTimeMillis() - start);
+        progress.accept(state);
+        return state;
+    }
+
+    private void flushImportChunk(List<Chapter> chunk, ImportProgress state, long start, Consumer<ImportProgress> progress) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Chapter chapter : chunk) {
+            chapter.setCreateTime(now);
+            chapter.setUpdateTime(now);
+            if (chapter.getContent() != null || chapter.getWordCount() == null) {
+                chapter.setWordCount(WordCounter.count(chapter.getContent()));
             }
             if (chapter.getIsVip() == null) {
                 chapter.setIsVip(false);
@@ -220,28 +1108,121 @@ public class ChapterServiceImpl implements ChapterService {
                 chapter.setPublishedTime(now);
             }
         }
+        insertChunk(chunk);
+        state.setChunks(state.getChunks() + 1);
+        state.setImported(state.getImported() + chunk.size());
+        state.setElapsedMs(System.currentTimeMillis() - start);
+        chunk.clear();
+        progress.accept(state);
+    }
 
-        return chapterMapper.batchInsert(chapters) > 0;
+    /**
+     * 写入一批章节：正文先写入对象存储并释放，再通过 BATCH 执行器复用同一条 INSERT 语句批量提交，
+     * 配合 rewriteBatchedStatements 由驱动改写为多行 INSERT；失败时删除本批已写入的正文对象。
+     * 本批章节的字数与最新章节合并为一份统计增量、目录变更合并为一个目录版本，在同一会话中随章节一起提交
+     *
+     * @return 插入的章节数
+     */
+    private int insertChunk(List<Chapter> chunk) {
+        // 已删除的书籍不再接受新章节（批量创建、流式导入与 TXT 导入都经过这里）
+        for (Integer bookId : chunk.stream().map(Chapter::getBookId).distinct().toList()) {
+            if (bookService.getById(bookId) == null) {
+                throw new RuntimeException("书籍不存在: " + bookId);
+            }
+        }
+        Set<Integer> authorIds;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            try {
+                ChapterMapper batchMapper = session.getMapper(ChapterMapper.class);
+                for (Chapter chapter : chunk) {
+                    chapterContentService.store(chapter);
+                    if (chapter.getContentKey() != null) {
+                        // 正文已保存到对象存储，INSERT 只写对象键，提前释放正文
+                        chapter.setContent(null);
+                    }
+                    batchMapper.insert(chapter);
+                }
+                // 自增主键在 flushStatements 后回填，最新章节依赖章节ID
+                session.flushStatements();
+                AggregateDelta delta = new AggregateDelta();
+                TocDelta toc = new TocDelta();
+                for (Chapter chapter : chunk) {
+                    delta.addWords(chapter.getBookId(), words(chapter));
+                    delta.chapterWritten(chapter);
+                    toc.upsert(chapter);
+                }
+                BookMapper sessionBookMapper = session.getMapper(BookMapper.class);
+                authorIds = delta.apply(sessionBookMapper, session.getMapper(AuthorMapper.class),
+                        session.getMapper(BookStatsMapper.class));
+                toc.apply(sessionBookMapper, session.getMapper(ChapterTocMapper.class));
+                session.flushStatements();
+                session.commit();
+            } catch (RuntimeException e) {
+                session.rollback();
+                chunk.forEach(chapter -> chapterContentService.delete(chapter.getContentKey()));
+                throw e;
+            }
+        }
+        for (Chapter chapter : chunk) {
+            existenceFilterService.add(FilterType.CHAPTER, chapter.getId());
+            existenceFilterService.addChapterNumber(chapter.getBookId(), chapter.getChapterNumber());
+        }
+        authorService.invalidateAuthors(authorIds);
+        return chunk.size();
     }
 
     @Override
     public boolean existsByBookIdAndChapterNumber(Integer bookId, Integer chapterNumber) {
-        return chapterMapper.existsByBookIdAndChapterNumber(bookId, chapterNumber);
+        if (bookId == null || chapterNumber == null) {
+            return false;
+        }
+        return getDirectory(bookId).contains(chapterNumber);
     }
 
     @Override
-    public PageResult<ChapterSummary> getChaptersList(Integer bookId, Integer pageNum, Integer pageSize) {
+    public PageResult<ChapterSummary> getChaptersList(Integer bookId, Integer pageNum, Integer pageSize, boolean withCount) {
         // 设置默认分页参数
         if (pageNum == null || pageNum < 1) pageNum = 1;
         if (pageSize == null || pageSize < 1) pageSize = 50;
         if (pageSize > 200) pageSize = 200; // 限制最大页面大小
 
-        // 使用PageHelper进行分页查询章节摘要（轻量级，性能更好）
-        com.github.pagehelper.PageHelper.startPage(pageNum, pageSize);
-        List<ChapterSummary> chapterSummaries = chapterMapper.getChapterList(bookId);
-        PageInfo<ChapterSummary> pageInfo = new PageInfo<>(chapterSummaries);
+        if (bookService.isDeleted(bookId)) {
+            return new PageResult<>(pageNum, pageSize, 0L, List.of());
+        }
+        // 分页查询章节摘要（轻量级），总数直接使用维护的章节计数，不再额外 COUNT
+        return pageCountCache.paginate("chapter:" + bookId, pageNum, pageSize, withCount,
+                () -> (long) getChapterCountByBookId(bookId),
+                () -> chapterMapper.getChapterList(bookId));
+    }
+
+    @Override
+    public CursorPageResult<ChapterSummary> getChaptersByCursor(Integer bookId, String cursor, Integer pageSize) {
+        if (pageSize == null || pageSize < 1) pageSize = 50;
+        if (pageSize > 200) pageSize = 200; // 限制最大页面大小
+
+        // 章节号在书内唯一，游标排序键即上一页最后的章节号
+        CursorUtil.Cursor position = CursorUtil.decode(cursor);
+        Integer afterChapterNumber = null;
+        if (position != null) {
+            try {
+                afterChapterNumber = Integer.valueOf(position.sortKey());
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("无效的分页游标");
+            }
+        }
 
-        return new PageResult<>(pageInfo);
+        if (bookService.isDeleted(bookId)) {
+            return new CursorPageResult<>(pageSize, List.of(), null);
+        }
+        // 多取一条用于判断是否还有下一页
+        List<ChapterSummary> chapters = chapterMapper.getChapterListAfter(bookId, afterChapterNumber, pageSize + 1);
+        String nextCursor = null;
+        if (chapters.size() > pageSize) {
+            chapters = chapters.subList(0, pageSize);
+            ChapterSummary last = chapters.get(pageSize - 1);
+            nextCursor = CursorUtil.encode(last.getChapterNumber(), last.getId());
+        }
+        return new CursorPageResult<>(pageSize, chapters, nextCursor);
     }
 
 }
@@ -0,0 +1,171 @@
+package com.sakura.novel.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sakura.novel.core.cache.LruCache;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterTocChange;
+import com.sakura.novel.mapper.BookMapper;
+import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.mapper.ChapterTocMapper;
+import com.sakura.novel.service.ChapterTocService;
+import com.sakura.novel.utils.ETagUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 章节目录同步服务实现类
+ * 完整目录按 (书籍ID, 目录版本) 编码为紧凑 JSON（每章一个数组）并 gzip 压缩后缓存，版本变化时重新生成；
+ * 增量同步只读取日志中 (sinceVersion, 当前版本] 的记录。目录版本与日志随章节写入在同一事务中更新，
+ * 日志缺少 sinceVersion 的下一个版本（已被定期清理）时无法保证完整，改为返回完整目录。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChapterTocServiceImpl implements ChapterTocService {
+
+    private static final int TRIM_BATCH = 5000;
+
+    private final BookMapper bookMapper;
+    private final ChapterMapper chapterMapper;
+    private final ChapterTocMapper chapterTocMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${novel.chapter.toc.cache-size:1000}")
+    private int cacheSize;
+
+    @Value("${novel.chapter.toc.max-changes:500}")
+    private int maxChanges;
+
+    @Value("${novel.chapter.toc.log-retention-days:30}")
+    private int logRetentionDays;
+
+    private LruCache<Integer, TocBlob> blobs;
+
+    @PostConstruct
+    public void init() {
+        this.blobs = new LruCache<>(cacheSize);
+    }
+
+    @Override
+    public TocBlob getFullToc(Integer bookId) {
+        Long version = bookMapper.selectTocVersion(bookId);
+        if (version == null) {
+            // 书籍已删除，残留章节不再输出
+            blobs.invalidate(bookId);
+            return null;
+        }
+        TocBlob blob = blobs.get(bookId);
+        if (blob != null && blob.version() == version) {
+            return blob;
+        }
+        // 先读版本再读目录：并发写入时目录可能比版本新，客户端随后增量同步会重复收到同一变更，upsert/delete 均可重复应用
+        blob = encode(bookId, version, chapterMapper.selectDirectoryByBookId(bookId));
+        blobs.put(bookId, blob);
+        return blob;
+    }
+
+    @Override
+    public TocChanges getChanges(Integer bookId, long sinceVersion) {
+        Long version = bookMapper.selectTocVersion(bookId);
+        if (version == null || sinceVersion < 0 || sinceVersion > version) {
+            return null;
+        }
+        TocChanges result = new TocChanges();
+        result.setBookId(bookId);
+        result.setVersion(version);
+        if (sinceVersion == version) {
+            result.setChanges(List.of());
+            return result;
+        }
+        List<ChapterTocChange> rows = chapterTocMapper.selectSince(bookId, sinceVersion, version, maxChanges + 1);
+        if (rows.isEmpty() || rows.size() > maxChanges || rows.get(0).getTocVersion() != sinceVersion + 1) {
+            return null;
+        }
+        Map<Integer, TocChange> latest = new LinkedHashMap<>();
+        for (ChapterTocChange row : rows) {
+            latest.remove(row.getChapterId());
+            latest.put(row.getChapterId(), toChange(row));
+        }
+        result.setChanges(new ArrayList<>(latest.values()));
+        return result;
+    }
+
+    @Override
+    public int trimLog() {
+        LocalDateTime before = LocalDateTime.now().minusDays(logRetentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = chapterTocMapper.deleteBefore(before, TRIM_BATCH);
+            total += deleted;
+        } while (deleted == TRIM_BATCH);
+        if (total > 0) {
+            log.info("清理章节目录变更日志 {} 条", total);
+        }
+        return total;
+    }
+
+    private TocBlob encode(Integer bookId, long version, List<Chapter> chapters) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(64 + chapters.size() * 48);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(raw)) {
+            json.writeStartObject();
+            json.writeNumberField("bookId", bookId);
+            json.writeNumberField("version", version);
+            json.writeBooleanField("full", true);
+            json.writeArrayFieldStart("fields");
+            json.writeString("id");
+            json.writeString("chapterNumber");
+            json.writeString("title");
+            json.writeString("isVip");
+            json.writeEndArray();
+            json.writeArrayFieldStart("chapters");
+            for (Chapter chapter : chapters) {
+                json.writeStartArray();
+                json.writeNumber(chapter.getId());
+                json.writeNumber(chapter.getChapterNumber());
+                json.writeString(chapter.getTitle());
+                json.writeBoolean(Boolean.TRUE.equals(chapter.getIsVip()));
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream(raw.size() / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            raw.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new TocBlob(bookId, version, gzipped.toByteArray(), raw.size(), ETagUtil.of("toc", bookId, version));
+    }
+
+    private static TocChange toChange(ChapterTocChange row) {
+        TocChange change = new TocChange();
+        change.setVersion(row.getTocVersion());
+        change.setOp(row.getOp());
+        change.setId(row.getChapterId());
+        if (ChapterTocChange.OP_UPSERT.equals(row.getOp())) {
+            change.setChapterNumber(row.getChapterNumber());
+            change.setTitle(row.getTitle());
+            change.setIsVip(row.getIsVip());
+        }
+        return change;
+    }
+}
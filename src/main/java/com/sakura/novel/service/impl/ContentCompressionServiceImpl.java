@@ -0,0 +1,255 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.core.cache.LruCache;
+import com.sakura.novel.core.codec.ChapterContentCodec;
+import com.sakura.novel.core.codec.ChapterContentTypeHandler;
+import com.sakura.novel.core.codec.DictionaryTrainer;
+import com.sakura.novel.entity.ChapterDictionary;
+import com.sakura.novel.entity.ChapterRawContent;
+import com.sakura.novel.mapper.ChapterDictionaryMapper;
+import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.service.ContentCompressionService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 章节正文压缩服务实现类
+ * 应用写入的正文统一使用无字典 Deflate（写入时不知道所属书籍）；
+ * 后台迁移按书籍训练字典，仅在训练样本上压缩收益达到阈值时采用，
+ * 并把纯文本与未使用本书最新字典的章节重新编码写回。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentCompressionServiceImpl implements ContentCompressionService {
+
+    private final ChapterMapper chapterMapper;
+    private final ChapterDictionaryMapper chapterDictionaryMapper;
+
+    @Value("${novel.content-codec.enabled:true}")
+    private boolean enabled;
+
+    @Value("${novel.content-codec.level:6}")
+    private int level;
+
+    @Value("${novel.content-codec.dictionary.enabled:true}")
+    private boolean dictionaryEnabled;
+
+    @Value("${novel.content-codec.dictionary.size:32768}")
+    private int dictionarySize;
+
+    @Value("${novel.content-codec.dictionary.min-chapters:20}")
+    private int minChaptersForDictionary;
+
+    @Value("${novel.content-codec.dictionary.sample-chapters:32}")
+    private int sampleChapters;
+
+    @Value("${novel.content-codec.dictionary.min-gain:0.03}")
+    private double minDictionaryGain;
+
+    @Value("${novel.content-codec.dictionary.cache-size:256}")
+    private int dictionaryCacheSize;
+
+    @Value("${novel.content-codec.migrator.enabled:true}")
+    private boolean migratorEnabled;
+
+    @Value("${novel.content-codec.migrator.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 字典ID -> 字典字节
+     */
+    private LruCache<Integer, byte[]> dictionaries;
+
+    /**
+     * 书籍ID -> 最新字典ID（0 表示暂无可用字典）；设置过期时间，以便章节增多后重新尝试训练
+     */
+    private LruCache<Integer, Integer> bookDictionaryIds;
+
+    private final AtomicInteger checkpoint = new AtomicInteger();
+    private final AtomicLong completedPasses = new AtomicLong();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong rewritten = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong bytesBefore = new AtomicLong();
+    private final AtomicLong bytesAfter = new AtomicLong();
+    private final AtomicLong dictionariesTrained = new AtomicLong();
+    private volatile LocalDateTime lastBatchTime;
+
+    @PostConstruct
+    public void init() {
+        this.dictionaries = new LruCache<>(dictionaryCacheSize);
+        this.bookDictionaryIds = new LruCache<>(20000, 24 * 60 * 60 * 1000L);
+        ChapterContentTypeHandler.register(this);
+    }
+
+    // ===== 编解码 =====
+
+    @Override
+    public byte[] encode(String text) {
+        if (!enabled) {
+            // 关闭压缩时按纯文本写入，读取端仍兼容已压缩的数据
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        return ChapterContentCodec.encode(text, level, 0, null);
+    }
+
+    @Override
+    public String decode(byte[] data) {
+        return ChapterContentCodec.decode(data, this::getDictionary);
+    }
+
+    @Override
+    public byte[] getDictionary(int dictId) {
+        return dictionaries.computeIfAbsent(dictId, id -> {
+            ChapterDictionary dictionary = chapterDictionaryMapper.selectById(id);
+            return dictionary == null ? null : dictionary.getDictionary();
+        });
+    }
+
+    // ===== 后台迁移 =====
+
+    @Override
+    public int recompressBatch() {
+        if (!enabled || !migratorEnabled) {
+            return 0;
+        }
+        List<ChapterRawContent> rows = chapterMapper.selectRawContentBatch(checkpoint.get(), batchSize);
+        lastBatchTime = LocalDateTime.now();
+        if (rows.isEmpty()) {
+            // 一轮扫描完成，从头开始下一轮（处理迁移期间训练出的新字典）
+            if (checkpoint.getAndSet(0) > 0) {
+                completedPasses.incrementAndGet();
+                log.info("章节正文压缩迁移完成一轮，累计重写 {} 章，{} -> {} 字节",
+                        rewritten.get(), bytesBefore.get(), bytesAfter.get());
+            }
+            return 0;
+        }
+
+        for (ChapterRawContent row : rows) {
+            checkpoint.set(row.getId());
+            scanned.incrementAndGet();
+            byte[] stored = row.getContent();
+            if (stored == null) {
+                continue;
+            }
+            try {
+                recompress(row, stored);
+            } catch (RuntimeException e) {
+                log.warn("章节 {} 重新压缩失败: {}", row.getId(), e.getMessage());
+            }
+        }
+        return rows.size();
+    }
+
+    private void recompress(ChapterRawContent row, byte[] stored) {
+        int dictId = resolveBookDictionary(row.getBookId());
+        boolean legacy = !ChapterContentCodec.isEncoded(stored);
+        if (!legacy && ChapterContentCodec.dictIdOf(stored) == dictId) {
+            return;
+        }
+
+        String text = decode(stored);
+        byte[] dictionary = dictId == 0 ? null : getDictionary(dictId);
+        byte[] candidate = ChapterContentCodec.encode(text, level, dictionary == null ? 0 : dictId, dictionary);
+        if (!legacy && candidate.length >= stored.length) {
+            return;
+        }
+        if (chapterMapper.updateRawContent(row.getId(), candidate, row.getUpdateTime()) > 0) {
+            rewritten.incrementAndGet();
+            bytesBefore.addAndGet(stored.length);
+            bytesAfter.addAndGet(candidate.length);
+        } else {
+            conflicts.incrementAndGet();
+        }
+    }
+
+    /**
+     * 获取书籍当前可用的字典ID，没有时尝试训练；返回 0 表示不使用字典
+     */
+    private int resolveBookDictionary(Integer bookId) {
+        if (!dictionaryEnabled || bookId == null) {
+            return 0;
+        }
+        Integer cached = bookDictionaryIds.get(bookId);
+        if (cached != null) {
+            return cached;
+        }
+
+        ChapterDictionary existing = chapterDictionaryMapper.selectLatestByBookId(bookId);
+        int dictId = existing != null ? existing.getId() : trainDictionary(bookId);
+        if (existing != null) {
+            dictionaries.put(existing.getId(), existing.getDictionary());
+        }
+        bookDictionaryIds.put(bookId, dictId);
+        return dictId;
+    }
+
+    private int trainDictionary(Integer bookId) {
+        if (chapterMapper.countByBookId(bookId) < minChaptersForDictionary) {
+            return 0;
+        }
+        List<String> samples = new ArrayList<>();
+        for (ChapterRawContent sample : chapterMapper.selectRawContentByBookId(bookId, sampleChapters)) {
+            if (sample.getContent() != null) {
+                samples.add(decode(sample.getContent()));
+            }
+        }
+        byte[] dictionary = DictionaryTrainer.train(samples, dictionarySize);
+        if (dictionary.length == 0) {
+            return 0;
+        }
+
+        // 在样本上比较有无字典的压缩结果，收益不足时不采用
+        long plain = 0;
+        long withDict = 0;
+        for (String sample : samples) {
+            plain += ChapterContentCodec.encode(sample, level, 0, null).length;
+            withDict += ChapterContentCodec.encode(sample, level, 1, dictionary).length;
+        }
+        double gain = plain == 0 ? 0 : 1 - (double) withDict / plain;
+        if (gain < minDictionaryGain) {
+            log.debug("书籍 {} 字典收益 {} 不足，不采用", bookId, gain);
+            return 0;
+        }
+
+        ChapterDictionary entity = new ChapterDictionary();
+        entity.setBookId(bookId);
+        entity.setDictionary(dictionary);
+        entity.setSampleCount(samples.size());
+        entity.setCreateTime(LocalDateTime.now());
+        chapterDictionaryMapper.insert(entity);
+        dictionaries.put(entity.getId(), dictionary);
+        dictionariesTrained.incrementAndGet();
+        log.info("书籍 {} 训练压缩字典 {}，{} 字节，样本压缩收益 {}%", bookId, entity.getId(),
+                dictionary.length, String.format("%.1f", gain * 100));
+        return entity.getId();
+    }
+
+    @Override
+    public MigrationProgress getMigrationProgress() {
+        MigrationProgress progress = new MigrationProgress();
+        progress.setEnabled(enabled && migratorEnabled);
+        progress.setCheckpointId(checkpoint.get());
+        progress.setMaxChapterId(chapterMapper.selectMaxId());
+        progress.setCompletedPasses(completedPasses.get());
+        progress.setScanned(scanned.get());
+        progress.setRewritten(rewritten.get());
+        progress.setConflicts(conflicts.get());
+        progress.setBytesBefore(bytesBefore.get());
+        progress.setBytesAfter(bytesAfter.get());
+        progress.setDictionariesTrained(dictionariesTrained.get());
+        progress.setLastBatchTime(lastBatchTime);
+        return progress;
+    }
+}
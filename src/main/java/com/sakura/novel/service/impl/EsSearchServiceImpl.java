@@ -241,6 +241,18 @@ public class EsSearchServiceImpl implements SearchService {
             return b; // 返回构建好的 BoolQuery.Builder
         }));
     }
+    /**
+     * 同步单本书籍的搜索文档，书籍已不存在时删除文档
+     */
+    public void syncBook(Integer bookId) throws IOException {
+        BookDocument book = bookMapper.selectBookDocumentById(bookId);
+        if (book == null) {
+            client.delete(d -> d.index(EsConsts.BookIndex.INDEX_NAME).id(String.valueOf(bookId)));
+            return;
+        }
+        client.index(i -> i.index(EsConsts.BookIndex.INDEX_NAME).id(String.valueOf(bookId)).document(book));
+    }
+
     public void syncAllBooksToEs() throws IOException {
         List<BookDocument> books = bookMapper.selectAllBooks();
 
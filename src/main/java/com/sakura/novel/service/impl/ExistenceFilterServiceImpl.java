@@ -0,0 +1,339 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.core.cache.BloomFilter;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.mapper.BookMapper;
+import com.sakura.novel.mapper.ChapterMapper;
+import com.sakura.novel.mapper.UserMapper;
+import com.sakura.novel.service.ExistenceFilterService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 存在性过滤服务实现类
+ * 重建时先创建新过滤器并登记为“构建中”，构建期间新增的键同时写入新旧两个过滤器，
+ * 扫描完成后整体替换，读请求全程无锁。
+ * 新增的键在事务提交后才登记，避免重建扫描的快照早于提交而丢失该键；登记后通过 Redis 频道广播给其他实例。
+ * 广播可能丢失，因此书籍、章节、用户ID大于上次重建时最大ID的查询不拒绝，交由数据库判断。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExistenceFilterServiceImpl implements ExistenceFilterService {
+
+    private final BookMapper bookMapper;
+    private final ChapterMapper chapterMapper;
+    private final UserMapper userMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * 新增键的广播频道，消息格式为 “过滤器类型:键”
+     */
+    private static final String CHANNEL = "novel:existence-filter:add";
+
+    @Value("${novel.bloom.fpp:0.01}")
+    private double fpp;
+
+    /**
+     * 容量 = 当前行数 × 该倍数，为重建间隔内的新增数据预留空间
+     */
+    @Value("${novel.bloom.capacity-factor:2}")
+    private int capacityFactor;
+
+    private static final long MIN_CAPACITY = 10000;
+
+    private final Map<FilterType, TrackedFilter> filters = new EnumMap<>(FilterType.class);
+
+    {
+        for (FilterType type : FilterType.values()) {
+            // 章节号过滤器的键由书籍ID与章节号组成，不随时间递增
+            filters.put(type, new TrackedFilter(type != FilterType.CHAPTER_NUMBER));
+        }
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener((message, pattern) ->
+                onRemoteAdd(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public boolean mightContain(FilterType type, Integer key) {
+        if (key == null) {
+            return true;
+        }
+        return filters.get(type).check(key);
+    }
+
+    @Override
+    public boolean mightContainChapterNumber(Integer bookId, Integer chapterNumber) {
+        if (bookId == null || chapterNumber == null) {
+            return true;
+        }
+        return filters.get(FilterType.CHAPTER_NUMBER).check(chapterNumberKey(bookId, chapterNumber));
+    }
+
+    @Override
+    public void add(FilterType type, Integer key) {
+        TrackedFilter filter = filters.get(type);
+        if (key == null) {
+            filter.invalidate();
+            log.warn("登记 {} 过滤器时键为空，过滤器停用直至下次重建", type);
+            return;
+        }
+        addAfterCommit(type, key);
+    }
+
+    @Override
+    public void addChapterNumber(Integer bookId, Integer chapterNumber) {
+        TrackedFilter filter = filters.get(FilterType.CHAPTER_NUMBER);
+        if (bookId == null || chapterNumber == null) {
+            filter.invalidate();
+            return;
+        }
+        addAfterCommit(FilterType.CHAPTER_NUMBER, chapterNumberKey(bookId, chapterNumber));
+    }
+
+    /**
+     * 在当前事务提交后登记并广播新增的键，没有事务时立即执行
+     */
+    private void addAfterCommit(FilterType type, long key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addAndPublish(type, key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addAndPublish(type, key);
+            }
+        });
+    }
+
+    private void addAndPublish(FilterType type, long key) {
+        filters.get(type).add(key);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, type.name() + ":" + key);
+        } catch (RuntimeException e) {
+            log.warn("广播 {} 过滤器新增键失败，其他实例在下次重建前可能误判: {}", type, e.getMessage());
+        }
+    }
+
+    /**
+     * 其他实例（包括本实例自身）广播的新增键，重复登记无影响
+     */
+    private void onRemoteAdd(String message) {
+        int separator = message.indexOf(':');
+        try {
+            FilterType type = FilterType.valueOf(message.substring(0, separator));
+            filters.get(type).add(Long.parseLong(message.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("无法解析过滤器广播消息: {}", message);
+        }
+    }
+
+    @Override
+    public void recordFalsePositive(FilterType type) {
+        TrackedFilter filter = filters.get(type);
+        if (filter.current != null) {
+            filter.falsePositives.increment();
+        }
+    }
+
+    @Override
+    public void rebuildAll() {
+        TrackedFilter books = filters.get(FilterType.BOOK);
+        rebuild(FilterType.BOOK, bookMapper.count(),
+                bloom -> bookMapper.scanAllIds(ctx -> books.load(bloom, ctx.getResultObject())));
+
+        // 章节ID与章节号两个过滤器共用一次扫描
+        int chapterCount = chapterMapper.countAll();
+        TrackedFilter chapters = filters.get(FilterType.CHAPTER);
+        TrackedFilter numbers = filters.get(FilterType.CHAPTER_NUMBER);
+        long start = System.currentTimeMillis();
+        BloomFilter chapterBloom = chapters.startRebuild(capacity(chapterCount), fpp);
+        BloomFilter numberBloom = numbers.startRebuild(capacity(chapterCount), fpp);
+        try {
+            chapterMapper.scanAllKeys(ctx -> {
+                Chapter chapter = ctx.getResultObject();
+                chapters.load(chapterBloom, chapter.getId());
+                numberBloom.put(chapterNumberKey(chapter.getBookId(), chapter.getChapterNumber()));
+            });
+        } catch (RuntimeException e) {
+            chapters.abortRebuild();
+            numbers.abortRebuild();
+            throw e;
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        chapters.finishRebuild(elapsed);
+        numbers.finishRebuild(elapsed);
+        log.info("章节过滤器重建完成，章节数: {}，耗时: {} ms", chapterBloom.getInsertions(), elapsed);
+
+        TrackedFilter users = filters.get(FilterType.USER);
+        rebuild(FilterType.USER, userMapper.countTotal(),
+                bloom -> userMapper.scanAllIds(ctx -> users.load(bloom, ctx.getResultObject())));
+    }
+
+    @Override
+    public List<FilterStats> getStats() {
+        List<FilterStats> result = new ArrayList<>();
+        filters.forEach((type, filter) -> result.add(filter.toStats(type)));
+        return result;
+    }
+
+    private void rebuild(FilterType type, int rowCount, Consumer<BloomFilter> loader) {
+        TrackedFilter filter = filters.get(type);
+        long start = System.currentTimeMillis();
+        BloomFilter bloom = filter.startRebuild(capacity(rowCount), fpp);
+        try {
+            loader.accept(bloom);
+        } catch (RuntimeException e) {
+            filter.abortRebuild();
+            throw e;
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        filter.finishRebuild(elapsed);
+        log.info("{} 过滤器重建完成，键数量: {}，耗时: {} ms", type, bloom.getInsertions(), elapsed);
+    }
+
+    private long capacity(int rowCount) {
+        return Math.max(MIN_CAPACITY, (long) rowCount * capacityFactor);
+    }
+
+    private static long chapterNumberKey(int bookId, int chapterNumber) {
+        return ((long) bookId << 32) | (chapterNumber & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 单个过滤器及其统计信息
+     */
+    private static final class TrackedFilter {
+        /** 键为自增ID，大于上次重建最大ID的键一律放行 */
+        private final boolean monotonic;
+        /** 当前生效的过滤器，为 null 表示未构建或已失效，此时全部放行 */
+        private volatile BloomFilter current;
+        /** 正在重建的过滤器 */
+        private volatile BloomFilter building;
+        /** 当前过滤器构建时扫描到的最大键 */
+        private volatile long maxKey = Long.MAX_VALUE;
+        /** 正在重建的过滤器扫描到的最大键，只由重建线程写入 */
+        private long buildingMaxKey;
+
+        private final LongAdder checks = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+        private volatile LocalDateTime lastRebuildTime;
+        private volatile long lastRebuildMillis;
+
+        TrackedFilter(boolean monotonic) {
+            this.monotonic = monotonic;
+        }
+
+        boolean check(long key) {
+            BloomFilter bloom = current;
+            if (bloom == null || (monotonic && key > maxKey)) {
+                // 其他实例在重建后新增的ID可能未收到广播，交由数据库判断
+                return true;
+            }
+            checks.increment();
+            if (bloom.mightContain(key)) {
+                return true;
+            }
+            rejected.increment();
+            return false;
+        }
+
+        void add(long key) {
+            // 先写构建中的过滤器再写当前过滤器：finishRebuild 先替换 current 再清空 building，
+            // 按此顺序读取可保证键至少落入替换后的过滤器
+            BloomFilter next = building;
+            if (next != null) {
+                next.put(key);
+            }
+            BloomFilter bloom = current;
+            if (bloom != null) {
+                bloom.put(key);
+            }
+        }
+
+        void invalidate() {
+            // 重建中的过滤器同样可能缺失该键，一并作废
+            building = null;
+            current = null;
+        }
+
+        /**
+         * 重建扫描时写入一个键
+         */
+        void load(BloomFilter bloom, long key) {
+            bloom.put(key);
+            buildingMaxKey = Math.max(buildingMaxKey, key);
+        }
+
+        BloomFilter startRebuild(long capacity, double fpp) {
+            BloomFilter next = new BloomFilter(capacity, fpp);
+            buildingMaxKey = 0;
+            building = next;
+            return next;
+        }
+
+        void finishRebuild(long elapsedMillis) {
+            // 先替换过滤器再提高上限，避免旧过滤器配合新上限拒绝旧过滤器中没有的ID
+            current = building;
+            maxKey = buildingMaxKey;
+            building = null;
+            lastRebuildTime = LocalDateTime.now();
+            lastRebuildMillis = elapsedMillis;
+            // 新过滤器重新开始统计误判率
+            checks.reset();
+            rejected.reset();
+            falsePositives.reset();
+        }
+
+        void abortRebuild() {
+            building = null;
+        }
+
+        FilterStats toStats(FilterType type) {
+            FilterStats stats = new FilterStats();
+            BloomFilter bloom = current;
+            stats.setType(type);
+            stats.setReady(bloom != null);
+            if (bloom != null) {
+                stats.setInsertions(bloom.getInsertions());
+                stats.setExpectedInsertions(bloom.getExpectedInsertions());
+                stats.setBitSize(bloom.getBitSize());
+                stats.setHashCount(bloom.getHashCount());
+                stats.setTargetFpp(bloom.getTargetFpp());
+                stats.setExpectedFpp(bloom.expectedFpp());
+            }
+            long fp = falsePositives.sum();
+            long neg = rejected.sum();
+            stats.setChecks(checks.sum());
+            stats.setRejected(neg);
+            stats.setFalsePositives(fp);
+            stats.setObservedFpp(fp + neg == 0 ? 0D : (double) fp / (fp + neg));
+            stats.setLastRebuildTime(lastRebuildTime);
+            stats.setLastRebuildMillis(lastRebuildMillis);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.service.ChapterContentStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 基于本地目录的章节正文存储，用于开发与测试环境
+ * 对象键直接映射为相对路径，写入时先写临时文件再原子替换，避免读到半个文件
+ */
+@Service
+@ConditionalOnProperty(name = "novel.content-store.type", havingValue = "local")
+public class LocalChapterContentStore implements ChapterContentStore {
+
+    private final Path baseDir;
+
+    public LocalChapterContentStore(@Value("${novel.content-store.local.base-dir:./data/chapters}") String baseDir) {
+        this.baseDir = Paths.get(baseDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, byte[] data) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".tmp-", null);
+            try {
+                Files.write(temp, data);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("写入章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public byte[] get(String key) {
+        try {
+            return Files.readAllBytes(resolve(key));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("读取章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ObjectStream openStream(String key) {
+        Path path = resolve(key);
+        try {
+            return new ObjectStream(Files.newInputStream(path), Files.size(path));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException("读取章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("删除章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getType() {
+        return "local";
+    }
+
+    private Path resolve(String key) {
+        Path path = baseDir.resolve(key).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("非法的正文对象键: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,124 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.service.ChapterContentStore;
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.errors.ErrorResponseException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * 基于 MinIO 的章节正文存储
+ * 与头像上传共用 MinIO 连接配置，正文使用独立的存储桶
+ */
+@Service
+@ConditionalOnProperty(name = "novel.content-store.type", havingValue = "minio", matchIfMissing = true)
+public class MinioChapterContentStore implements ChapterContentStore {
+
+    @Value("${minio.endpoint}")
+    private String minioEndpoint;
+    @Value("${minio.access-key}")
+    private String minioAccessKey;
+    @Value("${minio.secret-key}")
+    private String minioSecretKey;
+    @Value("${novel.content-store.minio.bucket-name:novel-chapters}")
+    private String bucketName;
+
+    private MinioClient minioClient;
+
+    /**
+     * 存储桶是否已确认存在，首次写入时检查，避免启动时强依赖 MinIO
+     */
+    private volatile boolean bucketReady;
+
+    @PostConstruct
+    public void init() {
+        this.minioClient = MinioClient.builder()
+                .endpoint(minioEndpoint)
+                .credentials(minioAccessKey, minioSecretKey)
+                .build();
+    }
+
+    @Override
+    public void put(String key, byte[] data) {
+        try {
+            ensureBucket();
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(key)
+                            .stream(new ByteArrayInputStream(data), data.length, -1)
+                            .contentType("application/octet-stream")
+                            .build()
+            );
+        } catch (Exception e) {
+            throw new RuntimeException("写入章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public byte[] get(String key) {
+        try (GetObjectResponse response = minioClient.getObject(
+                GetObjectArgs.builder().bucket(bucketName).object(key).build())) {
+            return response.readAllBytes();
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw new RuntimeException("读取章节正文失败: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new RuntimeException("读取章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ObjectStream openStream(String key) {
+        try {
+            GetObjectResponse response = minioClient.getObject(
+                    GetObjectArgs.builder().bucket(bucketName).object(key).build());
+            String length = response.headers().get("Content-Length");
+            return new ObjectStream(response, length == null ? -1 : Long.parseLong(length));
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw new RuntimeException("读取章节正文失败: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new RuntimeException("读取章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(bucketName).object(key).build());
+        } catch (Exception e) {
+            throw new RuntimeException("删除章节正文失败: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getType() {
+        return "minio";
+    }
+
+    private void ensureBucket() throws Exception {
+        if (bucketReady) {
+            return;
+        }
+        boolean found = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
+        if (!found) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucketName).build());
+        }
+        bucketReady = true;
+    }
+}
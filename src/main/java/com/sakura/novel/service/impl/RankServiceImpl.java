@@ -1,9 +1,11 @@
 package com.sakura.novel.service.impl;
 
 import com.sakura.novel.DTO.Response.RankingResponse;
+import com.sakura.novel.core.cache.LruCache;
 import com.sakura.novel.entity.BookRanking;
 import com.sakura.novel.mapper.BookRankingMapper;
 import com.sakura.novel.service.RankService;
+import com.sakura.novel.utils.ETagUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,6 +25,12 @@ public class RankServiceImpl implements RankService {
 
     private final BookRankingMapper rankingMapper;
 
+    /**
+     * 榜单 ETag 缓存，键为请求参数（榜单类型、指标、日期、数量）。
+     * 未指定日期时默认周期会随时间推移，因此设置过期时间；重新生成榜单时整体清空
+     */
+    private final LruCache<String, String> rankingETags = new LruCache<>(2000, 5 * 60 * 1000L);
+
     // =================================================================
     // Part 1: 对外API实现 (从 book_rankings 表快速查询)
     // =================================================================
@@ -30,14 +38,16 @@ public class RankServiceImpl implements RankService {
     @Override
     public RankingResponse getDailyRanking(String statType, LocalDate date, Integer limit) {
         // 当不指定日期时，默认查询昨天的数据
+        String etagKey = rankingKey("daily", statType, date, limit);
         if (date == null) {
             date = LocalDate.now().minusDays(1);
         }
-        return getSavedRanking("daily", statType, date, date, limit);
+        return cacheETag(etagKey, getSavedRanking("daily", statType, date, date, limit));
     }
 
     @Override
     public RankingResponse getWeeklyRanking(String statType, LocalDate date, Integer limit) {
+        String etagKey = rankingKey("weekly", statType, date, limit);
         LocalDate startDate, endDate;
 
         if (date == null) {
@@ -59,11 +69,12 @@ public class RankServiceImpl implements RankService {
         }
         startDate = endDate.minusDays(6);
         log.info("查询周榜, statType: {}, startDate: {}, endDate: {}", statType, startDate, endDate);
-        return getSavedRanking("weekly", statType, startDate, endDate, limit);
+        return cacheETag(etagKey, getSavedRanking("weekly", statType, startDate, endDate, limit));
     }
 
     @Override
     public RankingResponse getMonthlyRanking(String statType, LocalDate date, Integer limit) {
+        String etagKey = rankingKey("monthly", statType, date, limit);
         LocalDate startDate, endDate;
 
         if (date == null) {
@@ -78,7 +89,7 @@ public class RankServiceImpl implements RankService {
             endDate = date;
             startDate = endDate.withDayOfMonth(1);
         }
-        return getSavedRanking("monthly", statType, startDate, endDate, limit);
+        return cacheETag(etagKey, getSavedRanking("monthly", statType, startDate, endDate, limit));
     }
     /**
      * 获取最新的巅峰榜 (API调用) - 修正此方法
@@ -108,7 +119,52 @@ public class RankServiceImpl implements RankService {
         }
 
         // 3. 使用获取到的最新日期，复用现有的查询方法获取榜单
-        return getSavedRanking("peak", statType, latestDate, latestDate, limit);
+        return cacheETag(rankingKey("peak", statType, null, limit),
+                getSavedRanking("peak", statType, latestDate, latestDate, limit));
+    }
+
+    @Override
+    public String getRankingETag(String rankType, String statType, LocalDate date, Integer limit) {
+        return rankingETags.get(rankingKey(rankType, statType, date, limit));
+    }
+
+    @Override
+    public String getPeakRankingETag(Integer channel, Integer limit) {
+        String statType = channel == null ? "all" : (channel == 1 ? "male" : "female");
+        return rankingETags.get(rankingKey("peak", statType, null, limit));
+    }
+
+    private String rankingKey(String rankType, String statType, LocalDate date, Integer limit) {
+        return rankType + "|" + statType + "|" + date + "|" + limit;
+    }
+
+    /**
+     * 以榜单内容摘要作为 ETag 写入缓存；逐个列出字段，不依赖 toString 的格式
+     */
+    private RankingResponse cacheETag(String etagKey, RankingResponse response) {
+        List<Object> parts = new ArrayList<>();
+        parts.add(response.getRankType());
+        parts.add(response.getStatType());
+        parts.add(response.getPeriodStart());
+        parts.add(response.getPeriodEnd());
+        if (response.getRankings() != null) {
+            for (RankingResponse.RankingItem item : response.getRankings()) {
+                parts.add(item.getRank());
+                parts.add(item.getBookId());
+                parts.add(item.getTitle());
+                parts.add(item.getDescription());
+                parts.add(item.getAuthorName());
+                parts.add(item.getCategoryName());
+                parts.add(item.getCoverImageUrl());
+                parts.add(item.getStatusText());
+                parts.add(item.getWordCount());
+                parts.add(item.getScore() == null ? null : item.getScore().toPlainString());
+                parts.add(item.getLatestChapterTitle());
+                parts.add(item.getLastUpdatedTime());
+            }
+        }
+        rankingETags.put(etagKey, ETagUtil.of(parts.toArray()));
+        return response;
     }
 
     private RankingResponse getSavedRanking(String rankType, String statType, LocalDate periodStart, LocalDate periodEnd, Integer limit) {
@@ -171,6 +227,7 @@ public class RankServiceImpl implements RankService {
         )).collect(Collectors.toList());
 
         rankingMapper.insertBookRankings(rankingsToSave);
+        rankingETags.clear();
         log.info("成功保存 {} 条 {} 排行榜数据. 指标: {}, 时间: {} - {}", rankingsToSave.size(), rankType, statType, periodStart, periodEnd);
     }
     /**
@@ -0,0 +1,613 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.service.ChapterContentStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * 基于分段文件的章节正文存储，适用于自建节点
+ * 每本书一个只追加的段文件 {bookId}.seg，记录格式（大端序）：
+ * <pre>
+ * magic(4) | op(1) | keyLen(2) | dataLen(4) | crc32(key+data)(4) | key | data
+ * </pre>
+ * op 为写入或删除（墓碑）。内存中维护“对象键 -> (偏移, 长度)”索引，启动时扫描段文件重建并逐条校验 CRC，
+ * 截断崩溃留下的不完整尾部记录，跳过中间损坏的记录。读取走按固定窗口对齐的 {@link MappedByteBuffer}，
+ * 命中页缓存时无系统调用；追加写入只会让末尾窗口重新映射。
+ * 覆盖与删除产生的失效空间由 {@link #compact()} 重写段文件回收，书籍删除后由 {@link #releaseBook(int)} 删除段文件。
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "novel.content-store.type", havingValue = "segment")
+public class SegmentChapterContentStore implements ChapterContentStore {
+
+    private static final int RECORD_MAGIC = 0x4E435347;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int RECORD_HEADER_SIZE = 15;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final int SCAN_CHUNK_SIZE = 64 * 1024;
+
+    private final Path baseDir;
+
+    @Value("${novel.content-store.segment.fsync:false}")
+    private boolean fsync;
+
+    /**
+     * 失效字节占比达到该值时压缩段文件
+     */
+    @Value("${novel.content-store.segment.compact-ratio:0.5}")
+    private double compactRatio;
+
+    /**
+     * 小于该字节数的段文件不压缩
+     */
+    @Value("${novel.content-store.segment.compact-min-bytes:1048576}")
+    private long compactMinBytes;
+
+    /**
+     * 映射窗口大小（MB），读取时按该大小对齐映射段文件
+     */
+    @Value("${novel.content-store.segment.map-window-mb:64}")
+    private int mapWindowMb;
+
+    private long windowBytes;
+
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+
+    public SegmentChapterContentStore(@Value("${novel.content-store.segment.base-dir:./data/segments}") String baseDir) {
+        this.baseDir = Paths.get(baseDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 启动恢复：清理未完成的压缩文件，扫描全部段文件重建索引
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        windowBytes = (long) Math.max(1, mapWindowMb) << 20;
+        Files.createDirectories(baseDir);
+        long start = System.currentTimeMillis();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(baseDir)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(COMPACT_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    int bookId = Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(bookId, new Segment(bookId, path));
+                }
+            }
+        }
+        log.info("章节段文件恢复完成，段数: {}，耗时: {} ms", segments.size(), System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void close() {
+        segments.values().forEach(Segment::close);
+    }
+
+    @Override
+    public void put(String key, byte[] data) {
+        int bookId = bookIdOf(key);
+        // 段文件刚被 releaseBook 删除时重新创建
+        while (!segments.computeIfAbsent(bookId, id -> new Segment(id, segmentPath(id))).append(OP_PUT, key, data)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public byte[] get(String key) {
+        Segment segment = segments.get(bookIdOf(key));
+        return segment == null ? null : segment.read(key);
+    }
+
+    @Override
+    public ObjectStream openStream(String key) {
+        Segment segment = segments.get(bookIdOf(key));
+        return segment == null ? null : segment.openStream(key);
+    }
+
+    @Override
+    public void delete(String key) {
+        Segment segment = segments.get(bookIdOf(key));
+        if (segment != null) {
+            segment.remove(key);
+        }
+    }
+
+    @Override
+    public String getType() {
+        return "segment";
+    }
+
+    /**
+     * 书籍的章节删除完后，段文件中已没有存活记录时删除文件；
+     * 仍有被其他书籍去重引用的正文时只压缩掉失效记录
+     */
+    @Override
+    public void releaseBook(int bookId) {
+        Segment segment = segments.get(bookId);
+        if (segment == null) {
+            return;
+        }
+        // 在映射的桶锁内删除，期间写入该书的请求等待后重新创建段文件
+        segments.computeIfPresent(bookId, (id, current) -> current.deleteIfEmpty() ? null : current);
+        if (segments.get(bookId) == segment && segment.hasDeadBytes()) {
+            segment.compact();
+        }
+    }
+
+    /**
+     * 压缩失效空间超过阈值的段文件
+     *
+     * @return 本次压缩的段文件数
+     */
+    public int compact() {
+        int compacted = 0;
+        for (Segment segment : segments.values()) {
+            if (segment.needsCompaction()) {
+                try {
+                    segment.compact();
+                    compacted++;
+                } catch (RuntimeException e) {
+                    log.error("压缩段文件 {} 失败: {}", segment.path, e.getMessage(), e);
+                }
+            }
+        }
+        return compacted;
+    }
+
+    private Path segmentPath(int bookId) {
+        return baseDir.resolve(bookId + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * 从对象键 chapters/{bookId}/{id} 中解析书籍ID
+     */
+    private static int bookIdOf(String key) {
+        String[] parts = key.split("/");
+        if (parts.length != 3 || !"chapters".equals(parts[0])) {
+            throw new IllegalArgumentException("非法的正文对象键: " + key);
+        }
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("非法的正文对象键: " + key);
+        }
+    }
+
+    private static ByteBuffer encodeRecord(byte op, byte[] key, byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        crc.update(data);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + key.length + data.length);
+        buffer.putInt(RECORD_MAGIC).put(op).putShort((short) key.length).putInt(data.length)
+                .putInt((int) crc.getValue()).put(key).put(data);
+        return buffer.flip();
+    }
+
+    /**
+     * 记录中正文数据的位置
+     */
+    private record Location(long offset, int length, int recordLength) {
+    }
+
+    /**
+     * 段文件的一个版本：压缩后整体替换，读请求持有的旧版本映射仍然有效
+     */
+    private static final class Generation {
+        final FileChannel channel;
+        final Map<String, Location> index = new ConcurrentHashMap<>();
+        /**
+         * 窗口序号 -> 映射区域；写满的窗口映射后不再变化，末尾窗口随追加写入重新映射
+         */
+        final Map<Long, MappedByteBuffer> windows = new ConcurrentHashMap<>();
+
+        Generation(FileChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final class Segment {
+        final int bookId;
+        final Path path;
+        volatile Generation generation;
+        long size;
+        long deadBytes;
+        /**
+         * 段文件已随书籍删除，之后的写入需要重新创建段文件
+         */
+        boolean removed;
+
+        Segment(int bookId, Path path) {
+            this.bookId = bookId;
+            this.path = path;
+            try {
+                FileChannel channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                this.generation = new Generation(channel);
+                scan();
+            } catch (IOException e) {
+                throw new UncheckedIOException("打开段文件失败: " + path, e);
+            }
+        }
+
+        /**
+         * 顺序扫描记录重建索引并逐条校验 CRC；记录头损坏、越界或末尾记录校验失败时截断文件，
+         * 中间记录校验失败时跳过该记录并移除对应的键，避免读到损坏或已被覆盖的旧正文
+         */
+        private void scan() throws IOException {
+            Generation gen = generation;
+            FileChannel channel = gen.channel;
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            ByteBuffer chunk = ByteBuffer.allocateDirect(SCAN_CHUNK_SIZE);
+            long position = 0;
+            int corrupted = 0;
+            while (position + RECORD_HEADER_SIZE <= fileSize) {
+                header.clear();
+                readFully(channel, header, position);
+                header.flip();
+                int magic = header.getInt();
+                byte op = header.get();
+                int keyLength = header.getShort() & 0xFFFF;
+                int dataLength = header.getInt();
+                int crc = header.getInt();
+                long end = position + RECORD_HEADER_SIZE + keyLength + (long) dataLength;
+                if (magic != RECORD_MAGIC || (op != OP_PUT && op != OP_DELETE) || dataLength < 0 || end > fileSize) {
+                    break;
+                }
+                ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+                readFully(channel, keyBuffer, position + RECORD_HEADER_SIZE);
+                byte[] key = keyBuffer.array();
+                String keyString = new String(key, StandardCharsets.UTF_8);
+                int recordLength = (int) (end - position);
+                if (!verify(channel, chunk, position, key, dataLength, crc)) {
+                    if (end == fileSize) {
+                        break;
+                    }
+                    log.error("段文件 {} 偏移 {} 处的记录 {} 校验失败，已跳过", path, position, keyString);
+                    Location previous = gen.index.remove(keyString);
+                    if (previous != null) {
+                        deadBytes += previous.recordLength();
+                    }
+                    deadBytes += recordLength;
+                    corrupted++;
+                    position = end;
+                    continue;
+                }
+
+                Location previous = op == OP_PUT
+                        ? gen.index.put(keyString, new Location(position + RECORD_HEADER_SIZE + keyLength, dataLength, recordLength))
+                        : gen.index.remove(keyString);
+                if (previous != null) {
+                    deadBytes += previous.recordLength();
+                }
+                if (op == OP_DELETE) {
+                    deadBytes += recordLength;
+                }
+                position = end;
+            }
+            if (position < fileSize) {
+                log.warn("段文件 {} 尾部存在不完整记录，截断 {} 字节", path, fileSize - position);
+                channel.truncate(position);
+                channel.force(true);
+            }
+            if (corrupted > 0) {
+                log.error("段文件 {} 中有 {} 条记录校验失败，对应正文不可读", path, corrupted);
+            }
+            size = position;
+        }
+
+        /**
+         * 分块读取正文数据计算 CRC，不为每条记录分配整块缓冲区
+         */
+        private boolean verify(FileChannel channel, ByteBuffer chunk, long position, byte[] key,
+                               int dataLength, int expectedCrc) throws IOException {
+            CRC32 crc = new CRC32();
+            crc.update(key);
+            long offset = position + RECORD_HEADER_SIZE + key.length;
+            long remaining = dataLength;
+            while (remaining > 0) {
+                chunk.clear().limit((int) Math.min(chunk.capacity(), remaining));
+                readFully(channel, chunk, offset);
+                chunk.flip();
+                offset += chunk.remaining();
+                remaining -= chunk.remaining();
+                crc.update(chunk);
+            }
+            return (int) crc.getValue() == expectedCrc;
+        }
+
+        /**
+         * @return 段文件已被删除时返回 false，由调用方重新获取段文件后重试
+         */
+        synchronized boolean append(byte op, String key, byte[] data) {
+            if (removed) {
+                return false;
+            }
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer record = encodeRecord(op, keyBytes, data);
+            int recordLength = record.remaining();
+            Generation gen = generation;
+            try {
+                long position = size;
+                while (record.hasRemaining()) {
+                    position += gen.channel.write(record, position);
+                }
+                if (fsync) {
+                    gen.channel.force(false);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入段文件失败: " + path, e);
+            }
+
+            Location previous = op == OP_PUT
+                    ? gen.index.put(key, new Location(size + RECORD_HEADER_SIZE + keyBytes.length, data.length, recordLength))
+                    : gen.index.remove(key);
+            if (previous != null) {
+                deadBytes += previous.recordLength();
+            }
+            if (op == OP_DELETE) {
+                deadBytes += recordLength;
+            }
+            size += recordLength;
+            return true;
+        }
+
+        synchronized void remove(String key) {
+            if (generation.index.containsKey(key)) {
+                append(OP_DELETE, key, new byte[0]);
+            }
+        }
+
+        byte[] read(String key) {
+            for (int attempt = 0; ; attempt++) {
+                Generation gen = generation;
+                Location location = gen.index.get(key);
+                if (location == null) {
+                    return null;
+                }
+                try {
+                    return read(gen, location);
+                } catch (ClosedChannelException e) {
+                    // 读取期间段文件被压缩替换，使用新版本重试
+                    if (attempt > 0) {
+                        throw new UncheckedIOException("读取段文件失败: " + path, e);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("读取段文件失败: " + path, e);
+                }
+            }
+        }
+
+        /**
+         * 直接在映射区域上创建只读视图流，不复制正文字节
+         */
+        ObjectStream openStream(String key) {
+            Generation gen = generation;
+            Location location = gen.index.get(key);
+            if (location == null) {
+                return null;
+            }
+            try {
+                ByteBuffer view = map(gen, location);
+                if (view != null) {
+                    return new ObjectStream(new ByteBufferInputStream(view), location.length());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取段文件失败: " + path, e);
+            }
+            byte[] data = read(key);
+            return data == null ? null : new ObjectStream(new ByteArrayInputStream(data), data.length);
+        }
+
+        private byte[] read(Generation gen, Location location) throws IOException {
+            byte[] bytes = new byte[location.length()];
+            ByteBuffer view = map(gen, location);
+            if (view != null) {
+                view.get(0, bytes);
+                return bytes;
+            }
+            // 跨越映射窗口的记录按位置读取
+            readFully(gen.channel, ByteBuffer.wrap(bytes), location.offset());
+            return bytes;
+        }
+
+        /**
+         * 返回记录在所属映射窗口上的只读视图，记录跨越窗口边界时返回 null
+         */
+        private ByteBuffer map(Generation gen, Location location) throws IOException {
+            long window = location.offset() / windowBytes;
+            long windowStart = window * windowBytes;
+            long required = location.offset() + location.length() - windowStart;
+            if (required > windowBytes) {
+                return null;
+            }
+            MappedByteBuffer mapped = gen.windows.get(window);
+            if (mapped == null || required > mapped.capacity()) {
+                mapped = mapWindow(gen, window, required);
+            }
+            return mapped.slice((int) (location.offset() - windowStart), location.length());
+        }
+
+        /**
+         * 映射一个窗口；末尾窗口在追加写入后不再覆盖所需范围时只重新映射该窗口
+         */
+        private MappedByteBuffer mapWindow(Generation gen, long window, long required) throws IOException {
+            synchronized (gen) {
+                MappedByteBuffer mapped = gen.windows.get(window);
+                if (mapped != null && required <= mapped.capacity()) {
+                    return mapped;
+                }
+                long windowStart = window * windowBytes;
+                long length = Math.min(gen.channel.size() - windowStart, windowBytes);
+                mapped = gen.channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+                gen.windows.put(window, mapped);
+                return mapped;
+            }
+        }
+
+        synchronized boolean needsCompaction() {
+            return !removed && size >= compactMinBytes && deadBytes >= size * compactRatio;
+        }
+
+        synchronized boolean hasDeadBytes() {
+            return !removed && deadBytes > 0;
+        }
+
+        /**
+         * 段文件中没有存活记录时关闭并删除文件
+         *
+         * @return 已删除时返回 true
+         */
+        synchronized boolean deleteIfEmpty() {
+            if (removed) {
+                return true;
+            }
+            if (!generation.index.isEmpty()) {
+                return false;
+            }
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("删除段文件失败: " + path, e);
+            }
+            removed = true;
+            log.info("书籍 {} 的段文件已删除，释放 {} 字节", bookId, size);
+            return true;
+        }
+
+        /**
+         * 按偏移顺序将存活记录写入新文件，刷盘后原子替换旧文件
+         */
+        synchronized void compact() {
+            if (removed) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            Generation old = generation;
+            Path temp = path.resolveSibling(path.getFileName() + COMPACT_SUFFIX);
+            List<Map.Entry<String, Location>> live = new ArrayList<>(old.index.entrySet());
+            live.sort(Comparator.comparingLong(entry -> entry.getValue().offset()));
+
+            long before = size;
+            try {
+                Generation next;
+                long position = 0;
+                try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    Map<String, Location> index = new ConcurrentHashMap<>();
+                    for (Map.Entry<String, Location> entry : live) {
+                        byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                        byte[] data = read(old, entry.getValue());
+                        ByteBuffer record = encodeRecord(OP_PUT, key, data);
+                        int recordLength = record.remaining();
+                        long recordStart = position;
+                        while (record.hasRemaining()) {
+                            position += out.write(record, position);
+                        }
+                        index.put(entry.getKey(), new Location(recordStart + RECORD_HEADER_SIZE + key.length, data.length, recordLength));
+                    }
+                    out.force(true);
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    next = new Generation(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                    next.index.putAll(index);
+                }
+                generation = next;
+                size = position;
+                deadBytes = 0;
+                closeQuietly(old.channel);
+            } catch (IOException e) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // 启动恢复时会再次清理
+                }
+                throw new UncheckedIOException("压缩段文件失败: " + path, e);
+            }
+            log.info("书籍 {} 段文件压缩完成，{} -> {} 字节，耗时: {} ms",
+                    bookId, before, size, System.currentTimeMillis() - start);
+        }
+
+        void close() {
+            closeQuietly(generation.channel);
+        }
+    }
+
+    /**
+     * 基于 ByteBuffer 的输入流
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("段文件意外结束");
+            }
+            position += n;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("关闭段文件失败: {}", e.getMessage());
+        }
+    }
+}
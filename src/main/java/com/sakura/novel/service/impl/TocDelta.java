@@ -0,0 +1,75 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.entity.ChapterTocChange;
+import com.sakura.novel.mapper.BookMapper;
+import com.sakura.novel.mapper.ChapterTocMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 章节写操作产生的目录变更
+ * 每次应用时每本书的目录版本只加一，本次的全部变更记为该版本的日志；
+ * 与 {@link AggregateDelta} 一样由调用方传入 Mapper，随章节写入在同一事务中提交。
+ */
+final class TocDelta {
+
+    /**
+     * 单条 INSERT 的最大日志行数
+     */
+    private static final int INSERT_BATCH = 1000;
+
+    private final Map<Integer, List<ChapterTocChange>> changes = new LinkedHashMap<>();
+
+    void upsert(Chapter chapter) {
+        if (chapter.getBookId() == null || chapter.getId() == null) {
+            return;
+        }
+        ChapterTocChange change = change(chapter.getBookId(), ChapterTocChange.OP_UPSERT, chapter.getId());
+        change.setChapterNumber(chapter.getChapterNumber());
+        change.setTitle(chapter.getTitle());
+        change.setIsVip(Boolean.TRUE.equals(chapter.getIsVip()));
+    }
+
+    void delete(Integer bookId, Integer chapterId) {
+        if (bookId != null && chapterId != null) {
+            change(bookId, ChapterTocChange.OP_DELETE, chapterId);
+        }
+    }
+
+    boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    void apply(BookMapper bookMapper, ChapterTocMapper chapterTocMapper) {
+        LocalDateTime now = LocalDateTime.now();
+        changes.forEach((bookId, bookChanges) -> {
+            // 书籍行在事务提交前保持锁定，同一本书的目录版本连续递增
+            bookMapper.incrementTocVersion(bookId);
+            Long version = bookMapper.selectTocVersion(bookId);
+            if (version == null) {
+                return;
+            }
+            for (ChapterTocChange change : bookChanges) {
+                change.setTocVersion(version);
+                change.setCreateTime(now);
+            }
+            for (int from = 0; from < bookChanges.size(); from += INSERT_BATCH) {
+                chapterTocMapper.batchInsert(bookChanges.subList(from, Math.min(from + INSERT_BATCH, bookChanges.size())));
+            }
+        });
+    }
+
+    private ChapterTocChange change(Integer bookId, String op, Integer chapterId) {
+        ChapterTocChange change = new ChapterTocChange();
+        change.setBookId(bookId);
+        change.setOp(op);
+        change.setChapterId(chapterId);
+        changes.computeIfAbsent(bookId, id -> new ArrayList<>()).add(change);
+        return change;
+    }
+}
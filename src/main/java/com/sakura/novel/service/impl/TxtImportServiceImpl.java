@@ -0,0 +1,168 @@
+package com.sakura.novel.service.impl;
+
+import com.sakura.novel.core.text.TxtChapterScanner;
+import com.sakura.novel.core.text.TxtChapterScanner.ScanResult;
+import com.sakura.novel.core.text.TxtChapterScanner.Section;
+import com.sakura.novel.entity.Chapter;
+import com.sakura.novel.service.ChapterService;
+import com.sakura.novel.service.TxtImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 整本 TXT 小说导入服务实现类
+ * 请求体先复制到临时文件（校验大小上限），再以只读方式内存映射后扫描切分，
+ * 正文按章节逐个解码并送入 {@link ChapterService#importChapters}，任何时刻内存中只有一章正文。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TxtImportServiceImpl implements TxtImportService {
+
+    private final ChapterService chapterService;
+
+    @Value("${novel.txt-import.max-size-mb:200}")
+    private long maxSizeMb;
+
+    @Override
+    public TxtImportResult importTxt(Integer bookId, InputStream in, Charset charset, Integer startNumber, boolean dryRun) {
+        if (!TxtChapterScanner.isSupported(charset)) {
+            throw new RuntimeException("仅支持 UTF-8 与 GBK 编码");
+        }
+        Path temp = null;
+        try {
+            temp = Files.createTempFile("novel-import-", ".txt");
+            // 单个映射区不能超过 2GB
+            long size = copy(in, temp, Math.min(maxSizeMb, 2047) << 20);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                long start = System.currentTimeMillis();
+                ScanResult scan = TxtChapterScanner.scan(buffer, charset);
+
+                TxtImportResult result = new TxtImportResult();
+                result.setFileBytes(size);
+                result.setPreambleBytes(scan.preambleBytes());
+                result.setScanMs(System.currentTimeMillis() - start);
+                result.setDryRun(dryRun);
+                List<Section> sections = new ArrayList<>(scan.sections().size());
+                for (Section section : scan.sections()) {
+                    if (section.wordCount() > 0) {
+                        sections.add(section);
+                        result.setTotalWordCount(result.getTotalWordCount() + section.wordCount());
+                    }
+                }
+                result.setChapterCount(sections.size());
+                result.setEmptySections(scan.sections().size() - sections.size());
+
+                int firstNumber = startNumber != null ? startNumber : nextChapterNumber(bookId);
+                if (dryRun) {
+                    result.setChapters(preview(sections, firstNumber));
+                    return result;
+                }
+                result.setImportProgress(chapterService.importChapters(bookId,
+                        chapters(bookId, buffer, sections, charset, firstNumber),
+                        progress -> log.info("书籍 {} TXT 导入进度: 第 {} 批, 已导入 {} 章, 跳过 {} 章",
+                                bookId, progress.getChunks(), progress.getImported(), progress.getSkipped())));
+                return result;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("读取上传文件失败: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    private int nextChapterNumber(Integer bookId) {
+        Chapter latest = chapterService.getLatestChapterByBookId(bookId);
+        return latest == null ? 1 : latest.getChapterNumber() + 1;
+    }
+
+    private static List<ChapterPreview> preview(List<Section> sections, int firstNumber) {
+        List<ChapterPreview> previews = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            ChapterPreview preview = new ChapterPreview();
+            preview.setChapterNumber(firstNumber + i);
+            preview.setTitle(section.title());
+            preview.setWordCount(section.wordCount());
+            preview.setBytes(section.bodyEnd() - section.bodyStart());
+            previews.add(preview);
+        }
+        return previews;
+    }
+
+    /**
+     * 按需逐章解码正文的章节迭代器
+     */
+    private static Iterator<Chapter> chapters(Integer bookId, MappedByteBuffer buffer, List<Section> sections,
+                                              Charset charset, int firstNumber) {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < sections.size();
+            }
+
+            @Override
+            public Chapter next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Section section = sections.get(index);
+                Chapter chapter = new Chapter();
+                chapter.setBookId(bookId);
+                chapter.setChapterNumber(firstNumber + index);
+                chapter.setTitle(section.title());
+                chapter.setContent(TxtChapterScanner.body(buffer, section, charset));
+                chapter.setWordCount(section.wordCount());
+                index++;
+                return chapter;
+            }
+        };
+    }
+
+    private static long copy(InputStream in, Path target, long maxBytes) throws IOException {
+        long total = 0;
+        byte[] buffer = new byte[65536];
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 65536)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                total += n;
+                if (total > maxBytes) {
+                    throw new RuntimeException("文件大小超过上限 " + (maxBytes >> 20) + "MB");
+                }
+                out.write(buffer, 0, n);
+            }
+        }
+        return total;
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除临时文件 {} 失败: {}", path, e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.sakura.novel.service.impl;
 import com.sakura.novel.entity.User;
 import com.sakura.novel.mapper.UserMapper;
 import com.sakura.novel.service.UserService;
+import com.sakura.novel.service.ExistenceFilterService;
+import com.sakura.novel.service.ExistenceFilterService.FilterType;
 import com.sakura.novel.service.FileUploadService;
 import com.sakura.novel.DTO.Request.UserRegisterReqDTO;
 import com.sakura.novel.DTO.Request.UserLoginReqDTO;
@@ -25,13 +27,22 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final FileUploadService fileUploadService;
     private final PasswordEncoder passwordEncoder;
+    private final ExistenceFilterService existenceFilterService;
 
     @Override
     public User getUserById(Integer id) {
         if (id == null || id <= 0) {
             throw new IllegalArgumentException("用户ID不能为空或非正数");
         }
-        return userMapper.selectById(id);
+        // 布隆过滤器判定一定不存在时直接返回，不查询数据库
+        if (!existenceFilterService.mightContain(FilterType.USER, id)) {
+            return null;
+        }
+        User user = userMapper.selectById(id);
+        if (user == null) {
+            existenceFilterService.recordFalsePositive(FilterType.USER);
+        }
+        return user;
     }
 
     @Override
@@ -73,6 +84,7 @@ public class UserServiceImpl implements UserService {
         }
 
         userMapper.insert(user);
+        existenceFilterService.add(FilterType.USER, user.getId());
         return user;
     }
 
@@ -185,6 +197,7 @@ public class UserServiceImpl implements UserService {
 
         // 保存用户
         userMapper.insert(user);
+        existenceFilterService.add(FilterType.USER, user.getId());
 
         // 返回用户信息（不包含密码）
         user.setPasswordHash(null);
@@ -0,0 +1,50 @@
+package com.sakura.novel.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标工具类
+ * 游标内容为“最后一条记录的排序键|ID”，经 Base64URL 编码后对客户端保持不透明
+ */
+public final class CursorUtil {
+
+    private static final char SEPARATOR = '|';
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 编码游标，sortKey 为 null 时表示排序键为空值
+     */
+    public static String encode(Object sortKey, Integer id) {
+        String raw = (sortKey == null ? "" : sortKey.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，cursor 为空时返回 null（表示从第一页开始）
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            String sortKey = raw.substring(0, idx);
+            return new Cursor(sortKey.isEmpty() ? null : sortKey, Integer.valueOf(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 解码后的游标
+     *
+     * @param sortKey 最后一条记录的排序键，排序键为空值时为 null
+     * @param id      最后一条记录的ID
+     */
+    public record Cursor(String sortKey, Integer id) {
+    }
+}
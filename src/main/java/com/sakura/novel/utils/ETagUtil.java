@@ -0,0 +1,26 @@
+package com.sakura.novel.utils;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETag 工具类
+ * 用于生成强校验值（带双引号的十六进制摘要），配合 WebRequest#checkNotModified 实现条件GET
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    /**
+     * 根据若干组成部分（如 id、update_time）生成强 ETag
+     */
+    public static String of(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            sb.append(part).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,147 @@
+package com.sakura.novel.benchmark;
+
+import com.sakura.novel.core.codec.ChapterContentCodec;
+import com.sakura.novel.core.codec.DictionaryTrainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 正文编解码基准测试：对同一本合成小说的章节，比较原文 UTF-8 解码、无字典 Deflate 与本书训练字典的编解码耗时，
+ * 并在准备阶段输出两种编码的压缩比。训练参数与后台迁移的默认配置一致（字典 32 KB、32 章样本）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentCodecBenchmark {
+
+    private static final int CHAPTERS = 64;
+    private static final int SAMPLE_CHAPTERS = 32;
+    private static final int DICTIONARY_SIZE = 32768;
+    private static final int DICT_ID = 1;
+    private static final String[] NAMES = {"林渊", "苏清寒", "叶无尘", "慕容雪", "萧长风"};
+    private static final String[] PHRASES = {"推开房门", "望着远方的山影", "握紧了手中长剑", "轻声笑道",
+            "体内灵力缓缓流转", "眉头微微一皱", "抬头看向天空", "沉默了许久", "转身离去", "心中暗暗吃惊"};
+
+    /**
+     * Deflate 压缩级别
+     */
+    @Param({"1", "6", "9"})
+    private int level;
+
+    /**
+     * 单章字数（千字符）
+     */
+    @Param({"4"})
+    private int chapterKb;
+
+    private byte[][] raw;
+    private byte[][] deflated;
+    private byte[][] withDict;
+    private String[] texts;
+    private byte[] dictionary;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        texts = new String[CHAPTERS];
+        for (int i = 0; i < CHAPTERS; i++) {
+            texts[i] = syntheticChapter(random, chapterKb * 1024);
+        }
+        List<String> samples = new ArrayList<>(List.of(texts).subList(0, SAMPLE_CHAPTERS));
+        dictionary = DictionaryTrainer.train(samples, DICTIONARY_SIZE);
+
+        raw = new byte[CHAPTERS][];
+        deflated = new byte[CHAPTERS][];
+        withDict = new byte[CHAPTERS][];
+        long rawBytes = 0;
+        long deflateBytes = 0;
+        long dictBytes = 0;
+        for (int i = 0; i < CHAPTERS; i++) {
+            raw[i] = texts[i].getBytes(StandardCharsets.UTF_8);
+            deflated[i] = ChapterContentCodec.encode(texts[i], level, 0, null);
+            withDict[i] = ChapterContentCodec.encode(texts[i], level, DICT_ID, dictionary);
+            if (!texts[i].equals(ChapterContentCodec.decode(withDict[i], id -> dictionary))) {
+                throw new IllegalStateException("字典编码后无法还原原文");
+            }
+            rawBytes += raw[i].length;
+            deflateBytes += deflated[i].length;
+            dictBytes += withDict[i].length;
+        }
+        System.out.printf("%n原文 %d 字节，Deflate %.3f，字典 %.3f%n", rawBytes,
+                (double) deflateBytes / rawBytes, (double) dictBytes / rawBytes);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % CHAPTERS;
+        return next;
+    }
+
+    @Benchmark
+    public String decodePlain() {
+        return new String(raw[nextIndex()], StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeDeflate() {
+        return ChapterContentCodec.encode(texts[nextIndex()], level, 0, null);
+    }
+
+    @Benchmark
+    public String decodeDeflate() {
+        return ChapterContentCodec.decode(deflated[nextIndex()], id -> null);
+    }
+
+    @Benchmark
+    public byte[] encodeDictionary() {
+        return ChapterContentCodec.encode(texts[nextIndex()], level, DICT_ID, dictionary);
+    }
+
+    @Benchmark
+    public String decodeDictionary() {
+        return ChapterContentCodec.decode(withDict[nextIndex()], id -> dictionary);
+    }
+
+    /**
+     * 合成章节：人名与动作短语随机组合成段落，段落以全角空格缩进
+     */
+    private static String syntheticChapter(Random random, int chars) {
+        StringBuilder builder = new StringBuilder(chars + 64);
+        while (builder.length() < chars) {
+            builder.append("　　");
+            int count = 2 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                builder.append(NAMES[random.nextInt(NAMES.length)])
+                        .append(PHRASES[random.nextInt(PHRASES.length)])
+                        .append(i + 1 < count ? "，" : "。");
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ContentCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
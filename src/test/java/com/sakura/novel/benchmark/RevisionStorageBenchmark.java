@@ -0,0 +1,129 @@
+package com.sakura.novel.benchmark;
+
+import com.sakura.novel.core.codec.ChapterContentCodec;
+import com.sakura.novel.core.text.LineDiff;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 章节历史版本存储基准测试：对合成正文连续修改（每次改写 3 段、增删各 1 段），
+ * 测量生成一个反向差异的耗时，以及从当前正文经过一整段差异链（快照间隔 - 1 个差异）重建最旧版本的耗时；
+ * 准备阶段输出逐版保存全文、压缩全文与差异存储的字节数。快照间隔、编辑上限与压缩级别取默认配置
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevisionStorageBenchmark {
+
+    private static final int SNAPSHOT_INTERVAL = 10;
+    private static final int MAX_EDITS = 1000;
+    private static final int COMPRESSION_LEVEL = 6;
+    private static final String[] PHRASES = {"他推开门", "夜色渐深", "剑光一闪", "她轻声笑道", "远处传来钟声",
+            "众人面面相觑", "风卷起落叶", "灵力在经脉中流转", "城门缓缓打开", "少年握紧了拳头"};
+
+    /**
+     * 正文大小（千字符）
+     */
+    @Param({"4", "16", "64"})
+    private int sizeKb;
+
+    /**
+     * versions[0] 最旧，versions[SNAPSHOT_INTERVAL - 1] 为当前正文
+     */
+    private String[] versions;
+    /**
+     * patches[i] 把 versions[i + 1] 还原为 versions[i]，与历史版本表中的差异记录相同
+     */
+    private byte[][] patches;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> paragraphs = new ArrayList<>();
+        int length = 0;
+        while (length < sizeKb * 1024) {
+            String paragraph = syntheticParagraph(random);
+            paragraphs.add(paragraph);
+            length += paragraph.length() + 1;
+        }
+        versions = new String[SNAPSHOT_INTERVAL];
+        versions[0] = String.join("\n", paragraphs);
+        for (int i = 1; i < versions.length; i++) {
+            for (int j = 0; j < 3; j++) {
+                paragraphs.set(random.nextInt(paragraphs.size()), syntheticParagraph(random));
+            }
+            paragraphs.add(random.nextInt(paragraphs.size() + 1), syntheticParagraph(random));
+            paragraphs.remove(random.nextInt(paragraphs.size()));
+            versions[i] = String.join("\n", paragraphs);
+        }
+
+        patches = new byte[versions.length - 1][];
+        long fullBytes = 0;
+        long compressedBytes = 0;
+        long patchBytes = 0;
+        for (int i = 0; i < patches.length; i++) {
+            String patch = LineDiff.diff(versions[i + 1], versions[i], MAX_EDITS);
+            if (patch == null) {
+                throw new IllegalStateException("差异超过编辑上限");
+            }
+            patches[i] = ChapterContentCodec.encode(patch, COMPRESSION_LEVEL, 0, null);
+            fullBytes += versions[i].getBytes(StandardCharsets.UTF_8).length;
+            compressedBytes += ChapterContentCodec.encode(versions[i], COMPRESSION_LEVEL, 0, null).length;
+            patchBytes += patches[i].length;
+        }
+        if (!reconstructOldest().equals(versions[0])) {
+            throw new IllegalStateException("差异链重建结果与原文不一致");
+        }
+        System.out.printf("%n%d 个历史版本：全文 %d 字节，压缩全文 %d 字节，差异 %d 字节，节省 %.3f%n",
+                patches.length, fullBytes, compressedBytes, patchBytes, 1 - (double) patchBytes / compressedBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeRevision() {
+        String patch = LineDiff.diff(versions[versions.length - 1], versions[versions.length - 2], MAX_EDITS);
+        return ChapterContentCodec.encode(patch, COMPRESSION_LEVEL, 0, null);
+    }
+
+    @Benchmark
+    public String reconstructOldest() {
+        String text = versions[versions.length - 1];
+        for (int i = patches.length - 1; i >= 0; i--) {
+            text = LineDiff.apply(text, ChapterContentCodec.decode(patches[i], dictId -> null));
+        }
+        return text;
+    }
+
+    private static String syntheticParagraph(Random random) {
+        StringBuilder builder = new StringBuilder("　　");
+        int count = 3 + random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            builder.append(PHRASES[random.nextInt(PHRASES.length)]).append(i + 1 < count ? "，" : "。");
+        }
+        return builder.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RevisionStorageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
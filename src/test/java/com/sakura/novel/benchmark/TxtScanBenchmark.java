@@ -0,0 +1,111 @@
+package com.sakura.novel.benchmark;
+
+import com.sakura.novel.core.text.TxtChapterScanner;
+import com.sakura.novel.core.text.TxtChapterScanner.ScanResult;
+import com.sakura.novel.core.text.TxtChapterScanner.Section;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TXT 章节切分吞吐基准测试：生成合成小说文件并内存映射，测量扫描切分（含字数统计）与逐章解码正文的耗时
+ * 每次调用处理整个文件，文件字节数除以单次耗时即为吞吐
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TxtScanBenchmark {
+
+    private static final String PARAGRAPH = "　　夜色渐深，城中灯火次第熄灭，他独自站在高楼之上，望着远方连绵的山影，心中思绪万千，久久不能平静。\n";
+
+    /**
+     * 合成文件大小（MB）
+     */
+    @Param({"16", "64"})
+    private int sizeMb;
+
+    private Path file;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private ScanResult scan;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("novel-txt-bench-", ".txt");
+        writeSyntheticNovel(file, (long) sizeMb << 20);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        scan = TxtChapterScanner.scan(buffer, StandardCharsets.UTF_8);
+        System.out.printf("%n合成文件 %d 字节，%d 章%n", channel.size(), scan.sections().size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ScanResult scan() {
+        return TxtChapterScanner.scan(buffer, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (Section section : scan.sections()) {
+            blackhole.consume(TxtChapterScanner.body(buffer, section, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 生成合成小说：每章约 3000 字，段落以全角空格缩进
+     */
+    private static void writeSyntheticNovel(Path target, long targetBytes) throws IOException {
+        byte[] paragraphBytes = PARAGRAPH.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 65536)) {
+            out.write("合成小说\n作者：基准测试\n\n".getBytes(StandardCharsets.UTF_8));
+            long written = 0;
+            for (int number = 1; written < targetBytes; number++) {
+                byte[] heading = ("第" + number + "章 第" + number + "个夜晚\n").getBytes(StandardCharsets.UTF_8);
+                out.write(heading);
+                written += heading.length;
+                for (int i = 0; i < 60; i++) {
+                    out.write(paragraphBytes);
+                }
+                written += 60L * paragraphBytes.length;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TxtScanBenchmark.class.getSimpleName()).build()).run();
+    }
+}
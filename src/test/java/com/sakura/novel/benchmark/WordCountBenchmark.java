@@ -0,0 +1,88 @@
+package com.sakura.novel.benchmark;
+
+import com.sakura.novel.core.text.WordCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字数统计基准测试：对合成的中英文混排正文分别运行标量与 Vector API 实现（UTF-16 字符串与 UTF-8 字节）
+ * 执行 mvn test-compile 后以测试类路径运行 main 方法；fork 的 JVM 加载 jdk.incubator.vector，
+ * 需要对比未加载时的表现可去掉 jvmArgsAppend
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class WordCountBenchmark {
+
+    private static final String PARAGRAPH = "　　他推开门，看见 Alice 正对着 MacBook 调试第 42 个 bug，屏幕上满是 Exception。\n";
+
+    /**
+     * 正文大小（千字符）
+     */
+    @Param({"4", "64", "1024"})
+    private int sizeKb;
+
+    private String text;
+    private ByteBuffer utf8;
+
+    @Setup
+    public void setUp() {
+        int chars = sizeKb * 1024;
+        StringBuilder builder = new StringBuilder(chars + PARAGRAPH.length());
+        while (builder.length() < chars) {
+            builder.append(PARAGRAPH);
+        }
+        text = builder.toString();
+        utf8 = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+
+        int expected = WordCounter.countScalar(text);
+        if (WordCounter.count(text) != expected
+                || WordCounter.countUtf8Scalar(utf8, 0, utf8.limit()) != expected
+                || WordCounter.countUtf8(utf8, 0, utf8.limit()) != expected) {
+            throw new IllegalStateException("标量与向量化实现的字数不一致");
+        }
+    }
+
+    @Benchmark
+    public int stringScalar() {
+        return WordCounter.countScalar(text);
+    }
+
+    @Benchmark
+    public int stringVector() {
+        return WordCounter.count(text);
+    }
+
+    @Benchmark
+    public int utf8Scalar() {
+        return WordCounter.countUtf8Scalar(utf8, 0, utf8.limit());
+    }
+
+    @Benchmark
+    public int utf8Vector() {
+        return WordCounter.countUtf8(utf8, 0, utf8.limit());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WordCountBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.sakura.novel.core.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 行差异补丁：apply(base, diff(base, target)) 必须逐字符还原 target
+ */
+class LineDiffTest {
+
+    private static final int MAX_EDITS = 1000;
+
+    @Test
+    void identicalTextsProduceEmptyPatch() {
+        assertEquals("", LineDiff.diff("甲\n乙", "甲\n乙", MAX_EDITS));
+        assertEquals("甲\n乙", LineDiff.apply("甲\n乙", ""));
+    }
+
+    @Test
+    void insertOnlyRoundTrip() {
+        assertRoundTrip("甲\n丙", "甲\n乙\n丙");
+        assertRoundTrip("甲\n乙", "新开头\n甲\n乙\n新结尾");
+        assertRoundTrip("", "甲\n乙");
+        assertRoundTrip("甲", "甲\n\n\n乙");
+    }
+
+    @Test
+    void deleteOnlyRoundTrip() {
+        assertRoundTrip("甲\n乙\n丙", "甲\n丙");
+        assertRoundTrip("开头\n甲\n乙\n结尾", "甲\n乙");
+        assertRoundTrip("甲\n乙", "");
+        assertRoundTrip("甲\n\n\n乙", "甲");
+    }
+
+    @Test
+    void trailingNewlineRoundTrip() {
+        assertRoundTrip("甲\n乙", "甲\n乙\n");
+        assertRoundTrip("甲\n乙\n", "甲\n乙");
+        assertRoundTrip("甲\n乙\n", "甲\n乙\n\n");
+        assertRoundTrip("\n", "");
+        assertRoundTrip("", "\n");
+    }
+
+    @Test
+    void insertedLinesThatLookLikeCommandsRoundTrip() {
+        assertRoundTrip("甲\n乙", "甲\n=3\n+1\n-2\n乙");
+    }
+
+    @Test
+    void randomEditsRoundTrip() {
+        Random random = new Random(42);
+        String[] vocabulary = {"甲", "乙", "丙", "丁", "戊", ""};
+        for (int round = 0; round < 500; round++) {
+            List<String> base = new ArrayList<>();
+            int lines = random.nextInt(20);
+            for (int i = 0; i < lines; i++) {
+                base.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            List<String> target = new ArrayList<>(base);
+            int edits = random.nextInt(8);
+            for (int i = 0; i < edits; i++) {
+                if (!target.isEmpty() && random.nextBoolean()) {
+                    target.remove(random.nextInt(target.size()));
+                } else {
+                    target.add(random.nextInt(target.size() + 1), vocabulary[random.nextInt(vocabulary.length)]);
+                }
+            }
+            assertRoundTrip(String.join("\n", base), String.join("\n", target));
+        }
+    }
+
+    @Test
+    void exceedingMaxEditsReturnsNull() {
+        // 中间 3 行全部替换：删除 3 行、插入 3 行，共 6 次编辑
+        String base = "首\n甲\n乙\n丙\n尾";
+        String target = "首\n子\n丑\n寅\n尾";
+        assertNull(LineDiff.diff(base, target, 5));
+        String patch = LineDiff.diff(base, target, 6);
+        assertNotNull(patch);
+        assertEquals(target, LineDiff.apply(base, patch));
+    }
+
+    @Test
+    void maxEditsZeroOnlyAllowsIdenticalTexts() {
+        assertEquals("", LineDiff.diff("甲", "甲", 0));
+        assertNull(LineDiff.diff("甲", "乙", 0));
+    }
+
+    @Test
+    void patchForDifferentBaseIsRejected() {
+        String patch = LineDiff.diff("甲\n乙\n丙", "甲\n丙", MAX_EDITS);
+        assertThrows(IllegalArgumentException.class, () -> LineDiff.apply("甲\n乙", patch));
+        assertThrows(IllegalArgumentException.class, () -> LineDiff.apply("甲\n乙\n丙\n丁", patch));
+    }
+
+    private static void assertRoundTrip(String base, String target) {
+        String patch = LineDiff.diff(base, target, MAX_EDITS);
+        assertNotNull(patch);
+        assertEquals(target, LineDiff.apply(base, patch), () -> "补丁: " + patch);
+    }
+}
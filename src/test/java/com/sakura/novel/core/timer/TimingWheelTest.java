@@ -0,0 +1,71 @@
+package com.sakura.novel.core.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分层时间轮的到期顺序：tickMs = 10、wheelSize = 4 时各层跨度为 40、160、640 ms，
+ * 测试中的任务分布在不同层，需要经过上层降级才能到期
+ */
+class TimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 4;
+
+    @Test
+    void expiresInDeadlineOrderAcrossOverflowLevels() throws InterruptedException {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE);
+        long now = System.currentTimeMillis();
+        // 乱序添加，偏移量相差超过一格，到期后必然落在不同的 poll 批次或按序的格子中
+        long[] offsets = {350, 25, 700, 65, 190, 120};
+        for (long offset : offsets) {
+            assertTrue(wheel.schedule(offset, now + offset) != null);
+        }
+        assertEquals(offsets.length, wheel.size());
+        assertEquals(4, wheel.levels());
+
+        List<Long> expired = new ArrayList<>();
+        long limit = now + 5000;
+        while (expired.size() < offsets.length && System.currentTimeMillis() < limit) {
+            for (Long offset : wheel.poll(100)) {
+                // 不会早于到期时间被取出
+                assertTrue(System.currentTimeMillis() >= now + offset, "任务 " + offset + " 提前到期");
+                expired.add(offset);
+            }
+        }
+        assertEquals(List.of(25L, 65L, 120L, 190L, 350L, 700L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledOverflowTaskNeverExpires() throws InterruptedException {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE);
+        long now = System.currentTimeMillis();
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", now + 200);
+        wheel.schedule("kept", now + 250);
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        List<String> expired = new ArrayList<>();
+        long limit = now + 5000;
+        while (expired.isEmpty() && System.currentTimeMillis() < limit) {
+            expired.addAll(wheel.poll(100));
+        }
+        assertEquals(List.of("kept"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlineIsRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE);
+        assertNull(wheel.schedule("late", System.currentTimeMillis() - 1));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,168 @@
+package com.sakura.novel.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 段文件存储的崩溃恢复与压缩
+ */
+class SegmentChapterContentStoreTest {
+
+    private static final int RECORD_HEADER_SIZE = 15;
+
+    @TempDir
+    Path dir;
+
+    private SegmentChapterContentStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void truncatedTailRecordIsDroppedOnReopen() throws IOException {
+        store = open();
+        store.put("chapters/1/1", bytes("第一章"));
+        store.put("chapters/1/2", bytes("第二章"));
+        store.close();
+
+        // 模拟写入第二条记录时崩溃：只落盘了一部分
+        long firstRecord = recordLength("chapters/1/1", "第一章");
+        truncate(segment(1), Files.size(segment(1)) - 3);
+
+        store = open();
+        assertArrayEquals(bytes("第一章"), store.get("chapters/1/1"));
+        assertNull(store.get("chapters/1/2"));
+        assertEquals(firstRecord, Files.size(segment(1)));
+
+        // 截断后追加的记录在下次启动时仍可读
+        store.put("chapters/1/3", bytes("第三章"));
+        store.close();
+        store = open();
+        assertArrayEquals(bytes("第一章"), store.get("chapters/1/1"));
+        assertArrayEquals(bytes("第三章"), store.get("chapters/1/3"));
+    }
+
+    @Test
+    void corruptTailRecordIsDroppedOnReopen() throws IOException {
+        store = open();
+        store.put("chapters/1/1", bytes("第一章"));
+        store.put("chapters/1/2", bytes("第二章"));
+        store.close();
+
+        // 记录头完整但正文损坏，CRC 校验失败
+        flipByte(segment(1), Files.size(segment(1)) - 1);
+
+        store = open();
+        assertArrayEquals(bytes("第一章"), store.get("chapters/1/1"));
+        assertNull(store.get("chapters/1/2"));
+        assertEquals(recordLength("chapters/1/1", "第一章"), Files.size(segment(1)));
+    }
+
+    @Test
+    void corruptMiddleRecordIsSkippedWithoutFallingBackToOlderValue() throws IOException {
+        store = open();
+        store.put("chapters/1/1", bytes("旧正文"));
+        store.put("chapters/1/1", bytes("新正文"));
+        store.put("chapters/1/2", bytes("第二章"));
+        store.close();
+
+        long overwrite = recordLength("chapters/1/1", "旧正文");
+        flipByte(segment(1), overwrite + RECORD_HEADER_SIZE + "chapters/1/1".length());
+        long sizeBefore = Files.size(segment(1));
+
+        store = open();
+        assertNull(store.get("chapters/1/1"));
+        assertArrayEquals(bytes("第二章"), store.get("chapters/1/2"));
+        assertEquals(sizeBefore, Files.size(segment(1)));
+    }
+
+    @Test
+    void compactionPreservesLiveKeys() throws IOException {
+        store = open();
+        for (int i = 1; i <= 20; i++) {
+            store.put("chapters/1/" + i, bytes("第" + i + "章初稿"));
+        }
+        for (int i = 1; i <= 20; i += 2) {
+            store.put("chapters/1/" + i, bytes("第" + i + "章修订"));
+        }
+        for (int i = 2; i <= 20; i += 4) {
+            store.delete("chapters/1/" + i);
+        }
+        store.put("chapters/2/1", bytes("另一本书"));
+        long sizeBefore = Files.size(segment(1));
+
+        assertEquals(1, store.compact());
+        assertTrue(Files.size(segment(1)) < sizeBefore);
+        assertLiveKeys();
+
+        // 压缩后的段文件可以继续追加，重启后索引一致
+        store.put("chapters/1/21", bytes("第21章初稿"));
+        store.close();
+        store = open();
+        assertLiveKeys();
+        assertArrayEquals(bytes("第21章初稿"), store.get("chapters/1/21"));
+        assertArrayEquals(bytes("另一本书"), store.get("chapters/2/1"));
+    }
+
+    private void assertLiveKeys() {
+        for (int i = 1; i <= 20; i++) {
+            byte[] expected = i % 2 == 1 ? bytes("第" + i + "章修订") : i % 4 == 2 ? null : bytes("第" + i + "章初稿");
+            assertArrayEquals(expected, store.get("chapters/1/" + i), "chapters/1/" + i);
+        }
+    }
+
+    private SegmentChapterContentStore open() throws IOException {
+        SegmentChapterContentStore opened = new SegmentChapterContentStore(dir.toString());
+        ReflectionTestUtils.setField(opened, "compactRatio", 0.3);
+        ReflectionTestUtils.setField(opened, "compactMinBytes", 0L);
+        ReflectionTestUtils.setField(opened, "mapWindowMb", 1);
+        opened.recover();
+        return opened;
+    }
+
+    private Path segment(int bookId) {
+        return dir.resolve(bookId + ".seg");
+    }
+
+    private static long recordLength(String key, String data) {
+        return RECORD_HEADER_SIZE + bytes(key).length + bytes(data).length;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void flipByte(Path path, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) (buffer.get(0) ^ 0xFF)).rewind();
+            channel.write(buffer, position);
+        }
+    }
+}